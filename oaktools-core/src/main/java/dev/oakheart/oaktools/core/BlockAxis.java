@@ -0,0 +1,10 @@
+package dev.oakheart.oaktools.core;
+
+/**
+ * The axis of an orientable block (logs, pillars, bone blocks).
+ */
+public enum BlockAxis {
+    X,
+    Y,
+    Z
+}
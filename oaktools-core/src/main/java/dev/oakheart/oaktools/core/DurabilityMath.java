@@ -0,0 +1,76 @@
+package dev.oakheart.oaktools.core;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Custom durability math: vanilla bar scaling, Unbreaking and anvil repairs.
+ * Durability is stored as damage taken (0 = full durability).
+ */
+public final class DurabilityMath {
+
+    /**
+     * Result of combining two tools in an anvil.
+     *
+     * @param damage the combined damage
+     * @param maxDurability the combined max durability
+     */
+    public record Combined(int damage, int maxDurability) {
+    }
+
+    private DurabilityMath() {
+    }
+
+    /**
+     * Scale custom damage to the base item's vanilla durability bar.
+     *
+     * @param currentDamage custom damage taken
+     * @param maxDurability custom max durability
+     * @param vanillaMaxDurability the base item's vanilla max durability
+     * @return the vanilla damage value
+     */
+    public static int vanillaDamage(int currentDamage, int maxDurability, int vanillaMaxDurability) {
+        if (maxDurability <= 0 || vanillaMaxDurability <= 0) {
+            return 0;
+        }
+        double ratio = (double) currentDamage / maxDurability;
+        return (int) Math.round(ratio * vanillaMaxDurability);
+    }
+
+    /**
+     * Roll whether a use consumes durability (Unbreaking gives a 1/(level+1) chance).
+     *
+     * @param unbreakingLevel the Unbreaking level (0 if not enchanted)
+     * @param random the random source
+     * @return true if durability is consumed
+     */
+    public static boolean consumesDurability(int unbreakingLevel, RandomGenerator random) {
+        return unbreakingLevel <= 0 || random.nextInt(unbreakingLevel + 1) == 0;
+    }
+
+    /**
+     * Get how many repair materials an anvil repair uses (never more than needed to fully repair).
+     *
+     * @param currentDamage custom damage taken
+     * @param repairPerItem durability restored per material
+     * @param available materials in the anvil slot
+     * @return materials used
+     */
+    public static int repairMaterialsNeeded(int currentDamage, int repairPerItem, int available) {
+        return Math.min(available, (int) Math.ceil((double) currentDamage / repairPerItem));
+    }
+
+    /**
+     * Combine two tools (vanilla logic: add remaining durability plus a 5% bonus of the first tool's max).
+     *
+     * @param firstDamage damage of the left tool
+     * @param firstMax max durability of the left tool
+     * @param secondDamage damage of the right tool
+     * @param secondMax max durability of the right tool
+     * @return the combined durability
+     */
+    public static Combined combine(int firstDamage, int firstMax, int secondDamage, int secondMax) {
+        int combinedRemaining = (firstMax - firstDamage) + (secondMax - secondDamage) + (int) (firstMax * 0.05);
+        int resultMax = Math.max(firstMax, secondMax);
+        return new Combined(Math.max(0, resultMax - combinedRemaining), resultMax);
+    }
+}
@@ -0,0 +1,29 @@
+package dev.oakheart.oaktools.core;
+
+/**
+ * A block face (the six axis-aligned directions).
+ */
+public enum Face {
+    NORTH,
+    EAST,
+    SOUTH,
+    WEST,
+    UP,
+    DOWN;
+
+    /**
+     * Get the opposite face.
+     *
+     * @return the opposite face
+     */
+    public Face opposite() {
+        return switch (this) {
+            case NORTH -> SOUTH;
+            case EAST -> WEST;
+            case SOUTH -> NORTH;
+            case WEST -> EAST;
+            case UP -> DOWN;
+            case DOWN -> UP;
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package dev.oakheart.oaktools.core;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks the block the Trowel places from the candidates in its feed source.
+ */
+public final class FeedSelection {
+
+    private FeedSelection() {
+    }
+
+    /**
+     * Pick a candidate uniformly at random (each stack counts once, regardless of size).
+     *
+     * @param candidates the placeable candidates
+     * @param random the random source
+     * @return the chosen candidate, or null if there are none
+     */
+    public static <T> T choose(List<T> candidates, RandomGenerator random) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+}
@@ -0,0 +1,9 @@
+package dev.oakheart.oaktools.core;
+
+/**
+ * Which half of a block space a slab or stairs occupies.
+ */
+public enum Half {
+    BOTTOM,
+    TOP
+}
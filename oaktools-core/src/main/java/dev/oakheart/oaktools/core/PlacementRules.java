@@ -0,0 +1,55 @@
+package dev.oakheart.oaktools.core;
+
+/**
+ * Vanilla-like placement rules for the Trowel.
+ */
+public final class PlacementRules {
+
+    private PlacementRules() {
+    }
+
+    /**
+     * Get the facing for a directional block (toward the player, opposite the clicked face).
+     *
+     * @param clickedFace the face that was clicked
+     * @return the facing
+     */
+    public static Face directionalFacing(Face clickedFace) {
+        return clickedFace.opposite();
+    }
+
+    /**
+     * Get the axis for an orientable block.
+     *
+     * @param clickedFace the face that was clicked
+     * @return the axis
+     */
+    public static BlockAxis axis(Face clickedFace) {
+        return switch (clickedFace) {
+            case UP, DOWN -> BlockAxis.Y;
+            case NORTH, SOUTH -> BlockAxis.Z;
+            case EAST, WEST -> BlockAxis.X;
+        };
+    }
+
+    /**
+     * Get the half for a slab or stairs: top when placed against a ceiling or clicked high on a side.
+     *
+     * @param clickedFace the face that was clicked
+     * @param clickedY the world Y of the click position
+     * @return the half
+     */
+    public static Half half(Face clickedFace, double clickedY) {
+        if (clickedFace == Face.DOWN) {
+            return Half.TOP;
+        }
+        if (clickedFace == Face.UP) {
+            return Half.BOTTOM;
+        }
+
+        // Clicked on side - check click height
+        double y = clickedY % 1.0;
+        if (y < 0) y += 1.0; // Handle negative coords
+        return y >= 0.5 ? Half.TOP : Half.BOTTOM;
+    }
+}
@@ -0,0 +1,37 @@
+package dev.oakheart.oaktools.core;
+
+import java.util.List;
+
+/**
+ * One recorded tool interaction, as written by {@link SessionWriter}.
+ * Block states are stored as their vanilla string form (e.g., {@code minecraft:oak_stairs[facing=north,...]}).
+ *
+ * @param kind whether this was a Trowel placement or a File edit
+ * @param offsetMillis milliseconds since the recording started
+ * @param x block X the click point is relative to (reference block for placements, edited block for edits)
+ * @param y block Y
+ * @param z block Z
+ * @param clickedFace the face passed to the placement or edit logic
+ * @param pointX click point X relative to the block
+ * @param pointY click point Y relative to the block
+ * @param pointZ click point Z relative to the block
+ * @param playerFacing the player's horizontal facing
+ * @param pitch the player's pitch
+ * @param sneaking whether the player was sneaking
+ * @param feedRow material names the Trowel could choose from (empty for edits)
+ * @param before block state before the interaction
+ * @param after block state after the interaction
+ * @param handlerNanos time spent in the listener
+ */
+public record SessionEvent(Kind kind, long offsetMillis, int x, int y, int z, Face clickedFace,
+                           float pointX, float pointY, float pointZ, Face playerFacing, float pitch,
+                           boolean sneaking, List<String> feedRow, String before, String after, long handlerNanos) {
+
+    /**
+     * Which tool produced the event.
+     */
+    public enum Kind {
+        PLACEMENT,
+        EDIT
+    }
+}
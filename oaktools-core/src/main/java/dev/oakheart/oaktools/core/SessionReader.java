@@ -0,0 +1,133 @@
+package dev.oakheart.oaktools.core;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a stream written by {@link SessionWriter}.
+ */
+public final class SessionReader implements Closeable {
+
+    private static final Face[] FACES = Face.values();
+
+    private final DataInputStream in;
+    private final String player;
+    private final long startMillis;
+    private final List<String> strings = new ArrayList<>();
+    private long offsetMillis;
+
+    /**
+     * Open a stream and read its header.
+     *
+     * @param input the recording
+     * @throws IOException if the header is missing or from an unsupported version
+     */
+    public SessionReader(InputStream input) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(input, 8192));
+        if (in.readInt() != SessionWriter.MAGIC) {
+            throw new IOException("Not an OakTools session recording");
+        }
+        short version = in.readShort();
+        if (version != SessionWriter.VERSION) {
+            throw new IOException("Unsupported session recording version: " + version);
+        }
+        this.startMillis = in.readLong();
+        this.player = in.readUTF();
+    }
+
+    /**
+     * Read the next event.
+     *
+     * @return the event, or null at the end of the stream
+     * @throws IOException if an entry is truncated or malformed
+     */
+    public SessionEvent next() throws IOException {
+        int flags = in.read();
+        if (flags < 0) {
+            return null;
+        }
+
+        try {
+            offsetMillis += readVarLong();
+            int x = unzigzag(readVarLong());
+            int y = unzigzag(readVarLong());
+            int z = unzigzag(readVarLong());
+            int faces = in.readUnsignedByte();
+            float pointX = in.readFloat();
+            float pointY = in.readFloat();
+            float pointZ = in.readFloat();
+            float pitch = in.readFloat();
+
+            int rowSize = (int) readVarLong();
+            List<String> feedRow = new ArrayList<>(rowSize);
+            for (int i = 0; i < rowSize; i++) {
+                feedRow.add(readString());
+            }
+            String before = readString();
+            String after = readString();
+            long handlerNanos = readVarLong();
+
+            SessionEvent.Kind kind = (flags & SessionWriter.FLAG_EDIT) != 0
+                    ? SessionEvent.Kind.EDIT : SessionEvent.Kind.PLACEMENT;
+            return new SessionEvent(kind, offsetMillis, x, y, z, FACES[faces & 7],
+                    pointX, pointY, pointZ, FACES[(faces >> 3) & 7], pitch,
+                    (flags & SessionWriter.FLAG_SNEAKING) != 0, feedRow, before, after, handlerNanos);
+        } catch (EOFException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated or corrupt session entry", e);
+        }
+    }
+
+    /**
+     * Get the name of the recorded player.
+     *
+     * @return the player name
+     */
+    public String getPlayer() {
+        return player;
+    }
+
+    /**
+     * Get the wall-clock time the recording started.
+     *
+     * @return epoch milliseconds
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String readString() throws IOException {
+        int id = (int) readVarLong();
+        if (id == strings.size()) {
+            strings.add(in.readUTF());
+        }
+        return strings.get(id);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static int unzigzag(long value) {
+        int n = (int) value;
+        return (n >>> 1) ^ -(n & 1);
+    }
+}
@@ -0,0 +1,117 @@
+package dev.oakheart.oaktools.core;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes a compact binary stream of {@link SessionEvent}s.
+ *
+ * <p>Layout: a header (magic, version, start time, player name) followed by one variable-length entry per
+ * event. Integers are varints, time is a delta from the previous event, and strings (materials and block
+ * states) are written once and then referenced by id, so a typical event is 25-35 bytes.</p>
+ */
+public final class SessionWriter implements Closeable {
+
+    static final int MAGIC = 0x4F545231; // "OTR1"
+    static final short VERSION = 1;
+
+    // Entry flags
+    static final int FLAG_EDIT = 1;
+    static final int FLAG_SNEAKING = 2;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private long lastOffsetMillis;
+
+    /**
+     * Start a stream and write its header.
+     *
+     * @param output where to write (buffered by the writer)
+     * @param player name of the recorded player
+     * @param startMillis wall-clock time the recording started
+     * @throws IOException if the header can't be written
+     */
+    public SessionWriter(OutputStream output, String player, long startMillis) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(output, 8192));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(startMillis);
+        out.writeUTF(player);
+    }
+
+    /**
+     * Append an event.
+     *
+     * @param event the event
+     * @throws IOException if it can't be written
+     */
+    public void write(SessionEvent event) throws IOException {
+        int flags = (event.kind() == SessionEvent.Kind.EDIT ? FLAG_EDIT : 0) | (event.sneaking() ? FLAG_SNEAKING : 0);
+        out.writeByte(flags);
+        writeVarLong(Math.max(0, event.offsetMillis() - lastOffsetMillis));
+        lastOffsetMillis = Math.max(lastOffsetMillis, event.offsetMillis());
+
+        writeVarLong(zigzag(event.x()));
+        writeVarLong(zigzag(event.y()));
+        writeVarLong(zigzag(event.z()));
+        out.writeByte(event.clickedFace().ordinal() | event.playerFacing().ordinal() << 3);
+        out.writeFloat(event.pointX());
+        out.writeFloat(event.pointY());
+        out.writeFloat(event.pointZ());
+        out.writeFloat(event.pitch());
+
+        writeVarLong(event.feedRow().size());
+        for (String material : event.feedRow()) {
+            writeString(material);
+        }
+        writeString(event.before());
+        writeString(event.after());
+        writeVarLong(event.handlerNanos());
+    }
+
+    /**
+     * Flush buffered entries to the underlying stream.
+     *
+     * @throws IOException if flushing fails
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Write a string reference: its id, followed by the string itself the first time it appears.
+     */
+    private void writeString(String value) throws IOException {
+        Integer id = stringIds.get(value);
+        if (id != null) {
+            writeVarLong(id);
+            return;
+        }
+        int next = stringIds.size();
+        stringIds.put(value, next);
+        writeVarLong(next);
+        out.writeUTF(value);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+}
@@ -0,0 +1,27 @@
+package dev.oakheart.oaktools.core;
+
+/**
+ * Stairs shape (same values as vanilla).
+ */
+public enum StairShape {
+    STRAIGHT,
+    INNER_LEFT,
+    INNER_RIGHT,
+    OUTER_LEFT,
+    OUTER_RIGHT;
+
+    /**
+     * Get the next shape in the File's fallback cycle (used when there is no cursor position).
+     *
+     * @return the next shape
+     */
+    public StairShape next() {
+        return switch (this) {
+            case STRAIGHT -> INNER_LEFT;
+            case INNER_LEFT -> INNER_RIGHT;
+            case INNER_RIGHT -> OUTER_LEFT;
+            case OUTER_LEFT -> OUTER_RIGHT;
+            case OUTER_RIGHT -> STRAIGHT;
+        };
+    }
+}
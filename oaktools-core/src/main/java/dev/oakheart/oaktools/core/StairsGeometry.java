@@ -0,0 +1,164 @@
+package dev.oakheart.oaktools.core;
+
+/**
+ * Stairs shape editing for the File using corner-toggle logic.
+ * Clicking a corner of the stairs toggles it between raised and lowered, and the new facing and
+ * shape are derived from which corners end up raised.
+ */
+public final class StairsGeometry {
+
+    /**
+     * Resulting stairs facing and shape.
+     *
+     * @param facing the horizontal facing
+     * @param shape the shape
+     */
+    public record Result(Face facing, StairShape shape) {
+    }
+
+    // Corner indices in the raised-corners array: [SW, NW, NE, SE]
+    private static final int SOUTH_WEST = 0;
+    private static final int NORTH_WEST = 1;
+    private static final int NORTH_EAST = 2;
+    private static final int SOUTH_EAST = 3;
+
+    // If the click is within this distance of the block center on a side face, "reach through" to the far corners
+    private static final double BOUNDARY_THRESHOLD = 0.2;
+
+    private StairsGeometry() {
+    }
+
+    /**
+     * Toggle the clicked corner of a stairs block.
+     *
+     * @param facing the current facing (horizontal)
+     * @param shape the current shape
+     * @param x click X relative to the block (0-1)
+     * @param z click Z relative to the block (0-1)
+     * @param clickedFace the face that was clicked
+     * @return the new facing and shape
+     */
+    public static Result toggleCorner(Face facing, StairShape shape, double x, double z, Face clickedFace) {
+        boolean[] raised = raisedCorners(facing, shape);
+        int corner = clickedCorner(x, z, clickedFace);
+        raised[corner] = !raised[corner];
+        return fromCorners(raised, facing);
+    }
+
+    /**
+     * Detect which corner was clicked.
+     * Uses the clicked face to disambiguate boundary cases.
+     *
+     * @return corner index
+     */
+    static int clickedCorner(double x, double z, Face clickedFace) {
+        boolean isEast = x >= 0.5;
+        boolean isSouth = z >= 0.5;
+
+        // When clicking side faces near the center, flip to reach through
+        // Otherwise, force to match the clicked face
+        switch (clickedFace) {
+            case WEST -> isEast = Math.abs(x - 0.5) < BOUNDARY_THRESHOLD;
+            case EAST -> isEast = Math.abs(x - 0.5) >= BOUNDARY_THRESHOLD;
+            case NORTH -> isSouth = Math.abs(z - 0.5) < BOUNDARY_THRESHOLD;
+            case SOUTH -> isSouth = Math.abs(z - 0.5) >= BOUNDARY_THRESHOLD;
+            default -> {
+                // For TOP/BOTTOM faces, use the position as-is
+            }
+        }
+
+        if (isSouth) {
+            return isEast ? SOUTH_EAST : SOUTH_WEST;
+        }
+        return isEast ? NORTH_EAST : NORTH_WEST;
+    }
+
+    /**
+     * Get which corners are raised for a stairs configuration.
+     * For NORTH-facing stairs the north side (NW, NE) is the tall end.
+     *
+     * @return raised corners [SW, NW, NE, SE]
+     */
+    static boolean[] raisedCorners(Face facing, StairShape shape) {
+        boolean[] raised = new boolean[4];
+
+        // Raised corners in the north reference frame
+        switch (shape) {
+            case STRAIGHT -> {
+                raised[NORTH_WEST] = true;
+                raised[NORTH_EAST] = true;
+            }
+            case INNER_LEFT -> {
+                raised[SOUTH_WEST] = true;
+                raised[NORTH_WEST] = true;
+                raised[NORTH_EAST] = true;
+            }
+            case INNER_RIGHT -> {
+                raised[NORTH_WEST] = true;
+                raised[NORTH_EAST] = true;
+                raised[SOUTH_EAST] = true;
+            }
+            case OUTER_LEFT -> raised[NORTH_WEST] = true;
+            case OUTER_RIGHT -> raised[NORTH_EAST] = true;
+        }
+
+        // Rotate clockwise: NORTH(0°) -> EAST(90°) -> SOUTH(180°) -> WEST(270°)
+        int rotations = switch (facing) {
+            case EAST -> 1;
+            case SOUTH -> 2;
+            case WEST -> 3;
+            default -> 0;
+        };
+
+        // Looking from above, corners rotate NW->NE, NE->SE, SE->SW, SW->NW
+        boolean[] rotated = new boolean[4];
+        for (int i = 0; i < 4; i++) {
+            rotated[(i + rotations) & 3] = raised[i];
+        }
+        return rotated;
+    }
+
+    /**
+     * Derive facing and shape from raised corners.
+     *
+     * @param raised raised corners [SW, NW, NE, SE]
+     * @param currentFacing the facing to keep when no shape matches
+     * @return the facing and shape
+     */
+    static Result fromCorners(boolean[] raised, Face currentFacing) {
+        int count = 0;
+        for (boolean r : raised) {
+            if (r) count++;
+        }
+
+        if (count == 1) {
+            // One corner - OUTER shape
+            if (raised[SOUTH_WEST]) return new Result(Face.WEST, StairShape.OUTER_LEFT);
+            if (raised[NORTH_WEST]) return new Result(Face.NORTH, StairShape.OUTER_LEFT);
+            if (raised[NORTH_EAST]) return new Result(Face.EAST, StairShape.OUTER_LEFT);
+            return new Result(Face.SOUTH, StairShape.OUTER_LEFT);
+        }
+
+        if (count == 2) {
+            // Two corners on the same edge - STRAIGHT
+            if (raised[SOUTH_WEST] && raised[SOUTH_EAST]) return new Result(Face.SOUTH, StairShape.STRAIGHT);
+            if (raised[NORTH_WEST] && raised[NORTH_EAST]) return new Result(Face.NORTH, StairShape.STRAIGHT);
+            if (raised[SOUTH_WEST] && raised[NORTH_WEST]) return new Result(Face.WEST, StairShape.STRAIGHT);
+            if (raised[NORTH_EAST] && raised[SOUTH_EAST]) return new Result(Face.EAST, StairShape.STRAIGHT);
+
+            // Diagonal corners - pick a reasonable default
+            return new Result(Face.NORTH, StairShape.STRAIGHT);
+        }
+
+        if (count == 3) {
+            // Three corners - INNER shape (NORTH INNER_RIGHT is missing SW, rotating gives the others)
+            if (!raised[SOUTH_WEST]) return new Result(Face.NORTH, StairShape.INNER_RIGHT);
+            if (!raised[NORTH_WEST]) return new Result(Face.EAST, StairShape.INNER_RIGHT);
+            if (!raised[NORTH_EAST]) return new Result(Face.SOUTH, StairShape.INNER_RIGHT);
+            return new Result(Face.WEST, StairShape.INNER_RIGHT);
+        }
+
+        // No corners or all corners raised - not a valid stairs shape, keep facing and use STRAIGHT
+        return new Result(currentFacing, StairShape.STRAIGHT);
+    }
+}
@@ -0,0 +1,39 @@
+package dev.oakheart.oaktools.core;
+
+/**
+ * Placeholder values read from a tool, for names and lore.
+ * Null values leave their placeholders untouched.
+ *
+ * @param currentDamage damage taken (%cur%)
+ * @param maxDurability max durability (%max%)
+ * @param toolName tool display name (%tool%)
+ * @param feedSourceName feed source display name (%feed_source%)
+ */
+public record ToolPlaceholders(Integer currentDamage, Integer maxDurability, String toolName, String feedSourceName) {
+
+    /**
+     * Replace the placeholders in a string.
+     * Also supports %remaining% and %percent% when durability is known.
+     *
+     * @param text the text with placeholders
+     * @return the text with placeholders replaced
+     */
+    public String apply(String text) {
+        if (currentDamage != null && maxDurability != null) {
+            int remaining = maxDurability - currentDamage;
+            int percent = (int) Math.round(((double) remaining / maxDurability) * 100);
+
+            text = text.replace("%cur%", String.valueOf(currentDamage));
+            text = text.replace("%max%", String.valueOf(maxDurability));
+            text = text.replace("%remaining%", String.valueOf(remaining));
+            text = text.replace("%percent%", String.valueOf(percent));
+        }
+        if (toolName != null) {
+            text = text.replace("%tool%", toolName);
+        }
+        if (feedSourceName != null) {
+            text = text.replace("%feed_source%", feedSourceName);
+        }
+        return text;
+    }
+}
@@ -0,0 +1,124 @@
+package dev.oakheart.oaktools.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurabilityMathTest {
+
+    /**
+     * Returns a fixed roll and remembers the bound it was asked for.
+     */
+    private static final class FixedRoll implements RandomGenerator {
+        private final int roll;
+        private int bound = -1;
+
+        FixedRoll(int roll) {
+            this.roll = roll;
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            this.bound = bound;
+            return roll;
+        }
+
+        @Override
+        public long nextLong() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Test
+    void vanillaDamageScalesToTheBaseItem() {
+        assertEquals(0, DurabilityMath.vanillaDamage(0, 250, 59));
+        assertEquals(59, DurabilityMath.vanillaDamage(250, 250, 59));
+        assertEquals(50, DurabilityMath.vanillaDamage(125, 250, 100));
+        assertEquals(119, DurabilityMath.vanillaDamage(500, 1000, 237)); // 118.5 rounds half up
+    }
+
+    @Test
+    void vanillaDamageRoundsToNearest() {
+        assertEquals(0, DurabilityMath.vanillaDamage(1, 250, 59));  // 0.24
+        assertEquals(1, DurabilityMath.vanillaDamage(3, 250, 59));  // 0.71
+        assertEquals(58, DurabilityMath.vanillaDamage(247, 250, 59)); // 58.29
+    }
+
+    @Test
+    void vanillaDamageIgnoresInvalidMaximums() {
+        assertEquals(0, DurabilityMath.vanillaDamage(10, 0, 59));
+        assertEquals(0, DurabilityMath.vanillaDamage(10, 250, 0));
+    }
+
+    @Test
+    void withoutUnbreakingEveryUseConsumesDurability() {
+        FixedRoll random = new FixedRoll(1);
+        assertTrue(DurabilityMath.consumesDurability(0, random));
+        assertEquals(-1, random.bound, "no roll without Unbreaking");
+    }
+
+    @Test
+    void unbreakingRollsOneInLevelPlusOne() {
+        for (int level = 1; level <= 3; level++) {
+            FixedRoll consumed = new FixedRoll(0);
+            assertTrue(DurabilityMath.consumesDurability(level, consumed));
+            assertEquals(level + 1, consumed.bound);
+
+            FixedRoll lowest = new FixedRoll(1);
+            assertFalse(DurabilityMath.consumesDurability(level, lowest));
+
+            FixedRoll highest = new FixedRoll(level);
+            assertFalse(DurabilityMath.consumesDurability(level, highest));
+        }
+    }
+
+    @Test
+    void unbreakingConsumesAtTheExpectedRate() {
+        SplittableRandom random = new SplittableRandom(42);
+        int uses = 300_000;
+        for (int level = 1; level <= 3; level++) {
+            int consumed = 0;
+            for (int i = 0; i < uses; i++) {
+                if (DurabilityMath.consumesDurability(level, random)) {
+                    consumed++;
+                }
+            }
+            assertEquals(1.0 / (level + 1), (double) consumed / uses, 0.005, "Unbreaking " + level);
+        }
+    }
+
+    @Test
+    void repairUsesOnlyTheMaterialsNeeded() {
+        assertEquals(2, DurabilityMath.repairMaterialsNeeded(100, 63, 64));
+        assertEquals(4, DurabilityMath.repairMaterialsNeeded(250, 63, 64)); // 3.97 rounds up
+        assertEquals(5, DurabilityMath.repairMaterialsNeeded(253, 63, 64));
+        assertEquals(1, DurabilityMath.repairMaterialsNeeded(63, 63, 64));
+        assertEquals(1, DurabilityMath.repairMaterialsNeeded(1, 63, 64));
+    }
+
+    @Test
+    void repairIsLimitedByTheMaterialsAvailable() {
+        assertEquals(1, DurabilityMath.repairMaterialsNeeded(250, 63, 1));
+        assertEquals(3, DurabilityMath.repairMaterialsNeeded(250, 63, 3));
+        assertEquals(0, DurabilityMath.repairMaterialsNeeded(250, 63, 0));
+    }
+
+    @Test
+    void combineAddsRemainingDurabilityPlusFivePercent() {
+        // 50 + 50 remaining + 12 bonus (5% of 250, truncated)
+        assertEquals(new DurabilityMath.Combined(138, 250), DurabilityMath.combine(200, 250, 200, 250));
+        // 20 + 50 + 10
+        assertEquals(new DurabilityMath.Combined(220, 300), DurabilityMath.combine(180, 200, 250, 300));
+    }
+
+    @Test
+    void combineNeverRepairsPastFull() {
+        assertEquals(new DurabilityMath.Combined(0, 250), DurabilityMath.combine(100, 250, 50, 250));
+        assertEquals(new DurabilityMath.Combined(0, 300), DurabilityMath.combine(0, 100, 50, 300));
+    }
+}
@@ -0,0 +1,51 @@
+package dev.oakheart.oaktools.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlacementRulesTest {
+
+    @Test
+    void directionalBlocksFaceThePlayer() {
+        assertEquals(Face.SOUTH, PlacementRules.directionalFacing(Face.NORTH));
+        assertEquals(Face.WEST, PlacementRules.directionalFacing(Face.EAST));
+        assertEquals(Face.NORTH, PlacementRules.directionalFacing(Face.SOUTH));
+        assertEquals(Face.EAST, PlacementRules.directionalFacing(Face.WEST));
+        assertEquals(Face.DOWN, PlacementRules.directionalFacing(Face.UP));
+        assertEquals(Face.UP, PlacementRules.directionalFacing(Face.DOWN));
+    }
+
+    @Test
+    void axisFollowsTheClickedFace() {
+        assertEquals(BlockAxis.Y, PlacementRules.axis(Face.UP));
+        assertEquals(BlockAxis.Y, PlacementRules.axis(Face.DOWN));
+        assertEquals(BlockAxis.Z, PlacementRules.axis(Face.NORTH));
+        assertEquals(BlockAxis.Z, PlacementRules.axis(Face.SOUTH));
+        assertEquals(BlockAxis.X, PlacementRules.axis(Face.EAST));
+        assertEquals(BlockAxis.X, PlacementRules.axis(Face.WEST));
+    }
+
+    @Test
+    void ceilingAndFloorClicksIgnoreHeight() {
+        assertEquals(Half.TOP, PlacementRules.half(Face.DOWN, 64.1));
+        assertEquals(Half.BOTTOM, PlacementRules.half(Face.UP, 64.9));
+    }
+
+    @Test
+    void sideClicksUseTheClickHeight() {
+        assertEquals(Half.BOTTOM, PlacementRules.half(Face.NORTH, 64.0));
+        assertEquals(Half.BOTTOM, PlacementRules.half(Face.EAST, 64.49));
+        assertEquals(Half.TOP, PlacementRules.half(Face.SOUTH, 64.5));
+        assertEquals(Half.TOP, PlacementRules.half(Face.WEST, 64.99));
+    }
+
+    @Test
+    void sideClicksBelowZeroUseTheHeightWithinTheBlock() {
+        // -0.25 is 0.75 up block -1, -0.75 is 0.25 up
+        assertEquals(Half.TOP, PlacementRules.half(Face.NORTH, -0.25));
+        assertEquals(Half.BOTTOM, PlacementRules.half(Face.NORTH, -0.75));
+        assertEquals(Half.TOP, PlacementRules.half(Face.EAST, -60.5));
+        assertEquals(Half.BOTTOM, PlacementRules.half(Face.EAST, -61.0));
+    }
+}
@@ -0,0 +1,132 @@
+package dev.oakheart.oaktools.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Corner-toggle stairs editing, checked against the rotation and shape tables the File has always used.
+ */
+class StairsGeometryTest {
+
+    // Raised corners are [SW, NW, NE, SE]
+    private static final Face[] HORIZONTAL = {Face.NORTH, Face.EAST, Face.SOUTH, Face.WEST};
+
+    @Test
+    void northShapesRaiseTheBackCorners() {
+        assertArrayEquals(new boolean[]{false, true, true, false}, StairsGeometry.raisedCorners(Face.NORTH, StairShape.STRAIGHT));
+        assertArrayEquals(new boolean[]{true, true, true, false}, StairsGeometry.raisedCorners(Face.NORTH, StairShape.INNER_LEFT));
+        assertArrayEquals(new boolean[]{false, true, true, true}, StairsGeometry.raisedCorners(Face.NORTH, StairShape.INNER_RIGHT));
+        assertArrayEquals(new boolean[]{false, true, false, false}, StairsGeometry.raisedCorners(Face.NORTH, StairShape.OUTER_LEFT));
+        assertArrayEquals(new boolean[]{false, false, true, false}, StairsGeometry.raisedCorners(Face.NORTH, StairShape.OUTER_RIGHT));
+    }
+
+    @Test
+    void facingRotatesCornersClockwise() {
+        assertArrayEquals(new boolean[]{false, false, true, true}, StairsGeometry.raisedCorners(Face.EAST, StairShape.STRAIGHT));
+        assertArrayEquals(new boolean[]{true, false, false, true}, StairsGeometry.raisedCorners(Face.SOUTH, StairShape.STRAIGHT));
+        assertArrayEquals(new boolean[]{true, true, false, false}, StairsGeometry.raisedCorners(Face.WEST, StairShape.STRAIGHT));
+
+        assertArrayEquals(new boolean[]{false, false, true, false}, StairsGeometry.raisedCorners(Face.EAST, StairShape.OUTER_LEFT));
+        assertArrayEquals(new boolean[]{false, true, true, true}, StairsGeometry.raisedCorners(Face.EAST, StairShape.INNER_LEFT));
+        assertArrayEquals(new boolean[]{true, true, false, true}, StairsGeometry.raisedCorners(Face.SOUTH, StairShape.INNER_RIGHT));
+    }
+
+    @Test
+    void singleCornerIsOuterLeft() {
+        assertEquals(new StairsGeometry.Result(Face.WEST, StairShape.OUTER_LEFT), fromCorners(true, false, false, false));
+        assertEquals(new StairsGeometry.Result(Face.NORTH, StairShape.OUTER_LEFT), fromCorners(false, true, false, false));
+        assertEquals(new StairsGeometry.Result(Face.EAST, StairShape.OUTER_LEFT), fromCorners(false, false, true, false));
+        assertEquals(new StairsGeometry.Result(Face.SOUTH, StairShape.OUTER_LEFT), fromCorners(false, false, false, true));
+    }
+
+    @Test
+    void twoCornersOnAnEdgeAreStraight() {
+        assertEquals(new StairsGeometry.Result(Face.SOUTH, StairShape.STRAIGHT), fromCorners(true, false, false, true));
+        assertEquals(new StairsGeometry.Result(Face.NORTH, StairShape.STRAIGHT), fromCorners(false, true, true, false));
+        assertEquals(new StairsGeometry.Result(Face.WEST, StairShape.STRAIGHT), fromCorners(true, true, false, false));
+        assertEquals(new StairsGeometry.Result(Face.EAST, StairShape.STRAIGHT), fromCorners(false, false, true, true));
+    }
+
+    @Test
+    void diagonalCornersFallBackToNorthStraight() {
+        assertEquals(new StairsGeometry.Result(Face.NORTH, StairShape.STRAIGHT), fromCorners(true, false, true, false));
+        assertEquals(new StairsGeometry.Result(Face.NORTH, StairShape.STRAIGHT), fromCorners(false, true, false, true));
+    }
+
+    @Test
+    void threeCornersAreInnerRight() {
+        assertEquals(new StairsGeometry.Result(Face.NORTH, StairShape.INNER_RIGHT), fromCorners(false, true, true, true));
+        assertEquals(new StairsGeometry.Result(Face.EAST, StairShape.INNER_RIGHT), fromCorners(true, false, true, true));
+        assertEquals(new StairsGeometry.Result(Face.SOUTH, StairShape.INNER_RIGHT), fromCorners(true, true, false, true));
+        assertEquals(new StairsGeometry.Result(Face.WEST, StairShape.INNER_RIGHT), fromCorners(true, true, true, false));
+    }
+
+    @Test
+    void noOrAllCornersKeepTheFacing() {
+        assertEquals(new StairsGeometry.Result(Face.EAST, StairShape.STRAIGHT),
+                StairsGeometry.fromCorners(new boolean[]{false, false, false, false}, Face.EAST));
+        assertEquals(new StairsGeometry.Result(Face.WEST, StairShape.STRAIGHT),
+                StairsGeometry.fromCorners(new boolean[]{true, true, true, true}, Face.WEST));
+    }
+
+    @Test
+    void everyShapeMapsBackToTheSameCorners() {
+        for (Face facing : HORIZONTAL) {
+            for (StairShape shape : StairShape.values()) {
+                boolean[] raised = StairsGeometry.raisedCorners(facing, shape);
+                StairsGeometry.Result result = StairsGeometry.fromCorners(raised.clone(), facing);
+                assertArrayEquals(raised, StairsGeometry.raisedCorners(result.facing(), result.shape()),
+                        facing + " " + shape + " became " + result);
+            }
+        }
+    }
+
+    @Test
+    void topClicksUseTheClickedQuarter() {
+        assertEquals(1, StairsGeometry.clickedCorner(0.25, 0.25, Face.UP));   // NW
+        assertEquals(2, StairsGeometry.clickedCorner(0.75, 0.25, Face.UP));   // NE
+        assertEquals(3, StairsGeometry.clickedCorner(0.75, 0.75, Face.UP));   // SE
+        assertEquals(0, StairsGeometry.clickedCorner(0.25, 0.75, Face.DOWN)); // SW
+    }
+
+    @Test
+    void sideClicksNearTheCenterReachThrough() {
+        // On the outer face the clicked side wins, on the step riser (near the center) the far side does
+        assertEquals(1, StairsGeometry.clickedCorner(0.0, 0.25, Face.WEST));
+        assertEquals(2, StairsGeometry.clickedCorner(0.5, 0.25, Face.WEST));
+        assertEquals(3, StairsGeometry.clickedCorner(1.0, 0.75, Face.EAST));
+        assertEquals(0, StairsGeometry.clickedCorner(0.5, 0.75, Face.EAST));
+        assertEquals(2, StairsGeometry.clickedCorner(0.75, 0.0, Face.NORTH));
+        assertEquals(3, StairsGeometry.clickedCorner(0.75, 0.5, Face.NORTH));
+        assertEquals(0, StairsGeometry.clickedCorner(0.25, 1.0, Face.SOUTH));
+        assertEquals(1, StairsGeometry.clickedCorner(0.25, 0.5, Face.SOUTH));
+    }
+
+    @Test
+    void togglingACornerOfStraightStairs() {
+        // Raising a front corner makes an inner corner, lowering a back corner an outer one
+        assertEquals(new StairsGeometry.Result(Face.WEST, StairShape.INNER_RIGHT),
+                StairsGeometry.toggleCorner(Face.NORTH, StairShape.STRAIGHT, 0.25, 0.75, Face.UP));
+        assertEquals(new StairsGeometry.Result(Face.NORTH, StairShape.INNER_RIGHT),
+                StairsGeometry.toggleCorner(Face.NORTH, StairShape.STRAIGHT, 0.75, 0.75, Face.UP));
+        assertEquals(new StairsGeometry.Result(Face.EAST, StairShape.OUTER_LEFT),
+                StairsGeometry.toggleCorner(Face.NORTH, StairShape.STRAIGHT, 0.25, 0.25, Face.UP));
+        assertEquals(new StairsGeometry.Result(Face.NORTH, StairShape.OUTER_LEFT),
+                StairsGeometry.toggleCorner(Face.NORTH, StairShape.STRAIGHT, 0.75, 0.25, Face.UP));
+    }
+
+    @Test
+    void togglingTheMissingCornerOfInnerStairsStraightensThem() {
+        assertEquals(new StairsGeometry.Result(Face.NORTH, StairShape.STRAIGHT),
+                StairsGeometry.toggleCorner(Face.NORTH, StairShape.INNER_RIGHT, 0.75, 0.75, Face.UP));
+        assertEquals(new StairsGeometry.Result(Face.SOUTH, StairShape.STRAIGHT),
+                StairsGeometry.toggleCorner(Face.SOUTH, StairShape.OUTER_LEFT, 0.25, 0.75, Face.UP));
+    }
+
+    private static StairsGeometry.Result fromCorners(boolean southWest, boolean northWest, boolean northEast,
+                                                     boolean southEast) {
+        return StairsGeometry.fromCorners(new boolean[]{southWest, northWest, northEast, southEast}, Face.NORTH);
+    }
+}
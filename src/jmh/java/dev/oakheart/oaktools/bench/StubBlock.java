@@ -0,0 +1,59 @@
+package dev.oakheart.oaktools.bench;
+
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Stand-in for a {@link Block}: a position holding one block data value.
+ */
+public final class StubBlock implements InvocationHandler {
+
+    private final int x;
+    private final int y;
+    private final int z;
+    private BlockData data;
+
+    private StubBlock(int x, int y, int z, BlockData data) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.data = data;
+    }
+
+    /**
+     * Create a stand-in block.
+     *
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     * @param data the block data
+     * @return the stand-in
+     */
+    public static Block create(int x, int y, int z, BlockData data) {
+        return (Block) Proxy.newProxyInstance(Block.class.getClassLoader(), new Class<?>[]{Block.class},
+                new StubBlock(x, y, z, data));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "getX" -> x;
+            case "getY" -> y;
+            case "getZ" -> z;
+            case "getBlockData" -> data;
+            case "getType" -> data.getMaterial();
+            case "setBlockData" -> {
+                data = (BlockData) args[0];
+                yield null;
+            }
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "StubBlock[" + x + "," + y + "," + z + "]";
+            default -> throw new UnsupportedOperationException("Not stubbed: " + method);
+        };
+    }
+}
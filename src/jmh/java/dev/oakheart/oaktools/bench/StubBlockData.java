@@ -0,0 +1,122 @@
+package dev.oakheart.oaktools.bench;
+
+import org.bukkit.Axis;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for {@link BlockData} subtypes, backed by a property map.
+ * Getters and setters are matched by name (getFacing/setFacing), so one handler covers
+ * Stairs, Slab, Directional, Orientable and the like without a running server. Per-face properties
+ * (hasFace/setFace, getHeight/setHeight) are stored under the property name and face, e.g. "Height:NORTH".
+ * Plain property lookups don't allocate, so allocation budgets measure the code under test rather than the
+ * stand-in; the only per-call allocation left is the argument array the proxy passes to setters.
+ */
+public final class StubBlockData implements InvocationHandler {
+
+    private static final Set<BlockFace> HORIZONTAL = EnumSet.of(BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST);
+
+    // Property name per accessor (getFacing -> Facing), resolved once instead of a substring per call
+    private static final Map<Method, String> PROPERTY_NAMES = new ConcurrentHashMap<>();
+
+    private final Class<? extends BlockData> type;
+    private final Material material;
+    private final Map<String, Object> properties;
+    private final Set<BlockFace> faces;
+
+    private StubBlockData(Class<? extends BlockData> type, Material material, Map<String, Object> properties,
+                          Set<BlockFace> faces) {
+        this.type = type;
+        this.material = material;
+        this.properties = properties;
+        this.faces = faces;
+    }
+
+    /**
+     * Create a stand-in block data.
+     *
+     * @param type the block data interface (e.g., Stairs.class)
+     * @param material the material reported by getMaterial()
+     * @param properties initial property values by name (e.g., "Facing" -> BlockFace.NORTH)
+     * @return the stand-in
+     */
+    public static <T extends BlockData> T create(Class<T> type, Material material, Map<String, Object> properties) {
+        return create(type, material, properties, HORIZONTAL);
+    }
+
+    /**
+     * Create a stand-in block data that supports the given faces.
+     *
+     * @param type the block data interface (e.g., Directional.class)
+     * @param material the material reported by getMaterial()
+     * @param properties initial property values by name
+     * @param faces the faces reported by getFaces() and getAllowedFaces()
+     * @return the stand-in
+     */
+    public static <T extends BlockData> T create(Class<T> type, Material material, Map<String, Object> properties,
+                                                 Set<BlockFace> faces) {
+        StubBlockData handler = new StubBlockData(type, material, new HashMap<>(properties), faces);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        switch (name) {
+            case "getMaterial":
+                return material;
+            case "getFaces":
+            case "getAllowedFaces":
+                return faces;
+            case "getAxes":
+                return EnumSet.allOf(Axis.class);
+            case "clone":
+                return create(type, material, properties, faces);
+            case "equals":
+                return args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof StubBlockData other
+                        && material == other.material && properties.equals(other.properties);
+            case "hashCode":
+                return material.hashCode() * 31 + properties.hashCode();
+            case "toString":
+                return material + "" + properties;
+            default:
+                break;
+        }
+
+        String property = PROPERTY_NAMES.computeIfAbsent(method, StubBlockData::propertyName);
+        if (args == null && (name.startsWith("get") || name.startsWith("is"))) {
+            return properties.get(property);
+        }
+        if (args != null && args.length == 1 && name.startsWith("set")) {
+            properties.put(property, args[0]);
+            return null;
+        }
+        if (args != null && args.length == 1 && (name.startsWith("get") || name.startsWith("has"))) {
+            return properties.get(property + ":" + args[0]);
+        }
+        if (args != null && args.length == 2 && name.startsWith("set")) {
+            properties.put(property + ":" + args[0], args[1]);
+            return null;
+        }
+        throw new UnsupportedOperationException("Not stubbed: " + method);
+    }
+
+    private static String propertyName(Method method) {
+        String name = method.getName();
+        if (name.startsWith("get") || name.startsWith("set") || name.startsWith("has")) {
+            return name.substring(3);
+        }
+        return name.startsWith("is") ? name.substring(2) : name;
+    }
+}
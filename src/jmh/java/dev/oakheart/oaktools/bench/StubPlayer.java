@@ -0,0 +1,33 @@
+package dev.oakheart.oaktools.bench;
+
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Stand-in for a {@link Player} that only knows which way it is facing. It has no permissions.
+ */
+public final class StubPlayer {
+
+    private StubPlayer() {
+    }
+
+    /**
+     * Create a stand-in player.
+     *
+     * @param facing the direction returned by getFacing()
+     * @return the stand-in
+     */
+    public static Player create(BlockFace facing) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getFacing" -> facing;
+                    case "hasPermission" -> false;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "StubPlayer[" + facing + "]";
+                    default -> throw new UnsupportedOperationException("Not stubbed: " + method);
+                });
+    }
+}
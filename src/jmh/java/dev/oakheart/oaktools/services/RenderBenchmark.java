@@ -0,0 +1,53 @@
+package dev.oakheart.oaktools.services;
+
+import dev.oakheart.oaktools.core.ToolPlaceholders;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks lore rendering ({@link DisplayService}) and message template rendering ({@link MessageService}).
+ * Both services are built without a plugin instance; the rendering paths never read config.
+ */
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    private static final List<String> LORE = List.of(
+            "<gray>Feed Source:</gray> <white>%feed_source%</white>",
+            "<gray>Durability:</gray> <white>%remaining%/%max%</white> <dark_gray>(%percent%%)</dark_gray>");
+
+    private static final String MESSAGE = "<green>Gave <white>%amount%x %tool%</white> to <white>%player%</white></green>";
+
+    private DisplayService displayService;
+    private MessageService messageService;
+    private ToolPlaceholders placeholders;
+    private Map<String, String> messagePlaceholders;
+
+    @Setup
+    public void setup() {
+        displayService = new DisplayService(null);
+        messageService = new MessageService(null);
+        placeholders = new ToolPlaceholders(37, 250, "Trowel", "Hotbar");
+        messagePlaceholders = Map.of("amount", "1", "tool", "Trowel", "player", "Steve");
+    }
+
+    @Benchmark
+    public String lorePlaceholders() {
+        return placeholders.apply(LORE.get(1));
+    }
+
+    @Benchmark
+    public List<Component> loreRender() {
+        return displayService.renderLore(LORE, placeholders);
+    }
+
+    @Benchmark
+    public Component messageRender() {
+        return messageService.render(MESSAGE, messagePlaceholders);
+    }
+}
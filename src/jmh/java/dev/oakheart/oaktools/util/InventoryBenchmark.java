@@ -0,0 +1,44 @@
+package dev.oakheart.oaktools.util;
+
+import dev.oakheart.oaktools.bench.StubBlockData;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Directional;
+import org.bukkit.block.data.type.Bed;
+import org.bukkit.block.data.type.Door;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+/**
+ * Benchmarks the Trowel's placeable-block classification ({@link InventoryUtil#isPlaceable}).
+ * Runs the block-data checks directly: item meta and Material block properties need a live
+ * server registry, which this harness doesn't boot.
+ */
+@State(Scope.Thread)
+public class InventoryBenchmark {
+
+    @Param({"OAK_DOOR", "RED_BED", "WHITE_BANNER", "SHULKER_BOX", "CHEST"})
+    public Material material;
+
+    private BlockData blockData;
+
+    @Setup
+    public void setup() {
+        blockData = switch (material) {
+            case OAK_DOOR -> StubBlockData.create(Door.class, material, Map.of());
+            case RED_BED -> StubBlockData.create(Bed.class, material, Map.of());
+            default -> StubBlockData.create(Directional.class, material, Map.of("Facing", BlockFace.NORTH));
+        };
+    }
+
+    @Benchmark
+    public boolean isPlaceableBlock() {
+        return InventoryUtil.isPlaceableBlock(material, blockData);
+    }
+}
@@ -0,0 +1,56 @@
+package dev.oakheart.oaktools.util;
+
+import dev.oakheart.oaktools.bench.StubBlockData;
+import dev.oakheart.oaktools.bench.StubPlayer;
+import org.bukkit.Axis;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Orientable;
+import org.bukkit.block.data.type.Slab;
+import org.bukkit.block.data.type.Stairs;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+/**
+ * Benchmarks {@link PlacementUtil#applyPlacementLogic} for the block shapes the Trowel orients.
+ */
+@State(Scope.Thread)
+public class PlacementBenchmark {
+
+    @Param({"STAIRS", "SLAB", "LOG"})
+    public String shape;
+
+    private BlockData blockData;
+    private Player player;
+    private Vector sideClick;
+
+    @Setup
+    public void setup() {
+        blockData = switch (shape) {
+            case "STAIRS" -> StubBlockData.create(Stairs.class, Material.OAK_STAIRS, Map.of(
+                    "Facing", BlockFace.NORTH, "Half", Stairs.Half.BOTTOM, "Shape", Stairs.Shape.STRAIGHT));
+            case "SLAB" -> StubBlockData.create(Slab.class, Material.OAK_SLAB, Map.of("Type", Slab.Type.BOTTOM));
+            default -> StubBlockData.create(Orientable.class, Material.OAK_LOG, Map.of("Axis", Axis.Y));
+        };
+        player = StubPlayer.create(BlockFace.EAST);
+        sideClick = new Vector(12.5, 64.75, -3.0);
+    }
+
+    @Benchmark
+    public BlockData sideClick() {
+        return PlacementUtil.applyPlacementLogic(blockData, BlockFace.SOUTH, sideClick, player);
+    }
+
+    @Benchmark
+    public BlockData topClick() {
+        return PlacementUtil.applyPlacementLogic(blockData, BlockFace.UP, sideClick, player);
+    }
+}
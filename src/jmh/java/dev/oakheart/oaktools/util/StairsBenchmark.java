@@ -0,0 +1,52 @@
+package dev.oakheart.oaktools.util;
+
+import dev.oakheart.oaktools.bench.StubBlock;
+import dev.oakheart.oaktools.bench.StubBlockData;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.type.Stairs;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+/**
+ * Benchmarks the File's stairs shape editing ({@link BlockUtil#editStairsShape}), cycling through
+ * clicks on each top corner so every call toggles a corner and recomputes facing and shape.
+ */
+@State(Scope.Thread)
+public class StairsBenchmark {
+
+    private static final Vector[] CORNER_CLICKS = {
+            new Vector(10.25, 65.0, 20.75),  // South-west
+            new Vector(10.25, 65.0, 20.25),  // North-west
+            new Vector(10.75, 65.0, 20.25),  // North-east
+            new Vector(10.75, 65.0, 20.75)   // South-east
+    };
+
+    private Block block;
+    private Vector playerPos;
+    private int click;
+
+    @Setup
+    public void setup() {
+        block = StubBlock.create(10, 64, 20, StubBlockData.create(Stairs.class, Material.STONE_BRICK_STAIRS, Map.of(
+                "Facing", BlockFace.NORTH, "Half", Stairs.Half.BOTTOM, "Shape", Stairs.Shape.STRAIGHT)));
+        playerPos = new Vector(10.5, 65.0, 23.5);
+    }
+
+    @Benchmark
+    public boolean editShape() {
+        Vector point = CORNER_CLICKS[click++ & 3];
+        return BlockUtil.editStairsShape(block, BlockFace.UP, point, playerPos, false);
+    }
+
+    @Benchmark
+    public boolean cycleShapeWithoutCursor() {
+        return BlockUtil.editStairsShape(block, BlockFace.UP, null, playerPos, false);
+    }
+}
@@ -3,18 +3,25 @@ package dev.oakheart.oaktools;
 import dev.oakheart.oaktools.commands.OakToolsCommand;
 import dev.oakheart.oaktools.config.ConfigManager;
 import dev.oakheart.oaktools.integration.CoreProtectLogger;
+import dev.oakheart.oaktools.integration.ModelProviderLoadTracker;
 import dev.oakheart.oaktools.integration.ModelProviderManager;
 import dev.oakheart.oaktools.items.ItemFactory;
+import dev.oakheart.oaktools.journal.EditJournal;
 import dev.oakheart.oaktools.listeners.*;
 import dev.oakheart.oaktools.recipes.RecipeManager;
 import dev.oakheart.oaktools.services.*;
+import dev.oakheart.oaktools.stats.PrometheusExporter;
+import dev.oakheart.oaktools.stats.ToolStats;
+import dev.oakheart.oaktools.util.BlockStatePalette;
 import dev.oakheart.oaktools.util.Constants;
+import dev.oakheart.oaktools.util.TaskScheduler;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public final class OakTools extends JavaPlugin {
 
     // Managers
+    private TaskScheduler taskScheduler;
     private ConfigManager configManager;
     private ModelProviderManager modelProviderManager;
     private RecipeManager recipeManager;
@@ -24,12 +31,26 @@ public final class OakTools extends JavaPlugin {
 
     // Services
     private DurabilityService durabilityService;
+    private DurabilityLedger durabilityLedger;
+    private ToolRegistry toolRegistry;
+    private ToolMigrator toolMigrator;
     private DisplayService displayService;
     private MessageService messageService;
     private ProtectionService protectionService;
+    private UndoService undoService;
+    private SessionRecorder sessionRecorder;
 
     // Integration
     private CoreProtectLogger coreProtectLogger;
+    private EditJournal editJournal;
+
+    // Block states shared by the undo history and the edit journal
+    private final BlockStatePalette blockStatePalette = new BlockStatePalette();
+
+    // Hot-path counters and latency histograms (/oaktools stats)
+    private final ToolStats toolStats = new ToolStats();
+    private TickBudgetWatchdog tickBudgetWatchdog;
+    private PrometheusExporter prometheusExporter;
 
     @Override
     public void onEnable() {
@@ -38,6 +59,12 @@ public final class OakTools extends JavaPlugin {
         // Initialize PDC keys
         Constants.init(this);
 
+        // Initialize scheduler (Paper or Folia)
+        this.taskScheduler = new TaskScheduler(this);
+        if (TaskScheduler.isFolia()) {
+            getLogger().info("Folia detected, using region schedulers");
+        }
+
         // Initialize configuration
         this.configManager = new ConfigManager(this);
         configManager.load();
@@ -53,17 +80,34 @@ public final class OakTools extends JavaPlugin {
 
         // Initialize services
         this.durabilityService = new DurabilityService(this);
+        this.durabilityLedger = new DurabilityLedger(this);
+        this.toolRegistry = new ToolRegistry(this);
+        toolRegistry.initialize();
+        this.toolMigrator = new ToolMigrator(this);
         this.displayService = new DisplayService(this);
         this.messageService = new MessageService(this);
         this.protectionService = new ProtectionService(this);
+        this.undoService = new UndoService(this);
+        this.sessionRecorder = new SessionRecorder(this);
 
         // Initialize integration
         this.coreProtectLogger = new CoreProtectLogger(this);
         coreProtectLogger.initialize();
 
+        this.editJournal = new EditJournal(this);
+        editJournal.initialize();
+
         // Initialize metrics (bStats)
         initializeMetrics();
 
+        // Start the tick budget watchdog
+        this.tickBudgetWatchdog = new TickBudgetWatchdog(this);
+        tickBudgetWatchdog.initialize();
+
+        // Start the local Prometheus endpoint (if enabled)
+        this.prometheusExporter = new PrometheusExporter(this);
+        prometheusExporter.initialize();
+
         // Register listeners
         registerListeners();
 
@@ -80,6 +124,40 @@ public final class OakTools extends JavaPlugin {
     public void onDisable() {
         getLogger().info("Disabling OakTools...");
 
+        // Stop serving metrics before the services they read shut down
+        if (prometheusExporter != null) {
+            prometheusExporter.shutdown();
+        }
+
+        if (tickBudgetWatchdog != null) {
+            tickBudgetWatchdog.shutdown();
+        }
+
+        // Flush queued CoreProtect records
+        if (coreProtectLogger != null) {
+            coreProtectLogger.shutdown();
+        }
+
+        // Write durability still held in memory to the tools
+        if (durabilityLedger != null) {
+            durabilityLedger.shutdown();
+        }
+
+        // Save the tool registry
+        if (toolRegistry != null) {
+            toolRegistry.shutdown();
+        }
+
+        // Close any open session recordings
+        if (sessionRecorder != null) {
+            sessionRecorder.shutdown();
+        }
+
+        // Flush and close the edit journal
+        if (editJournal != null) {
+            editJournal.shutdown();
+        }
+
         // Unregister recipes
         if (recipeManager != null) {
             recipeManager.unregisterRecipes();
@@ -89,32 +167,11 @@ public final class OakTools extends JavaPlugin {
     }
 
     /**
-     * Schedule recipe registration based on model provider type.
-     * If using external providers (Nexo/ItemsAdder), delay registration to ensure they're fully loaded.
+     * Register recipes, waiting for external model providers (Nexo/ItemsAdder) to load their items first
+     * so recipe results get the custom model.
      */
     private void scheduleRecipeRegistration() {
-        boolean usesExternalProvider = false;
-
-        // Check if any tool uses external model providers
-        String fileModel = configManager.getConfig().getString("tools.file.model_id", "");
-        String trowelModel = configManager.getConfig().getString("tools.trowel.model_id", "");
-
-        if (fileModel.toLowerCase().startsWith("nexo:") || fileModel.toLowerCase().startsWith("itemsadder:") ||
-            trowelModel.toLowerCase().startsWith("nexo:") || trowelModel.toLowerCase().startsWith("itemsadder:")) {
-            usesExternalProvider = true;
-        }
-
-        if (usesExternalProvider) {
-            // Delay recipe registration by 1 second (20 ticks) to allow external providers to load
-            getLogger().info("External model provider detected, delaying recipe registration...");
-            getServer().getScheduler().runTaskLater(this, () -> {
-                recipeManager.registerRecipes();
-                getLogger().info("Recipes registered with external model provider");
-            }, 20L);
-        } else {
-            // Register immediately for vanilla CustomModelData
-            recipeManager.registerRecipes();
-        }
+        new ModelProviderLoadTracker(this).start();
     }
 
     /**
@@ -129,6 +186,11 @@ public final class OakTools extends JavaPlugin {
         pluginManager.registerEvents(new CraftingListener(this), this);
         pluginManager.registerEvents(new RecipeDiscoveryListener(this), this);
         pluginManager.registerEvents(new MendingListener(this), this);
+        pluginManager.registerEvents(undoService, this);
+        pluginManager.registerEvents(sessionRecorder, this);
+        pluginManager.registerEvents(durabilityLedger, this);
+        pluginManager.registerEvents(toolRegistry, this);
+        pluginManager.registerEvents(toolMigrator, this);
 
         getLogger().info("Registered listeners");
     }
@@ -173,6 +235,10 @@ public final class OakTools extends JavaPlugin {
 
     // Getters for managers, factories, and services
 
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
     public ConfigManager getConfigManager() {
         return configManager;
     }
@@ -193,6 +259,18 @@ public final class OakTools extends JavaPlugin {
         return durabilityService;
     }
 
+    public DurabilityLedger getDurabilityLedger() {
+        return durabilityLedger;
+    }
+
+    public ToolRegistry getToolRegistry() {
+        return toolRegistry;
+    }
+
+    public ToolMigrator getToolMigrator() {
+        return toolMigrator;
+    }
+
     public DisplayService getDisplayService() {
         return displayService;
     }
@@ -205,7 +283,31 @@ public final class OakTools extends JavaPlugin {
         return protectionService;
     }
 
+    public UndoService getUndoService() {
+        return undoService;
+    }
+
+    public SessionRecorder getSessionRecorder() {
+        return sessionRecorder;
+    }
+
     public CoreProtectLogger getCoreProtectLogger() {
         return coreProtectLogger;
     }
+
+    public EditJournal getEditJournal() {
+        return editJournal;
+    }
+
+    public BlockStatePalette getBlockStatePalette() {
+        return blockStatePalette;
+    }
+
+    public ToolStats getToolStats() {
+        return toolStats;
+    }
+
+    public TickBudgetWatchdog getTickBudgetWatchdog() {
+        return tickBudgetWatchdog;
+    }
 }
@@ -12,18 +12,39 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Main command executor for /oaktools command.
  */
 public class OakToolsCommand implements CommandExecutor, TabCompleter {
 
+    // Subcommands in help order, with the permission each one checks
+    private static final Map<String, String> SUBCOMMAND_PERMISSIONS = new LinkedHashMap<>();
+
+    static {
+        SUBCOMMAND_PERMISSIONS.put("give", "oaktools.give");
+        SUBCOMMAND_PERMISSIONS.put("reload", "oaktools.reload");
+        SUBCOMMAND_PERMISSIONS.put("info", "oaktools.info");
+        SUBCOMMAND_PERMISSIONS.put("repair", "oaktools.repair");
+        SUBCOMMAND_PERMISSIONS.put("history", "oaktools.history");
+        SUBCOMMAND_PERMISSIONS.put("undo", "oaktools.undo");
+        SUBCOMMAND_PERMISSIONS.put("redo", "oaktools.undo");
+        SUBCOMMAND_PERMISSIONS.put("stats", "oaktools.stats");
+        SUBCOMMAND_PERMISSIONS.put("record", "oaktools.record");
+    }
+
     private final OakTools plugin;
     private final GiveCommand giveCommand;
     private final ReloadCommand reloadCommand;
     private final InfoCommand infoCommand;
     private final RepairCommand repairCommand;
+    private final HistoryCommand historyCommand;
+    private final UndoCommand undoCommand;
+    private final StatsCommand statsCommand;
+    private final RecordCommand recordCommand;
 
     public OakToolsCommand(OakTools plugin) {
         this.plugin = plugin;
@@ -31,6 +52,10 @@ public class OakToolsCommand implements CommandExecutor, TabCompleter {
         this.reloadCommand = new ReloadCommand(plugin);
         this.infoCommand = new InfoCommand(plugin);
         this.repairCommand = new RepairCommand(plugin);
+        this.historyCommand = new HistoryCommand(plugin);
+        this.undoCommand = new UndoCommand(plugin);
+        this.statsCommand = new StatsCommand(plugin);
+        this.recordCommand = new RecordCommand(plugin);
     }
 
     @Override
@@ -56,6 +81,18 @@ public class OakToolsCommand implements CommandExecutor, TabCompleter {
             case "repair" -> {
                 return repairCommand.execute(sender, args);
             }
+            case "history" -> {
+                return historyCommand.execute(sender, args);
+            }
+            case "undo", "redo" -> {
+                return undoCommand.execute(sender, args);
+            }
+            case "stats" -> {
+                return statsCommand.execute(sender, args);
+            }
+            case "record" -> {
+                return recordCommand.execute(sender, args);
+            }
             default -> {
                 plugin.getMessageService().sendCommandMessage(sender, "unknown_subcommand");
                 return true;
@@ -69,16 +106,31 @@ public class OakToolsCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
 
         if (args.length == 1) {
-            // Subcommands
-            completions.addAll(Arrays.asList("give", "reload", "info", "repair"));
+            // Subcommands the sender may use
+            for (String subcommand : SUBCOMMAND_PERMISSIONS.keySet()) {
+                if (canUse(sender, subcommand)) {
+                    completions.add(subcommand);
+                }
+            }
             return filterCompletions(completions, args[0]);
+        } else if (!canUse(sender, args[0].toLowerCase())) {
+            return completions;
         } else if (args.length == 2) {
             String subcommand = args[0].toLowerCase();
 
-            // Player names for give, info, repair
-            if (subcommand.equals("give") || subcommand.equals("info") || subcommand.equals("repair")) {
+            // Player names for give, info, repair, record
+            if (subcommand.equals("give") || subcommand.equals("info") || subcommand.equals("repair")
+                    || subcommand.equals("record")) {
                 return null; // Return null to show online players
             }
+
+            if (subcommand.equals("stats")) {
+                completions.add("reset");
+                return filterCompletions(completions, args[1]);
+            }
+        } else if (args.length == 3 && args[0].equalsIgnoreCase("record")) {
+            completions.addAll(Arrays.asList("start", "stop"));
+            return filterCompletions(completions, args[2]);
         } else if (args.length == 3 && args[0].equalsIgnoreCase("give")) {
             // Tool types for give command
             for (ToolType type : ToolType.values()) {
@@ -92,10 +144,23 @@ public class OakToolsCommand implements CommandExecutor, TabCompleter {
 
     private void sendUsage(CommandSender sender) {
         plugin.getMessageService().sendCommandMessage(sender, "help.header");
-        plugin.getMessageService().sendCommandMessage(sender, "help.give");
-        plugin.getMessageService().sendCommandMessage(sender, "help.reload");
-        plugin.getMessageService().sendCommandMessage(sender, "help.info");
-        plugin.getMessageService().sendCommandMessage(sender, "help.repair");
+        for (String subcommand : SUBCOMMAND_PERMISSIONS.keySet()) {
+            if (canUse(sender, subcommand)) {
+                plugin.getMessageService().sendCommandMessage(sender, "help." + subcommand);
+            }
+        }
+    }
+
+    /**
+     * Check if a sender has the permission a subcommand requires.
+     *
+     * @param sender the command sender
+     * @param subcommand the lowercase subcommand name
+     * @return true if the subcommand exists and the sender may use it
+     */
+    private boolean canUse(CommandSender sender, String subcommand) {
+        String permission = SUBCOMMAND_PERMISSIONS.get(subcommand);
+        return permission != null && sender.hasPermission(permission);
     }
 
     private List<String> filterCompletions(List<String> completions, String partial) {
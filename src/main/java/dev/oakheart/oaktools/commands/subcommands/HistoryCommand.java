@@ -0,0 +1,110 @@
+package dev.oakheart.oaktools.commands.subcommands;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.journal.JournalEntry;
+import org.bukkit.Bukkit;
+import org.bukkit.block.Block;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /oaktools history [limit]
+ */
+public class HistoryCommand {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    private final OakTools plugin;
+
+    public HistoryCommand(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean execute(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("oaktools.history")) {
+            plugin.getMessageService().sendCommandMessage(sender, "no_permission");
+            return true;
+        }
+
+        if (!(sender instanceof Player player)) {
+            plugin.getMessageService().sendCommandMessage(sender, "history.must_be_player");
+            return true;
+        }
+
+        if (!plugin.getEditJournal().isEnabled()) {
+            plugin.getMessageService().sendCommandMessage(sender, "history.disabled");
+            return true;
+        }
+
+        int limit = DEFAULT_LIMIT;
+        if (args.length >= 2) {
+            try {
+                limit = Math.max(1, Math.min(MAX_LIMIT, Integer.parseInt(args[1])));
+            } catch (NumberFormatException e) {
+                plugin.getMessageService().sendCommandMessage(sender, "history.usage");
+                return true;
+            }
+        }
+
+        Block block = player.getTargetBlockExact(6);
+        if (block == null) {
+            plugin.getMessageService().sendCommandMessage(sender, "history.no_target");
+            return true;
+        }
+
+        Map<String, String> position = Map.of(
+                "x", String.valueOf(block.getX()),
+                "y", String.valueOf(block.getY()),
+                "z", String.valueOf(block.getZ()));
+
+        // Lookup runs on the journal thread, reply on the main thread
+        plugin.getEditJournal().lookup(block.getWorld(), block.getX(), block.getY(), block.getZ(), limit)
+                .thenAccept(entries -> plugin.getTaskScheduler().runAtEntity(player, () -> sendEntries(player, position, entries)));
+
+        return true;
+    }
+
+    private void sendEntries(Player player, Map<String, String> position, List<JournalEntry> entries) {
+        if (!player.isOnline()) {
+            return;
+        }
+
+        plugin.getMessageService().sendCommandMessage(player, "history.header", position);
+
+        if (entries.isEmpty()) {
+            plugin.getMessageService().sendCommandMessage(player, "history.empty");
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (JournalEntry entry : entries) {
+            String playerName = Bukkit.getOfflinePlayer(entry.playerId()).getName();
+            plugin.getMessageService().sendCommandMessage(player, "history.entry", Map.of(
+                    "time", formatAge(now - entry.timestamp()),
+                    "player", playerName != null ? playerName : entry.playerId().toString(),
+                    "old", entry.oldState(),
+                    "new", entry.newState()));
+        }
+    }
+
+    /**
+     * Format an age in milliseconds as a short human-readable string (e.g., "5m", "2h").
+     */
+    private String formatAge(long millis) {
+        long seconds = Math.max(0, millis / 1000);
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        if (seconds < 3600) {
+            return (seconds / 60) + "m";
+        }
+        if (seconds < 86400) {
+            return (seconds / 3600) + "h";
+        }
+        return (seconds / 86400) + "d";
+    }
+}
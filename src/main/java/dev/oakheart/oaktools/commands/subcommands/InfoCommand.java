@@ -1,15 +1,14 @@
 package dev.oakheart.oaktools.commands.subcommands;
 
 import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.items.ToolState;
 import dev.oakheart.oaktools.model.FeedSource;
 import dev.oakheart.oaktools.model.ToolType;
-import dev.oakheart.oaktools.util.Constants;
+import dev.oakheart.oaktools.services.ToolRegistry;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 
 import java.util.Map;
 
@@ -49,6 +48,7 @@ public class InfoCommand {
             target = player;
         }
 
+        plugin.getDurabilityLedger().flush(target);
         ItemStack item = target.getInventory().getItemInMainHand();
 
         if (!plugin.getItemFactory().isTool(item)) {
@@ -70,18 +70,49 @@ public class InfoCommand {
         plugin.getMessageService().sendCommandMessage(sender, "info.durability",
                 Map.of("remaining", String.valueOf(remaining), "max", String.valueOf(maxDurability)));
 
+        ToolState state = plugin.getItemFactory().getState(item);
+
         // Show feed source for Trowel
-        if (toolType == ToolType.TROWEL) {
-            ItemMeta meta = item.getItemMeta();
-            if (meta != null) {
-                String feedSourceString = meta.getPersistentDataContainer()
-                        .get(Constants.FEED_SOURCE, PersistentDataType.STRING);
-                FeedSource feedSource = FeedSource.fromString(feedSourceString);
-                plugin.getMessageService().sendCommandMessage(sender, "info.feed_source",
-                        Map.of("feed_source", feedSource.getDisplayName()));
+        if (toolType == ToolType.TROWEL && state != null) {
+            FeedSource feedSource = state.feedSource() != null ? state.feedSource() : FeedSource.HOTBAR;
+            plugin.getMessageService().sendCommandMessage(sender, "info.feed_source",
+                    Map.of("feed_source", feedSource.getDisplayName()));
+        }
+
+        // Show what the tool registry knows about this tool
+        ToolRegistry.Entry entry = state != null ? plugin.getToolRegistry().getEntry(state.id()) : null;
+        if (entry != null) {
+            long now = System.currentTimeMillis();
+            plugin.getMessageService().sendCommandMessage(sender, "info.tool_id",
+                    Map.of("id", state.id().toString()));
+            plugin.getMessageService().sendCommandMessage(sender, "info.history", Map.of(
+                    "uses", String.valueOf(entry.uses()),
+                    "first_seen", formatAge(now - entry.firstSeen()),
+                    "last_seen", formatAge(now - entry.lastSeen()),
+                    "holder", entry.lastHolder().isEmpty() ? "-" : entry.lastHolder()));
+            if (entry.duplicates() > 0) {
+                plugin.getMessageService().sendCommandMessage(sender, "info.duplicates",
+                        Map.of("count", String.valueOf(entry.duplicates())));
             }
         }
 
         return true;
     }
+
+    /**
+     * Format an age in milliseconds as a short human-readable string (e.g., "5m", "2h").
+     */
+    private String formatAge(long millis) {
+        long seconds = Math.max(0, millis / 1000);
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        if (seconds < 3600) {
+            return (seconds / 60) + "m";
+        }
+        if (seconds < 86400) {
+            return (seconds / 3600) + "h";
+        }
+        return (seconds / 86400) + "d";
+    }
 }
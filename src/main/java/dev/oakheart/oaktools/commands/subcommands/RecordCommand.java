@@ -0,0 +1,82 @@
+package dev.oakheart.oaktools.commands.subcommands;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.services.SessionRecorder;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * /oaktools record <player> [start|stop]
+ */
+public class RecordCommand {
+
+    private final OakTools plugin;
+
+    public RecordCommand(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean execute(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("oaktools.record")) {
+            plugin.getMessageService().sendCommandMessage(sender, "no_permission");
+            return true;
+        }
+
+        if (args.length < 2) {
+            plugin.getMessageService().sendCommandMessage(sender, "record.usage");
+            return true;
+        }
+
+        Player target = Bukkit.getPlayer(args[1]);
+        if (target == null) {
+            plugin.getMessageService().sendCommandMessage(sender, "record.player_not_found",
+                    Map.of("player", args[1]));
+            return true;
+        }
+
+        SessionRecorder recorder = plugin.getSessionRecorder();
+
+        // No action toggles
+        boolean start;
+        if (args.length >= 3) {
+            switch (args[2].toLowerCase()) {
+                case "start" -> start = true;
+                case "stop" -> start = false;
+                default -> {
+                    plugin.getMessageService().sendCommandMessage(sender, "record.usage");
+                    return true;
+                }
+            }
+        } else {
+            start = !recorder.isRecording(target);
+        }
+
+        if (start) {
+            Path path = recorder.start(target);
+            if (path == null) {
+                plugin.getMessageService().sendCommandMessage(sender, "record.already_recording",
+                        Map.of("player", target.getName()));
+                return true;
+            }
+            plugin.getMessageService().sendCommandMessage(sender, "record.started", Map.of(
+                    "player", target.getName(),
+                    "file", path.getFileName().toString()));
+        } else {
+            SessionRecorder.Stopped stopped = recorder.stop(target);
+            if (stopped == null) {
+                plugin.getMessageService().sendCommandMessage(sender, "record.not_recording",
+                        Map.of("player", target.getName()));
+                return true;
+            }
+            plugin.getMessageService().sendCommandMessage(sender, "record.stopped", Map.of(
+                    "player", target.getName(),
+                    "count", String.valueOf(stopped.events()),
+                    "file", stopped.path().getFileName().toString()));
+        }
+        return true;
+    }
+}
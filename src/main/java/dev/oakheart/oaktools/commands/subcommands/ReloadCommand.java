@@ -30,6 +30,12 @@ public class ReloadCommand {
             return true;
         }
 
+        // Rebuild tool prototypes from the new config
+        plugin.getItemFactory().invalidatePrototypes();
+
+        // Existing tools built with the old settings are migrated lazily
+        plugin.getToolMigrator().onConfigReloaded();
+
         // Reload recipes (unregister old, register new)
         plugin.getRecipeManager().unregisterRecipes();
         plugin.getRecipeManager().registerRecipes();
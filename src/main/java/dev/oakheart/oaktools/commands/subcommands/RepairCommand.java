@@ -44,6 +44,8 @@ public class RepairCommand {
             target = player;
         }
 
+        // Write pending durability first so it can't overwrite the repair later
+        plugin.getDurabilityLedger().flush(target);
         ItemStack item = target.getInventory().getItemInMainHand();
 
         if (!plugin.getItemFactory().isTool(item)) {
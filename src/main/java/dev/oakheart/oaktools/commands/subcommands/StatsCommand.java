@@ -0,0 +1,79 @@
+package dev.oakheart.oaktools.commands.subcommands;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.model.ToolType;
+import dev.oakheart.oaktools.stats.LatencyHistogram;
+import dev.oakheart.oaktools.stats.ToolStats;
+import org.bukkit.command.CommandSender;
+
+import java.util.Map;
+
+/**
+ * /oaktools stats [reset]
+ */
+public class StatsCommand {
+
+    private final OakTools plugin;
+
+    public StatsCommand(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean execute(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("oaktools.stats")) {
+            plugin.getMessageService().sendCommandMessage(sender, "no_permission");
+            return true;
+        }
+
+        ToolStats stats = plugin.getToolStats();
+
+        if (args.length >= 2) {
+            if (!args[1].equalsIgnoreCase("reset")) {
+                plugin.getMessageService().sendCommandMessage(sender, "stats.usage");
+                return true;
+            }
+            stats.reset();
+            plugin.getMessageService().sendCommandMessage(sender, "stats.reset");
+            return true;
+        }
+
+        plugin.getMessageService().sendCommandMessage(sender, "stats.header");
+
+        // Latency per timed path
+        for (ToolStats.Timer timer : ToolStats.Timer.values()) {
+            LatencyHistogram histogram = stats.getHistogram(timer);
+            plugin.getMessageService().sendCommandMessage(sender, "stats.timer", Map.of(
+                    "name", timer.name().toLowerCase(),
+                    "count", String.valueOf(histogram.getCount()),
+                    "p50", formatNanos(histogram.percentile(50)),
+                    "p99", formatNanos(histogram.percentile(99)),
+                    "max", formatNanos(histogram.getMaxNanos())));
+        }
+
+        // Non-zero outcome counters
+        for (ToolType toolType : ToolType.values()) {
+            for (ToolStats.Outcome outcome : ToolStats.Outcome.values()) {
+                long count = stats.getCount(toolType, outcome);
+                if (count == 0) {
+                    continue;
+                }
+                plugin.getMessageService().sendCommandMessage(sender, "stats.outcome", Map.of(
+                        "tool", toolType.getDisplayName(),
+                        "outcome", outcome.name().toLowerCase(),
+                        "count", String.valueOf(count)));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Format a duration in nanoseconds as a short human-readable string (e.g., "850µs", "1.2ms").
+     */
+    private String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return (nanos / 1000) + "µs";
+        }
+        return String.format("%.1fms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,72 @@
+package dev.oakheart.oaktools.commands.subcommands;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.services.UndoService;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+
+/**
+ * /oaktools undo [count] and /oaktools redo [count]
+ */
+public class UndoCommand {
+
+    private final OakTools plugin;
+
+    public UndoCommand(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean execute(CommandSender sender, String[] args) {
+        boolean undo = args[0].equalsIgnoreCase("undo");
+
+        if (!sender.hasPermission("oaktools.undo")) {
+            plugin.getMessageService().sendCommandMessage(sender, "no_permission");
+            return true;
+        }
+
+        if (!(sender instanceof Player player)) {
+            plugin.getMessageService().sendCommandMessage(sender, "undo.must_be_player");
+            return true;
+        }
+
+        UndoService undoService = plugin.getUndoService();
+        if (!undoService.isEnabled()) {
+            plugin.getMessageService().sendCommandMessage(sender, "undo.disabled");
+            return true;
+        }
+
+        int count = 1;
+        if (args.length >= 2) {
+            try {
+                count = Math.max(1, Math.min(undoService.getMaxPerCommand(), Integer.parseInt(args[1])));
+            } catch (NumberFormatException e) {
+                plugin.getMessageService().sendCommandMessage(sender, undo ? "undo.undo_usage" : "undo.redo_usage");
+                return true;
+            }
+        }
+
+        UndoService.Outcome outcome = undo ? undoService.undo(player, count) : undoService.redo(player, count);
+
+        if (outcome.applied() > 0) {
+            plugin.getMessageService().sendCommandMessage(sender, undo ? "undo.undone" : "undo.redone",
+                    Map.of("count", String.valueOf(outcome.applied())));
+        }
+
+        switch (outcome.reason()) {
+            case NOTHING -> plugin.getMessageService().sendCommandMessage(sender,
+                    undo ? "undo.nothing_to_undo" : "undo.nothing_to_redo");
+            case CHANGED -> plugin.getMessageService().sendCommandMessage(sender, "undo.stopped_changed");
+            case PROTECTED -> plugin.getMessageService().sendCommandMessage(sender, "undo.stopped_protection");
+            case UNLOADED -> plugin.getMessageService().sendCommandMessage(sender, "undo.stopped_unloaded");
+            case MISSING_BLOCKS -> plugin.getMessageService().sendCommandMessage(sender, "undo.stopped_missing_blocks",
+                    Map.of("material", outcome.missing().name().toLowerCase()));
+            case NONE -> {
+                // Everything requested was applied
+            }
+        }
+
+        return true;
+    }
+}
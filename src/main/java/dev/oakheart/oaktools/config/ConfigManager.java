@@ -1,14 +1,24 @@
 package dev.oakheart.oaktools.config;
 
 import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.model.ToolType;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.enchantments.Enchantment;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Level;
 
 /**
@@ -19,6 +29,15 @@ public class ConfigManager {
     private final OakTools plugin;
     private FileConfiguration config;
 
+    // Resolved once per load so anvil events don't parse enchantment names
+    private volatile Map<ToolType, Set<Enchantment>> allowedEnchantments = new EnumMap<>(ToolType.class);
+
+    // Fingerprint of the settings baked into existing tools, stamped on each tool so stale ones can be migrated
+    private volatile Map<ToolType, Integer> toolConfigVersions = new EnumMap<>(ToolType.class);
+
+    // Bumped on every load, so results cached from the previous settings can be recognized
+    private volatile int generation;
+
     public ConfigManager(OakTools plugin) {
         this.plugin = plugin;
     }
@@ -42,6 +61,10 @@ public class ConfigManager {
 
         // Validate configuration
         ConfigValidator.validate(config, plugin.getLogger());
+
+        resolveAllowedEnchantments();
+        computeToolConfigVersions();
+        generation++;
     }
 
     /**
@@ -146,6 +169,9 @@ public class ConfigManager {
             }
 
             this.config = newConfig;
+            resolveAllowedEnchantments();
+            computeToolConfigVersions();
+            generation++;
             plugin.getLogger().info("Configuration reloaded successfully.");
             return true;
 
@@ -155,6 +181,91 @@ public class ConfigManager {
         }
     }
 
+    /**
+     * Resolve each tool's allowed_enchantments list into enchantments.
+     * Accepts registry keys (e.g., UNBREAKING, minecraft:unbreaking) and legacy Bukkit names.
+     */
+    @SuppressWarnings("deprecation")
+    private void resolveAllowedEnchantments() {
+        Map<ToolType, Set<Enchantment>> resolved = new EnumMap<>(ToolType.class);
+
+        for (ToolType toolType : ToolType.values()) {
+            String path = "tools." + toolType.name().toLowerCase() + ".allowed_enchantments";
+            Set<Enchantment> enchantments = new HashSet<>();
+
+            for (String name : config.getStringList(path)) {
+                NamespacedKey key = NamespacedKey.fromString(name.toLowerCase());
+                Enchantment enchantment = key != null ? Registry.ENCHANTMENT.get(key) : null;
+                if (enchantment == null) {
+                    enchantment = Enchantment.getByName(name);
+                }
+
+                if (enchantment != null) {
+                    enchantments.add(enchantment);
+                } else {
+                    plugin.getLogger().warning("Unknown enchantment in " + path + ": " + name);
+                }
+            }
+
+            resolved.put(toolType, Collections.unmodifiableSet(enchantments));
+        }
+
+        this.allowedEnchantments = resolved;
+    }
+
+    /**
+     * Get the enchantments allowed on a tool type.
+     *
+     * @param toolType the tool type
+     * @return the allowed enchantments (never null)
+     */
+    public Set<Enchantment> getAllowedEnchantments(ToolType toolType) {
+        return allowedEnchantments.getOrDefault(toolType, Set.of());
+    }
+
+    /**
+     * Fingerprint the settings an existing tool keeps from when it was built: maximum durability,
+     * the vanilla damage bar, lore and model. The display name is left out because players may rename tools.
+     */
+    private void computeToolConfigVersions() {
+        Map<ToolType, Integer> versions = new EnumMap<>(ToolType.class);
+
+        for (ToolType toolType : ToolType.values()) {
+            String path = "tools." + toolType.name().toLowerCase();
+            int version = Objects.hash(
+                    config.getInt(path + ".durability.max", 250),
+                    config.getBoolean(path + ".durability.use_vanilla_damage_bar", true),
+                    config.getBoolean(path + ".display.enabled", true),
+                    config.getStringList(path + ".display.lore"),
+                    config.getString(path + ".model_id", ""),
+                    config.getString(path + ".tooltip_style", ""));
+
+            // 0 means "never stamped"
+            versions.put(toolType, version != 0 ? version : 1);
+        }
+
+        this.toolConfigVersions = versions;
+    }
+
+    /**
+     * Get the config version current tools of a type are stamped with.
+     *
+     * @param toolType the tool type
+     * @return the version (never 0)
+     */
+    public int getToolConfigVersion(ToolType toolType) {
+        return toolConfigVersions.getOrDefault(toolType, 1);
+    }
+
+    /**
+     * Get the configuration generation, which changes on every successful load or reload.
+     *
+     * @return the generation
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
     /**
      * Get the current configuration.
      *
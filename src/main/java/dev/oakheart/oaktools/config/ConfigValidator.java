@@ -76,6 +76,36 @@ public class ConfigValidator {
             logger.warning("general.restrictions.worlds.mode must be 'WHITELIST' or 'BLACKLIST'. Found: " + worldsMode);
         }
 
+        int flushUses = config.getInt("general.durability_write_behind.flush_uses", 32);
+        if (flushUses <= 0) {
+            logger.warning("general.durability_write_behind.flush_uses must be > 0. Found: " + flushUses);
+        }
+
+        int flushTicks = config.getInt("general.durability_write_behind.flush_ticks", 100);
+        if (flushTicks <= 0) {
+            logger.warning("general.durability_write_behind.flush_ticks must be > 0. Found: " + flushTicks);
+        }
+
+        int migrationItemsPerTick = config.getInt("general.tool_migration.background.items_per_tick", 16);
+        if (migrationItemsPerTick <= 0) {
+            logger.warning("general.tool_migration.background.items_per_tick must be > 0. Found: " + migrationItemsPerTick);
+        }
+
+        String overflowPolicy = config.getString("integration.coreprotect.queue.overflow_policy", "DROP_OLDEST");
+        if (!List.of("DROP_OLDEST", "DROP_NEWEST", "FLUSH").contains(overflowPolicy.toUpperCase())) {
+            logger.warning("integration.coreprotect.queue.overflow_policy must be 'DROP_OLDEST', 'DROP_NEWEST' or 'FLUSH'. Found: " + overflowPolicy);
+        }
+
+        int queueCapacity = config.getInt("integration.coreprotect.queue.capacity", 4096);
+        if (queueCapacity <= 0) {
+            logger.warning("integration.coreprotect.queue.capacity must be > 0. Found: " + queueCapacity);
+        }
+
+        int prometheusPort = config.getInt("prometheus.port", 9465);
+        if (prometheusPort < 1 || prometheusPort > 65535) {
+            logger.warning("prometheus.port must be between 1 and 65535. Found: " + prometheusPort);
+        }
+
         return true;
     }
 
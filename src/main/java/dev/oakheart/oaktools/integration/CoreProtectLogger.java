@@ -1,22 +1,74 @@
 package dev.oakheart.oaktools.integration;
 
 import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.services.TickBudgetWatchdog;
+import dev.oakheart.oaktools.stats.ToolStats;
+import dev.oakheart.oaktools.stats.jfr.FlushEvent;
+import dev.oakheart.oaktools.util.TaskScheduler;
 import net.coreprotect.CoreProtect;
 import net.coreprotect.CoreProtectAPI;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Handles async logging to CoreProtect for tool actions.
+ * Handles batched logging to CoreProtect for tool actions.
+ * Actions are queued as immutable records in a {@link LogQueue} and drained once per tick by a single task.
  */
 public class CoreProtectLogger {
 
+    /**
+     * What to do when the log queue is full.
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST,  // Discard the oldest queued record to make room
+        DROP_NEWEST,  // Discard the record being added
+        FLUSH;        // Drain the whole queue immediately, then add
+
+        /**
+         * Safely parse an OverflowPolicy from a string, with fallback.
+         *
+         * @param value the string value to parse
+         * @return the OverflowPolicy, or DROP_OLDEST as fallback
+         */
+        public static OverflowPolicy fromString(String value) {
+            if (value == null) {
+                return DROP_OLDEST;
+            }
+            try {
+                return OverflowPolicy.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return DROP_OLDEST;
+            }
+        }
+    }
+
+    /**
+     * A single queued tool action. A File edit carries both the removed and the placed state so it is
+     * kept or dropped as a whole; a placement logged without its removal would roll back to air.
+     *
+     * @param removed the state logged as removed, or null
+     * @param placed the state logged as placed, or null
+     */
+    private record LogRecord(String user, World world, int x, int y, int z, BlockData removed, BlockData placed) {
+    }
+
     private final OakTools plugin;
     private CoreProtectAPI coreProtectAPI;
     private boolean available;
 
+    private LogQueue<LogRecord> queue;
+    private int maxPerTick;
+    private TaskScheduler.Task drainTask;
+
+    private final AtomicLong loggedRecords = new AtomicLong();
+
     public CoreProtectLogger(OakTools plugin) {
         this.plugin = plugin;
         this.available = false;
@@ -26,7 +78,8 @@ public class CoreProtectLogger {
      * Initialize CoreProtect integration.
      */
     public void initialize() {
-        if (!plugin.getConfigManager().getConfig().getBoolean("integration.coreprotect.enabled", true)) {
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+        if (!config.getBoolean("integration.coreprotect.enabled", true)) {
             plugin.getLogger().info("CoreProtect integration is disabled in config");
             return;
         }
@@ -44,12 +97,38 @@ public class CoreProtectLogger {
             plugin.getLogger().info("CoreProtect integration enabled (API v" + api.APIVersion() + ")");
         } else {
             plugin.getLogger().warning("CoreProtect API version too old or disabled");
+            return;
+        }
+
+        // Set up the log queue (drained once per tick)
+        int capacity = Math.max(16, config.getInt("integration.coreprotect.queue.capacity", 4096));
+        OverflowPolicy overflowPolicy = OverflowPolicy.fromString(
+                config.getString("integration.coreprotect.queue.overflow_policy", "DROP_OLDEST"));
+        this.queue = new LogQueue<>(capacity, overflowPolicy, Bukkit::isPrimaryThread, this::send);
+        this.maxPerTick = Math.max(1, config.getInt("integration.coreprotect.queue.max_per_tick", 512));
+
+        // Must run synchronously to access block entities (hoppers, chests, etc.)
+        // Runs on the global region on Folia; records only carry block data snapshots
+        this.drainTask = plugin.getTaskScheduler().runGlobalTimer(() -> drain(currentLimit()), 1L, 1L);
+    }
+
+    /**
+     * Stop the drain task and flush all queued records.
+     * Called on plugin disable so no records are lost on shutdown.
+     */
+    public void shutdown() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        if (available && queue != null) {
+            drain(Integer.MAX_VALUE);
         }
     }
 
     /**
      * Log a File tool edit (block state change).
-     * Logs as break (old state) + place (new state) for rollback support.
+     * Logs as break (old state) + place (new state) for rollback support, queued as one record.
      *
      * @param player the player
      * @param block the block
@@ -62,29 +141,8 @@ public class CoreProtectLogger {
             return;
         }
 
-        // Must run synchronously to access block entities (hoppers, chests, etc.)
-        // CoreProtect's API is efficient enough that sync logging doesn't cause lag
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            try {
-                // Log break (old state)
-                coreProtectAPI.logRemoval(
-                        player.getName(),
-                        block.getLocation(),
-                        oldData.getMaterial(),
-                        oldData
-                );
-
-                // Log place (new state)
-                coreProtectAPI.logPlacement(
-                        player.getName(),
-                        block.getLocation(),
-                        newData.getMaterial(),
-                        newData
-                );
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to log File edit to CoreProtect: " + e.getMessage());
-            }
-        });
+        queue.offer(new LogRecord(player.getName(), block.getWorld(), block.getX(), block.getY(), block.getZ(),
+                oldData, newData));
     }
 
     /**
@@ -100,19 +158,61 @@ public class CoreProtectLogger {
             return;
         }
 
-        // Must run synchronously to access block entities (if placing chests, hoppers, etc.)
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            try {
-                coreProtectAPI.logPlacement(
-                        player.getName(),
-                        block.getLocation(),
-                        blockData.getMaterial(),
-                        blockData
-                );
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to log Trowel placement to CoreProtect: " + e.getMessage());
+        queue.offer(new LogRecord(player.getName(), block.getWorld(),
+                block.getX(), block.getY(), block.getZ(), null, blockData));
+    }
+
+    /**
+     * Get how many records to send this tick.
+     * While the tick budget watchdog is shedding work, records are sent in smaller batches
+     * unless the queue is more than half full (so nothing is dropped).
+     */
+    private int currentLimit() {
+        if (plugin.getTickBudgetWatchdog().isShedding(TickBudgetWatchdog.Level.MINIMAL)
+                && queue.remainingCapacity() > queue.size()) {
+            return Math.max(1, maxPerTick / 4);
+        }
+        return maxPerTick;
+    }
+
+    /**
+     * Send up to {@code limit} queued records to CoreProtect.
+     *
+     * @param limit the maximum number of records to send
+     */
+    private void drain(int limit) {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        FlushEvent jfr = new FlushEvent();
+        jfr.start();
+
+        int sent = queue.drain(limit);
+
+        plugin.getToolStats().record(ToolStats.Timer.COREPROTECT_LOG, start);
+        jfr.target = "coreprotect";
+        jfr.records = sent;
+        jfr.finish();
+    }
+
+    /**
+     * Send one record to CoreProtect.
+     */
+    private void send(LogRecord record) {
+        try {
+            Location location = new Location(record.world(), record.x(), record.y(), record.z());
+            if (record.removed() != null) {
+                coreProtectAPI.logRemoval(record.user(), location, record.removed().getMaterial(), record.removed());
+            }
+            if (record.placed() != null) {
+                coreProtectAPI.logPlacement(record.user(), location, record.placed().getMaterial(), record.placed());
             }
-        });
+            loggedRecords.incrementAndGet();
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to log tool action to CoreProtect: " + e.getMessage());
+        }
     }
 
     /**
@@ -123,4 +223,49 @@ public class CoreProtectLogger {
     public boolean isAvailable() {
         return available;
     }
+
+    /**
+     * Get the number of records waiting to be sent to CoreProtect.
+     *
+     * @return the current queue depth
+     */
+    public int getQueueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Get the maximum number of records the queue can hold.
+     *
+     * @return the queue capacity, or 0 if logging is unavailable
+     */
+    public int getQueueCapacity() {
+        return queue != null ? queue.size() + queue.remainingCapacity() : 0;
+    }
+
+    /**
+     * Get the number of records sent to CoreProtect since startup.
+     *
+     * @return the logged record count
+     */
+    public long getLoggedCount() {
+        return loggedRecords.get();
+    }
+
+    /**
+     * Get the number of records dropped because the queue was full.
+     *
+     * @return the dropped record count
+     */
+    public long getDroppedCount() {
+        return queue != null ? queue.getDroppedCount() : 0;
+    }
+
+    /**
+     * Get the configured overflow policy.
+     *
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return queue != null ? queue.getOverflowPolicy() : OverflowPolicy.DROP_OLDEST;
+    }
 }
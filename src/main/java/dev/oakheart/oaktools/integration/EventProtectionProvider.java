@@ -0,0 +1,66 @@
+package dev.oakheart.oaktools.integration;
+
+import org.bukkit.Bukkit;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Default protection provider that fires a fake BlockPlaceEvent per block.
+ * Works with any protection plugin that listens to block placement (always available as fallback).
+ */
+public class EventProtectionProvider implements ProtectionProvider {
+
+    @Override
+    public String getName() {
+        return "BlockPlaceEvent";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true; // Always available
+    }
+
+    @Override
+    public BitSet canModify(Player player, List<Block> blocks, EquipmentSlot hand, ItemStack tool) {
+        BitSet allowed = new BitSet(blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            if (canModify(player, blocks.get(i), hand, tool)) {
+                allowed.set(i);
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Check a single block with a fake BlockPlaceEvent.
+     *
+     * NOTE: The fake event is created with canBuild=false to prevent Minecraft from
+     * playing block place sounds. Protection plugins only check the cancelled state.
+     */
+    @Override
+    public boolean canModify(Player player, Block block, EquipmentSlot hand, ItemStack tool) {
+        // IMPORTANT: canBuild=false prevents client sounds while still allowing protection checks
+        BlockPlaceEvent fakeEvent = new BlockPlaceEvent(
+                block,                          // Block placed
+                block.getState(),              // Previous state
+                block.getRelative(BlockFace.DOWN), // Block placed against (approximation)
+                tool,                          // Item in hand
+                player,                        // Player
+                false,                         // Can build (FALSE to prevent sounds!)
+                hand                           // Hand used
+        );
+
+        // Call the event (let protection plugins decide)
+        Bukkit.getPluginManager().callEvent(fakeEvent);
+
+        // Note: We check !isCancelled() because canBuild starts as false
+        return !fakeEvent.isCancelled();
+    }
+}
@@ -1,16 +1,28 @@
 package dev.oakheart.oaktools.integration;
 
 import dev.oakheart.oaktools.model.ToolType;
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
 /**
- * Modern item model provider using ItemMeta.setItemModel() (Minecraft 1.21.4+).
+ * Modern item model provider (Minecraft 1.21.4+).
+ * Writes the {@code minecraft:item_model} component, and optionally {@code minecraft:tooltip_style}, directly
+ * on the item. No plugin lookups and no ItemMeta copy, so this is the cheapest way to attach a model.
  * This is the recommended approach for custom item models in modern Minecraft versions.
  */
 public class ItemModelProvider implements ModelProvider {
 
+    private final String tooltipStyle;
+
+    /**
+     * @param tooltipStyle tooltip style key (e.g., "oaktools:tool"), or empty for the vanilla tooltip
+     */
+    public ItemModelProvider(String tooltipStyle) {
+        this.tooltipStyle = tooltipStyle == null ? "" : tooltipStyle;
+    }
+
     @Override
     public String getName() {
         return "Item Model";
@@ -18,22 +30,17 @@ public class ItemModelProvider implements ModelProvider {
 
     @Override
     public boolean isAvailable() {
-        // Check if the setItemModel method is available (Paper 1.21.4+)
+        // Check if the data component API is available (Paper 1.21.4+)
         try {
-            ItemMeta.class.getMethod("setItemModel", NamespacedKey.class);
+            Class.forName("io.papermc.paper.datacomponent.DataComponentTypes");
             return true;
-        } catch (NoSuchMethodException e) {
+        } catch (ClassNotFoundException e) {
             return false;
         }
     }
 
     @Override
     public boolean applyModel(ItemStack item, ToolType toolType, String modelId) {
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return false;
-        }
-
         // Parse the model ID as a namespaced key
         // Expected format: "namespace:key" (e.g., "oaktools:file" or "minecraft:custom/file")
         NamespacedKey key = parseNamespacedKey(modelId);
@@ -41,9 +48,20 @@ public class ItemModelProvider implements ModelProvider {
             return false;
         }
 
+        NamespacedKey tooltipKey = null;
+        if (!tooltipStyle.isEmpty()) {
+            tooltipKey = parseNamespacedKey(tooltipStyle);
+            if (tooltipKey == null) {
+                Bukkit.getLogger().warning("[OakTools] Invalid tooltip_style '" + tooltipStyle + "' for " + toolType
+                        + " - using the vanilla tooltip");
+            }
+        }
+
         try {
-            meta.setItemModel(key);
-            item.setItemMeta(meta);
+            item.setData(DataComponentTypes.ITEM_MODEL, key);
+            if (tooltipKey != null) {
+                item.setData(DataComponentTypes.TOOLTIP_STYLE, tooltipKey);
+            }
             return true;
         } catch (Exception e) {
             return false;
@@ -0,0 +1,23 @@
+package dev.oakheart.oaktools.integration;
+
+import dev.lone.itemsadder.api.Events.ItemsAdderLoadDataEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+
+/**
+ * Signals when ItemsAdder has (re)loaded its items.
+ * Kept separate so the ItemsAdder event class is only loaded when ItemsAdder is installed.
+ */
+public class ItemsAdderLoadListener implements Listener {
+
+    private final Runnable onLoaded;
+
+    public ItemsAdderLoadListener(Runnable onLoaded) {
+        this.onLoaded = onLoaded;
+    }
+
+    @EventHandler
+    public void onItemsLoaded(ItemsAdderLoadDataEvent event) {
+        onLoaded.run();
+    }
+}
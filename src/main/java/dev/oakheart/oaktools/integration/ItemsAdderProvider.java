@@ -27,6 +27,15 @@ public class ItemsAdderProvider implements ModelProvider {
         }
     }
 
+    @Override
+    public boolean isLoaded(String modelId) {
+        try {
+            return CustomStack.isInRegistry(modelId);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     @Override
     public boolean applyModel(ItemStack item, ToolType toolType, String modelId) {
         // ItemsAdder uses namespace:id format (e.g., "oaktools:file")
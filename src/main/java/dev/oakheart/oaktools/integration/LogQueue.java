@@ -0,0 +1,131 @@
+package dev.oakheart.oaktools.integration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue of log records with an overflow policy, drained in batches by a single task.
+ * Holds no server state, so the load simulator drives the same queue the CoreProtect logger uses.
+ *
+ * @param <T> the record type
+ */
+public final class LogQueue<T> {
+
+    private final BlockingQueue<T> queue;
+    private final CoreProtectLogger.OverflowPolicy overflowPolicy;
+    private final BooleanSupplier canFlush;
+    private final Consumer<T> sink;
+
+    private final AtomicLong droppedRecords = new AtomicLong();
+
+    /**
+     * Create a log queue.
+     *
+     * @param capacity the maximum number of queued records
+     * @param overflowPolicy what to do when the queue is full
+     * @param canFlush whether the calling thread may drain the queue itself (FLUSH policy)
+     * @param sink receives each drained record
+     */
+    public LogQueue(int capacity, CoreProtectLogger.OverflowPolicy overflowPolicy, BooleanSupplier canFlush,
+                    Consumer<T> sink) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.canFlush = canFlush;
+        this.sink = sink;
+    }
+
+    /**
+     * Add a record to the queue, applying the overflow policy if it is full.
+     *
+     * @param record the record to add
+     */
+    public void offer(T record) {
+        if (queue.offer(record)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> droppedRecords.incrementAndGet();
+            case DROP_OLDEST -> {
+                if (queue.poll() != null) {
+                    droppedRecords.incrementAndGet();
+                }
+                if (!queue.offer(record)) {
+                    droppedRecords.incrementAndGet();
+                }
+            }
+            case FLUSH -> {
+                if (canFlush.getAsBoolean()) {
+                    drain(Integer.MAX_VALUE);
+                }
+                if (!queue.offer(record)) {
+                    droppedRecords.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Pass up to {@code limit} queued records to the sink, oldest first.
+     *
+     * @param limit the maximum number of records to drain
+     * @return the number of records drained
+     */
+    public int drain(int limit) {
+        T record;
+        int sent = 0;
+        while (sent < limit && (record = queue.poll()) != null) {
+            sent++;
+            sink.accept(record);
+        }
+        return sent;
+    }
+
+    /**
+     * Check if nothing is queued.
+     *
+     * @return true if the queue is empty
+     */
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Get the number of queued records.
+     *
+     * @return the queue depth
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Get the number of records that can still be added before the queue is full.
+     *
+     * @return the remaining capacity
+     */
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    /**
+     * Get the number of records dropped because the queue was full.
+     *
+     * @return the dropped record count
+     */
+    public long getDroppedCount() {
+        return droppedRecords.get();
+    }
+
+    /**
+     * Get the overflow policy.
+     *
+     * @return the overflow policy
+     */
+    public CoreProtectLogger.OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+}
@@ -31,4 +31,15 @@ public interface ModelProvider {
      * @return true if the model was applied successfully
      */
     boolean applyModel(ItemStack item, ToolType toolType, String modelId);
+
+    /**
+     * Check if the provider has finished loading a model.
+     * Providers that load their items after server start (Nexo, ItemsAdder) override this.
+     *
+     * @param modelId the model ID from config
+     * @return true if {@link #applyModel} can find the model now
+     */
+    default boolean isLoaded(String modelId) {
+        return true;
+    }
 }
@@ -0,0 +1,166 @@
+package dev.oakheart.oaktools.integration;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.model.ToolType;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.event.Listener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registers recipes once the external model providers the tools use (Nexo, ItemsAdder) have loaded their
+ * items, so recipe results get the custom model. Recipes are rebuilt whenever a provider reloads, and
+ * registered anyway if a provider doesn't report in before the timeout.
+ * All state is touched on the global region thread.
+ */
+public class ModelProviderLoadTracker {
+
+    /**
+     * Model providers that load their items after OakTools enables.
+     */
+    enum Provider {
+        NEXO("Nexo", "nexo:"),
+        ITEMSADDER("ItemsAdder", "itemsadder:");
+
+        private final String pluginName;
+        private final String prefix;
+
+        Provider(String pluginName, String prefix) {
+            this.pluginName = pluginName;
+            this.prefix = prefix;
+        }
+
+        // Provider classes are only loaded once the matching plugin is known to be needed
+        ModelProvider createProvider() {
+            return switch (this) {
+                case NEXO -> new NexoProvider();
+                case ITEMSADDER -> new ItemsAdderProvider();
+            };
+        }
+
+        Listener createListener(Runnable onLoaded) {
+            return switch (this) {
+                case NEXO -> new NexoLoadListener(onLoaded);
+                case ITEMSADDER -> new ItemsAdderLoadListener(onLoaded);
+            };
+        }
+    }
+
+    private final OakTools plugin;
+    private final Set<Provider> waiting = EnumSet.noneOf(Provider.class);
+    private boolean registered;
+
+    public ModelProviderLoadTracker(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Register recipes now if no external provider is needed (or all are already loaded),
+     * otherwise wait for their load events.
+     */
+    public void start() {
+        Map<Provider, List<String>> needed = neededModels();
+
+        for (Map.Entry<Provider, List<String>> entry : needed.entrySet()) {
+            Provider provider = entry.getKey();
+            ModelProvider modelProvider = provider.createProvider();
+            if (!modelProvider.isAvailable()) {
+                // applyModel warns about this when the tool is built
+                continue;
+            }
+
+            // Listen for every load, not just the first, so recipes follow provider reloads
+            Bukkit.getPluginManager().registerEvents(provider.createListener(() -> onProviderLoaded(provider)), plugin);
+
+            boolean loaded = entry.getValue().stream().allMatch(modelProvider::isLoaded);
+            if (!loaded) {
+                waiting.add(provider);
+            }
+        }
+
+        if (waiting.isEmpty()) {
+            register(needed.isEmpty() ? null : "model providers already loaded");
+            return;
+        }
+
+        long timeoutSeconds = Math.max(1, plugin.getConfigManager().getConfig()
+                .getLong("integration.model_providers.load_timeout_seconds", 30));
+        plugin.getLogger().info("Waiting for " + names(waiting) + " to load items before registering recipes (up to "
+                + timeoutSeconds + "s)");
+        plugin.getTaskScheduler().runGlobalLater(this::onTimeout, timeoutSeconds * 20L);
+    }
+
+    /**
+     * Called from a provider's load event (possibly off the main thread).
+     */
+    private void onProviderLoaded(Provider provider) {
+        plugin.getTaskScheduler().runGlobalLater(() -> {
+            // Tools built before this load may be missing the model
+            plugin.getItemFactory().invalidatePrototypes();
+
+            if (registered) {
+                // Provider reloaded - rebuild recipe results with the new models
+                plugin.getRecipeManager().unregisterRecipes();
+                plugin.getRecipeManager().registerRecipes();
+                plugin.getLogger().info(provider.pluginName + " reloaded its items - recipes rebuilt");
+                return;
+            }
+
+            waiting.remove(provider);
+            if (waiting.isEmpty()) {
+                register(provider.pluginName + " finished loading");
+            }
+        }, 1L);
+    }
+
+    private void onTimeout() {
+        if (registered) {
+            return;
+        }
+        plugin.getLogger().warning(names(waiting) + " did not finish loading items in time - registering recipes now. "
+                + "Recipes will be rebuilt when loading finishes.");
+        register(null);
+    }
+
+    private void register(String reason) {
+        registered = true;
+        waiting.clear();
+        plugin.getRecipeManager().registerRecipes();
+        if (reason != null) {
+            plugin.getLogger().info("Recipes registered with external model provider (" + reason + ")");
+        }
+    }
+
+    /**
+     * Get the model IDs each external provider must supply, from the tools' model_id settings.
+     */
+    private Map<Provider, List<String>> neededModels() {
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+        Map<Provider, List<String>> needed = new EnumMap<>(Provider.class);
+
+        for (ToolType toolType : ToolType.values()) {
+            String path = "tools." + toolType.name().toLowerCase() + ".model_id";
+            if (config.isInt(path)) {
+                continue;
+            }
+            String modelId = config.getString(path, "");
+            for (Provider provider : Provider.values()) {
+                if (modelId.toLowerCase().startsWith(provider.prefix)) {
+                    needed.computeIfAbsent(provider, key -> new ArrayList<>())
+                            .add(modelId.substring(provider.prefix.length()));
+                }
+            }
+        }
+        return needed;
+    }
+
+    private static String names(Set<Provider> providers) {
+        return String.join(" and ", providers.stream().map(provider -> provider.pluginName).toList());
+    }
+}
@@ -86,7 +86,7 @@ public class ModelProviderManager {
         String actualModelId = modelId;
 
         if (modelId.toLowerCase().startsWith("model:")) {
-            provider = new ItemModelProvider();
+            provider = new ItemModelProvider(config.getString(toolPath + ".tooltip_style", ""));
             actualModelId = modelId.substring(6); // Remove "model:" prefix
 
             if (!provider.isAvailable()) {
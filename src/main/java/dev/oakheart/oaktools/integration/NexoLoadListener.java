@@ -0,0 +1,23 @@
+package dev.oakheart.oaktools.integration;
+
+import com.nexomc.nexo.api.events.NexoItemsLoadedEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+
+/**
+ * Signals when Nexo has (re)loaded its items.
+ * Kept separate so the Nexo event class is only loaded when Nexo is installed.
+ */
+public class NexoLoadListener implements Listener {
+
+    private final Runnable onLoaded;
+
+    public NexoLoadListener(Runnable onLoaded) {
+        this.onLoaded = onLoaded;
+    }
+
+    @EventHandler
+    public void onItemsLoaded(NexoItemsLoadedEvent event) {
+        onLoaded.run();
+    }
+}
@@ -27,6 +27,15 @@ public class NexoProvider implements ModelProvider {
         }
     }
 
+    @Override
+    public boolean isLoaded(String modelId) {
+        try {
+            return NexoItems.exists(modelId);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     @Override
     public boolean applyModel(ItemStack item, ToolType toolType, String modelId) {
         // Nexo can use either namespace:id format (e.g., "oaktools:file") or simple ID (e.g., "file")
@@ -0,0 +1,56 @@
+package dev.oakheart.oaktools.integration;
+
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Interface for protection providers (fake events, region plugins, custom checks).
+ * Providers answer whole footprints at once so multi-block features only pay one query.
+ */
+public interface ProtectionProvider {
+
+    /**
+     * Get the name of this provider.
+     *
+     * @return the provider name
+     */
+    String getName();
+
+    /**
+     * Check if this provider is available on the server.
+     *
+     * @return true if the provider can answer protection queries
+     */
+    boolean isAvailable();
+
+    /**
+     * Check which of the given blocks a player may modify.
+     * Bit {@code i} of the result corresponds to {@code blocks.get(i)}.
+     *
+     * @param player the player
+     * @param blocks the blocks to check
+     * @param hand the equipment slot used
+     * @param tool the tool item
+     * @return a bit set with a bit set for every block the player may modify
+     */
+    BitSet canModify(Player player, List<Block> blocks, EquipmentSlot hand, ItemStack tool);
+
+    /**
+     * Check if a player may modify a single block.
+     * Providers with a cheaper single-block path should override this.
+     *
+     * @param player the player
+     * @param block the block to check
+     * @param hand the equipment slot used
+     * @param tool the tool item
+     * @return true if the player may modify the block
+     */
+    default boolean canModify(Player player, Block block, EquipmentSlot hand, ItemStack tool) {
+        return canModify(player, List.of(block), hand, tool).get(0);
+    }
+}
@@ -3,23 +3,27 @@ package dev.oakheart.oaktools.items;
 import dev.oakheart.oaktools.OakTools;
 import dev.oakheart.oaktools.model.FeedSource;
 import dev.oakheart.oaktools.model.ToolType;
-import dev.oakheart.oaktools.util.Constants;
 import org.bukkit.Material;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Factory for creating OakTools tool items.
+ * One fully built prototype per tool type (material, PDC, model, name and lore) is kept and cloned,
+ * so giving a tool doesn't re-resolve the model or re-render MiniMessage.
  */
 public class ItemFactory {
 
     private final OakTools plugin;
 
+    // Full-durability prototypes, built on first use and dropped on reload
+    private final Map<ToolType, ItemStack> prototypes = new ConcurrentHashMap<>();
+
     public ItemFactory(OakTools plugin) {
         this.plugin = plugin;
     }
@@ -44,6 +48,30 @@ public class ItemFactory {
      * @return the created ItemStack
      */
     public ItemStack createTool(ToolType toolType, int currentDurability) {
+        ItemStack item = prototypes.computeIfAbsent(toolType, type -> buildTool(type, 0)).clone();
+        if (currentDurability == 0) {
+            return item;
+        }
+
+        plugin.getDurabilityService().setDamage(item, currentDurability);
+
+        // Name and lore may show durability
+        plugin.getDisplayService().setInitialDisplay(item, toolType);
+        return item;
+    }
+
+    /**
+     * Drop the cached prototypes so the next tool is built from current config and models.
+     * Called on reload and when a model provider reloads its items.
+     */
+    public void invalidatePrototypes() {
+        prototypes.clear();
+    }
+
+    /**
+     * Build a tool item from config.
+     */
+    private ItemStack buildTool(ToolType toolType, int currentDurability) {
         FileConfiguration config = plugin.getConfigManager().getConfig();
         String toolPath = "tools." + toolType.name().toLowerCase();
 
@@ -66,26 +94,16 @@ public class ItemFactory {
         // Get max durability from config
         int maxDurability = config.getInt(toolPath + ".durability.max", 250);
 
-        // Set PDC data
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        pdc.set(Constants.TOOL_TYPE, PersistentDataType.STRING, toolType.name());
-        pdc.set(Constants.DURABILITY, PersistentDataType.INTEGER, currentDurability);
-        pdc.set(Constants.MAX_DURABILITY, PersistentDataType.INTEGER, maxDurability);
-
-        // Set default feed source for Trowel
-        if (toolType == ToolType.TROWEL) {
-            pdc.set(Constants.FEED_SOURCE, PersistentDataType.STRING, FeedSource.HOTBAR.name());
-        }
-
-        // Apply vanilla durability bar (visual only)
-        if (config.getBoolean(toolPath + ".durability.use_vanilla_damage_bar", true) && meta instanceof Damageable damageable) {
-            int vanillaMaxDurability = baseMaterial.getMaxDurability();
-            int vanillaDamage = calculateVanillaDamage(currentDurability, maxDurability, vanillaMaxDurability);
-            damageable.setDamage(vanillaDamage);
-        }
+        // Set PDC data (default feed source for Trowel, current config version); durability is added below
+        FeedSource feedSource = toolType == ToolType.TROWEL ? FeedSource.HOTBAR : null;
+        int configVersion = plugin.getConfigManager().getToolConfigVersion(toolType);
+        new ToolState(toolType, 0, 0, feedSource, null, configVersion).write(meta.getPersistentDataContainer());
 
         item.setItemMeta(meta);
 
+        // Set durability in the configured storage (PDC with vanilla bar, or damage components)
+        plugin.getDurabilityService().setDurability(item, currentDurability, maxDurability);
+
         // Apply model
         plugin.getModelProviderManager().applyModel(item, toolType);
 
@@ -112,7 +130,7 @@ public class ItemFactory {
             return false;
         }
 
-        return meta.getPersistentDataContainer().has(Constants.TOOL_TYPE, PersistentDataType.STRING);
+        return ToolState.isPresent(meta.getPersistentDataContainer());
     }
 
     /**
@@ -122,60 +140,26 @@ public class ItemFactory {
      * @return the tool type, or null if not a tool
      */
     public ToolType getToolType(ItemStack item) {
-        if (!isTool(item)) {
-            return null;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return null;
-        }
-
-        String typeString = meta.getPersistentDataContainer().get(Constants.TOOL_TYPE, PersistentDataType.STRING);
-        return ToolType.fromString(typeString);
+        ToolState state = getState(item);
+        return state != null ? state.toolType() : null;
     }
 
     /**
-     * Calculate vanilla damage value for durability bar display.
-     * Maps custom durability to the base item's vanilla max durability.
+     * Get the stored state of a tool.
      *
-     * @param currentDamage current damage value
-     * @param maxDurability maximum custom durability
-     * @param vanillaMaxDurability the base item's vanilla max durability
-     * @return the vanilla damage value
-     */
-    private int calculateVanillaDamage(int currentDamage, int maxDurability, int vanillaMaxDurability) {
-        if (maxDurability <= 0 || vanillaMaxDurability <= 0) {
-            return 0;
-        }
-        double ratio = (double) currentDamage / maxDurability;
-        return (int) Math.round(ratio * vanillaMaxDurability);
-    }
-
-    /**
-     * Update the vanilla durability bar to match custom durability.
-     *
-     * @param item the item to update
+     * @param item the item to check
+     * @return the tool state, or null if not a tool
      */
-    public void syncVanillaDurability(ItemStack item) {
-        if (!isTool(item)) {
-            return;
+    public ToolState getState(ItemStack item) {
+        if (item == null) {
+            return null;
         }
 
         ItemMeta meta = item.getItemMeta();
-        if (!(meta instanceof Damageable damageable)) {
-            return;
+        if (meta == null) {
+            return null;
         }
 
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        Integer currentDamage = pdc.get(Constants.DURABILITY, PersistentDataType.INTEGER);
-        Integer maxDurability = pdc.get(Constants.MAX_DURABILITY, PersistentDataType.INTEGER);
-
-        if (currentDamage != null && maxDurability != null) {
-            int vanillaMaxDurability = item.getType().getMaxDurability();
-            int vanillaDamage = calculateVanillaDamage(currentDamage, maxDurability, vanillaMaxDurability);
-            damageable.setDamage(vanillaDamage);
-            item.setItemMeta(meta);
-        }
+        return ToolState.read(meta.getPersistentDataContainer());
     }
 }
@@ -0,0 +1,127 @@
+package dev.oakheart.oaktools.items;
+
+import dev.oakheart.oaktools.model.FeedSource;
+import dev.oakheart.oaktools.model.ToolType;
+import dev.oakheart.oaktools.util.Constants;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.UUID;
+
+/**
+ * Everything OakTools stores on a tool, kept in a single compact PDC entry (see {@link ToolStateType}).
+ * Tools made before the compact record carry one PDC key per field; they are read from those keys and
+ * converted the first time their state is written.
+ *
+ * @param toolType the tool type
+ * @param damage the current damage (0 = full durability)
+ * @param maxDurability the maximum durability, or 0 if durability is kept in the item's damage components
+ * @param feedSource the Trowel feed source, or null for tools without one
+ * @param id the tool's registry ID, or null if it hasn't been used since the registry was enabled
+ * @param configVersion the tool settings the tool was last built or migrated with, or 0 if never stamped
+ */
+public record ToolState(ToolType toolType, int damage, int maxDurability, FeedSource feedSource, UUID id,
+                        int configVersion) {
+
+    /**
+     * Check if this state holds the tool's durability.
+     *
+     * @return false if durability is kept in the item's damage components
+     */
+    public boolean hasDurability() {
+        return maxDurability > 0;
+    }
+
+    public ToolState withDurability(int damage, int maxDurability) {
+        return new ToolState(toolType, damage, maxDurability, feedSource, id, configVersion);
+    }
+
+    public ToolState withoutDurability() {
+        return new ToolState(toolType, 0, 0, feedSource, id, configVersion);
+    }
+
+    public ToolState withFeedSource(FeedSource feedSource) {
+        return new ToolState(toolType, damage, maxDurability, feedSource, id, configVersion);
+    }
+
+    public ToolState withId(UUID id) {
+        return new ToolState(toolType, damage, maxDurability, feedSource, id, configVersion);
+    }
+
+    public ToolState withConfigVersion(int configVersion) {
+        return new ToolState(toolType, damage, maxDurability, feedSource, id, configVersion);
+    }
+
+    /**
+     * Check if a container holds tool state in either format.
+     *
+     * @param pdc the item's persistent data container
+     * @return true if the item is an OakTools tool
+     */
+    public static boolean isPresent(PersistentDataContainer pdc) {
+        return pdc.has(Constants.TOOL_STATE, PersistentDataType.BYTE_ARRAY)
+                || pdc.has(Constants.TOOL_TYPE, PersistentDataType.STRING);
+    }
+
+    /**
+     * Check if a container already uses the compact record.
+     *
+     * @param pdc the item's persistent data container
+     * @return false if the tool still uses the per-field keys (or isn't a tool)
+     */
+    public static boolean isCompact(PersistentDataContainer pdc) {
+        return pdc.has(Constants.TOOL_STATE, PersistentDataType.BYTE_ARRAY);
+    }
+
+    /**
+     * Read tool state from a container.
+     *
+     * @param pdc the item's persistent data container
+     * @return the state, or null if the item is not a tool
+     */
+    public static ToolState read(PersistentDataContainer pdc) {
+        try {
+            ToolState state = pdc.get(Constants.TOOL_STATE, ToolStateType.INSTANCE);
+            if (state != null) {
+                return state;
+            }
+        } catch (IllegalArgumentException e) {
+            // Unreadable record - fall back to the per-field keys if the tool still has them
+        }
+        return readLegacy(pdc);
+    }
+
+    /**
+     * Write this state to a container, removing the per-field keys it replaces.
+     * The caller applies the meta to the item.
+     *
+     * @param pdc the item's persistent data container
+     */
+    public void write(PersistentDataContainer pdc) {
+        pdc.set(Constants.TOOL_STATE, ToolStateType.INSTANCE, this);
+        pdc.remove(Constants.TOOL_TYPE);
+        pdc.remove(Constants.DURABILITY);
+        pdc.remove(Constants.MAX_DURABILITY);
+        pdc.remove(Constants.FEED_SOURCE);
+    }
+
+    private static ToolState readLegacy(PersistentDataContainer pdc) {
+        String toolType = pdc.get(Constants.TOOL_TYPE, PersistentDataType.STRING);
+        if (toolType == null) {
+            return null;
+        }
+
+        Integer damage = pdc.get(Constants.DURABILITY, PersistentDataType.INTEGER);
+        Integer maxDurability = pdc.get(Constants.MAX_DURABILITY, PersistentDataType.INTEGER);
+        String feedSource = pdc.get(Constants.FEED_SOURCE, PersistentDataType.STRING);
+
+        // Durability may already have moved to the damage components
+        boolean hasDurability = damage != null && maxDurability != null;
+        return new ToolState(ToolType.fromString(toolType),
+                hasDurability ? damage : 0,
+                hasDurability ? maxDurability : 0,
+                feedSource != null ? FeedSource.fromString(feedSource) : null,
+                null,
+                0);
+    }
+}
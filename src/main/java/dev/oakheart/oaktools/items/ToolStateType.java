@@ -0,0 +1,186 @@
+package dev.oakheart.oaktools.items;
+
+import dev.oakheart.oaktools.model.FeedSource;
+import dev.oakheart.oaktools.model.ToolType;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Stores a {@link ToolState} as a compact byte array.
+ *
+ * <p>Layout (version 1): version byte, tool type ordinal, flags byte, then varint damage and max durability
+ * if {@link #FLAG_DURABILITY} is set, then the feed source ordinal if {@link #FLAG_FEED_SOURCE} is set.
+ * Version 2 appends the 16-byte tool ID if {@link #FLAG_ID} is set, and version 3 the 4-byte config version if
+ * {@link #FLAG_CONFIG_VERSION} is set. Later versions only append fields, so a record from a newer version is read
+ * for the fields this version knows. Enum ordinals are part of the format: new ToolType and FeedSource constants must be added last.</p>
+ */
+public final class ToolStateType implements PersistentDataType<byte[], ToolState> {
+
+    public static final ToolStateType INSTANCE = new ToolStateType();
+
+    static final int VERSION = 3;
+
+    private static final int FLAG_DURABILITY = 1;
+    private static final int FLAG_FEED_SOURCE = 1 << 1;
+    private static final int FLAG_ID = 1 << 2;
+    private static final int FLAG_CONFIG_VERSION = 1 << 3;
+
+    // version + type + flags + two varints + feed source + id + config version
+    private static final int MAX_SIZE = 3 + 5 + 5 + 1 + 16 + 4;
+
+    private static final ToolType[] TOOL_TYPES = ToolType.values();
+    private static final FeedSource[] FEED_SOURCES = FeedSource.values();
+
+    private ToolStateType() {
+    }
+
+    @Override
+    public Class<byte[]> getPrimitiveType() {
+        return byte[].class;
+    }
+
+    @Override
+    public Class<ToolState> getComplexType() {
+        return ToolState.class;
+    }
+
+    @Override
+    public byte[] toPrimitive(ToolState state, PersistentDataAdapterContext context) {
+        byte[] buffer = new byte[MAX_SIZE];
+        int flags = (state.hasDurability() ? FLAG_DURABILITY : 0)
+                | (state.feedSource() != null ? FLAG_FEED_SOURCE : 0)
+                | (state.id() != null ? FLAG_ID : 0)
+                | (state.configVersion() != 0 ? FLAG_CONFIG_VERSION : 0);
+
+        buffer[0] = VERSION;
+        buffer[1] = (byte) state.toolType().ordinal();
+        buffer[2] = (byte) flags;
+        int length = 3;
+
+        if (state.hasDurability()) {
+            length = writeVarInt(buffer, length, state.damage());
+            length = writeVarInt(buffer, length, state.maxDurability());
+        }
+        if (state.feedSource() != null) {
+            buffer[length++] = (byte) state.feedSource().ordinal();
+        }
+        if (state.id() != null) {
+            length = writeLong(buffer, length, state.id().getMostSignificantBits());
+            length = writeLong(buffer, length, state.id().getLeastSignificantBits());
+        }
+        if (state.configVersion() != 0) {
+            length = writeInt(buffer, length, state.configVersion());
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    @Override
+    public ToolState fromPrimitive(byte[] bytes, PersistentDataAdapterContext context) {
+        if (bytes.length < 3 || bytes[0] < 1) {
+            throw new IllegalArgumentException("Invalid tool state record");
+        }
+
+        ToolType toolType = element(TOOL_TYPES, bytes[1]);
+        int flags = bytes[2];
+        int[] position = {3};
+
+        int damage = 0;
+        int maxDurability = 0;
+        if ((flags & FLAG_DURABILITY) != 0) {
+            damage = readVarInt(bytes, position);
+            maxDurability = readVarInt(bytes, position);
+        }
+
+        FeedSource feedSource = null;
+        if ((flags & FLAG_FEED_SOURCE) != 0) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated tool state record");
+            }
+            feedSource = element(FEED_SOURCES, bytes[position[0]++]);
+        }
+
+        UUID id = null;
+        if ((flags & FLAG_ID) != 0) {
+            if (position[0] + 16 > bytes.length) {
+                throw new IllegalArgumentException("Truncated tool state record");
+            }
+            id = new UUID(readLong(bytes, position[0]), readLong(bytes, position[0] + 8));
+            position[0] += 16;
+        }
+
+        int configVersion = 0;
+        if ((flags & FLAG_CONFIG_VERSION) != 0) {
+            if (position[0] + 4 > bytes.length) {
+                throw new IllegalArgumentException("Truncated tool state record");
+            }
+            configVersion = readInt(bytes, position[0]);
+        }
+
+        return new ToolState(toolType, damage, maxDurability, feedSource, id, configVersion);
+    }
+
+    private static <T> T element(T[] values, byte ordinal) {
+        int index = ordinal & 0xFF;
+        if (index >= values.length) {
+            throw new IllegalArgumentException("Unknown ordinal " + index + " in tool state record");
+        }
+        return values[index];
+    }
+
+    private static int writeVarInt(byte[] buffer, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    private static int writeLong(byte[] buffer, int offset, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[offset++] = (byte) (value >>> shift);
+        }
+        return offset;
+    }
+
+    private static int writeInt(byte[] buffer, int offset, int value) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[offset++] = (byte) (value >>> shift);
+        }
+        return offset;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int readVarInt(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated tool state record");
+            }
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in tool state record");
+    }
+}
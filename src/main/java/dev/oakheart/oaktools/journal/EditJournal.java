@@ -0,0 +1,676 @@
+package dev.oakheart.oaktools.journal;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.stats.jfr.FlushEvent;
+import dev.oakheart.oaktools.util.PositionUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Built-in append-only journal of File and Trowel edits for servers without CoreProtect.
+ *
+ * Records are fixed-width (40 bytes) and written by a single background thread into rotating
+ * segment files. Block states and worlds are stored as ids into append-only palette files.
+ * An in-memory per-chunk index keeps "what changed here?" lookups fast.
+ * The main thread only interns states and offers a record to a bounded queue - it never blocks.
+ */
+public class EditJournal {
+
+    // Segment file layout
+    private static final int MAGIC = 0x4F544A31; // "OTJ1"
+    private static final short VERSION = 2; // 1 stored server ticks instead of seconds in each record
+    private static final short TICK_VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int RECORD_SIZE = 40;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".otj";
+    private static final String STATES_FILE = "states.txt";
+    private static final String WORLDS_FILE = "worlds.txt";
+
+    /**
+     * A record waiting to be written (state ids are runtime palette ids).
+     */
+    private record PendingRecord(UUID world, long position, long millis, UUID player, int oldState, int newState) {
+    }
+
+    /**
+     * Metadata for one segment file.
+     * Records store their time in seconds after {@code createdMillis} (ticks after {@code startTick} in version 1).
+     */
+    private record Segment(int number, Path path, short version, long createdMillis, int startTick) {
+    }
+
+    /**
+     * Growable list of record references for one chunk.
+     * A reference packs the segment number (high 32 bits) and record index (low 32 bits).
+     */
+    private static final class RefList {
+        private long[] refs = new long[4];
+        private int size;
+
+        void add(long ref) {
+            if (size == refs.length) {
+                refs = Arrays.copyOf(refs, size * 2);
+            }
+            refs[size++] = ref;
+        }
+    }
+
+    private final OakTools plugin;
+    private final AtomicLong writtenRecords = new AtomicLong();
+    private final AtomicLong droppedRecords = new AtomicLong();
+
+    private volatile boolean enabled;
+    private BlockingQueue<PendingRecord> queue;
+    private ScheduledExecutorService writer;
+
+    // Everything below is only touched by the writer thread
+    private Path directory;
+    private long maxSegmentBytes;
+    private int maxSegments;
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final Map<Long, RefList> chunkIndex = new HashMap<>();
+    private final Map<String, Integer> stateIds = new HashMap<>();
+    private final List<String> states = new ArrayList<>();
+    private final Map<UUID, Integer> worldIds = new HashMap<>();
+    private int[] runtimeToPersistent = new int[0];
+    private BufferedWriter statesWriter;
+    private BufferedWriter worldsWriter;
+    private boolean palettePending; // Palette entries not yet flushed to their files
+    private Segment activeSegment;
+    private FileChannel activeChannel;
+    private long activeRecords;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * 1024);
+
+    public EditJournal(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Initialize the journal if enabled in config.
+     * Opening files and rebuilding the index happen on the writer thread.
+     */
+    public void initialize() {
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+        if (!config.getBoolean("journal.enabled", false)) {
+            plugin.getLogger().info("Edit journal is disabled in config");
+            return;
+        }
+
+        this.directory = new File(plugin.getDataFolder(), "journal").toPath();
+        this.maxSegmentBytes = Math.max(1, config.getLong("journal.segment_size_mb", 8)) * 1024L * 1024L;
+        this.maxSegments = Math.max(1, config.getInt("journal.max_segments", 8));
+        this.queue = new ArrayBlockingQueue<>(Math.max(64, config.getInt("journal.queue_capacity", 8192)));
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "OakTools-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        writer.execute(this::open);
+        long flushInterval = Math.max(10, config.getLong("journal.flush_interval_ms", 250));
+        writer.scheduleWithFixedDelay(this::flushQueue, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+
+        this.enabled = true;
+        plugin.getLogger().info("Edit journal enabled (" + directory + ")");
+    }
+
+    /**
+     * Flush all pending records and close the journal files.
+     * Called on plugin disable.
+     */
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        enabled = false;
+
+        writer.execute(() -> {
+            flushQueue();
+            closeFiles();
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Edit journal did not finish writing within 5 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Record a File tool edit.
+     *
+     * @param player the player
+     * @param block the edited block
+     * @param oldData the block data before the edit
+     * @param newData the block data after the edit
+     */
+    public void logFileEdit(Player player, Block block, BlockData oldData, BlockData newData) {
+        record(player, block, oldData, newData);
+    }
+
+    /**
+     * Record a Trowel placement.
+     *
+     * @param player the player
+     * @param block the block placed at
+     * @param previousData the block data that was replaced (air, water, grass, etc.)
+     * @param placedData the placed block data
+     */
+    public void logTrowelPlacement(Player player, Block block, BlockData previousData, BlockData placedData) {
+        record(player, block, previousData, placedData);
+    }
+
+    /**
+     * Queue a record for the writer thread. Drops the record if the queue is full.
+     */
+    private void record(Player player, Block block, BlockData oldData, BlockData newData) {
+        if (!enabled) {
+            return;
+        }
+
+        PendingRecord record = new PendingRecord(
+                block.getWorld().getUID(),
+                PositionUtil.pack(block.getX(), block.getY(), block.getZ()),
+                System.currentTimeMillis(),
+                player.getUniqueId(),
+                plugin.getBlockStatePalette().idOf(oldData),
+                plugin.getBlockStatePalette().idOf(newData)
+        );
+
+        if (!queue.offer(record)) {
+            droppedRecords.incrementAndGet();
+        }
+    }
+
+    /**
+     * Look up the most recent edits at a block position.
+     * Runs on the writer thread; the future completes off the main thread.
+     *
+     * @param world the world
+     * @param x the block X coordinate
+     * @param y the block Y coordinate
+     * @param z the block Z coordinate
+     * @param limit the maximum number of entries to return
+     * @return a future with the entries, newest first
+     */
+    public CompletableFuture<List<JournalEntry>> lookup(World world, int x, int y, int z, int limit) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        UUID worldUid = world.getUID();
+        return CompletableFuture.supplyAsync(() -> {
+            // Make sure everything recorded so far is visible to the lookup
+            flushQueue();
+            return readEntries(worldUid, x, y, z, limit);
+        }, writer);
+    }
+
+    /**
+     * Check if the journal is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the number of records waiting to be written.
+     *
+     * @return the current queue depth
+     */
+    public int getQueueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Get the number of records written since startup.
+     *
+     * @return the written record count
+     */
+    public long getWrittenCount() {
+        return writtenRecords.get();
+    }
+
+    /**
+     * Get the number of records dropped because the queue was full.
+     *
+     * @return the dropped record count
+     */
+    public long getDroppedCount() {
+        return droppedRecords.get();
+    }
+
+    // ------------------------------------------------------------------
+    // Writer thread
+    // ------------------------------------------------------------------
+
+    /**
+     * Load palettes, index existing segments and reopen the newest one for appending.
+     */
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+
+            loadPalette(directory.resolve(STATES_FILE), states, stateIds);
+            List<String> worlds = new ArrayList<>();
+            loadPalette(directory.resolve(WORLDS_FILE), worlds, new HashMap<>());
+            for (int i = 0; i < worlds.size(); i++) {
+                worldIds.put(UUID.fromString(worlds.get(i)), i);
+            }
+
+            statesWriter = Files.newBufferedWriter(directory.resolve(STATES_FILE), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            worldsWriter = Files.newBufferedWriter(directory.resolve(WORLDS_FILE), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+            // Index existing segments
+            try (var files = Files.list(directory)) {
+                files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                        .forEach(this::indexSegment);
+            }
+
+            // Keep appending to the newest segment across restarts, so restarts without edits never
+            // create segments that push real history out of retention
+            Segment last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+            if (last != null && last.version() == VERSION) {
+                reopen(last);
+            } else {
+                rotate();
+            }
+
+            plugin.getLogger().info("Edit journal loaded " + segments.size() + " segment(s), " +
+                    states.size() + " block states");
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to open edit journal - journaling disabled", e);
+            enabled = false;
+        }
+    }
+
+    /**
+     * Load an append-only palette file (one value per line, line number = id).
+     */
+    private void loadPalette(Path path, List<String> values, Map<String, Integer> ids) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            ids.put(line, values.size());
+            values.add(line);
+        }
+    }
+
+    /**
+     * Read a segment's header and add all of its records to the chunk index.
+     */
+    private void indexSegment(Path path) {
+        String name = path.getFileName().toString();
+        int number;
+        try {
+            number = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            return; // Not one of ours
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.read(header, 0) < HEADER_SIZE) {
+                return;
+            }
+            header.flip();
+            int magic = header.getInt();
+            short version = header.getShort();
+            if (magic != MAGIC || (version != VERSION && version != TICK_VERSION) || header.getShort() != RECORD_SIZE) {
+                plugin.getLogger().warning("Skipping unrecognised journal segment: " + name);
+                return;
+            }
+            long createdMillis = header.getLong();
+            int startTick = header.getInt();
+            segments.put(number, new Segment(number, path, version, createdMillis, startTick));
+
+            // Only complete records count (a crash may leave a partial one at the end)
+            long recordCount = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+            ByteBuffer records = ByteBuffer.allocate(RECORD_SIZE * 1024);
+            long position = HEADER_SIZE;
+            long index = 0;
+            while (index < recordCount) {
+                records.clear();
+                int toRead = (int) Math.min(records.capacity() / RECORD_SIZE, recordCount - index) * RECORD_SIZE;
+                records.limit(toRead);
+                while (records.hasRemaining()) {
+                    if (channel.read(records, position + records.position()) < 0) {
+                        break;
+                    }
+                }
+                records.flip();
+                while (records.remaining() >= RECORD_SIZE) {
+                    int worldId = records.getInt();
+                    long packed = records.getLong();
+                    records.position(records.position() + RECORD_SIZE - 12);
+                    addToIndex(worldId, packed, number, index++);
+                }
+                position += toRead;
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to index journal segment " + name + ": " + e.getMessage());
+        }
+    }
+
+    private void addToIndex(int worldId, long packed, int segment, long index) {
+        long key = PositionUtil.chunkKey(worldId, PositionUtil.unpackX(packed), PositionUtil.unpackZ(packed));
+        chunkIndex.computeIfAbsent(key, k -> new RefList()).add(((long) segment << 32) | index);
+    }
+
+    /**
+     * Drain the queue into the write buffer and flush it to the active segment.
+     */
+    private void flushQueue() {
+        if (activeChannel == null) {
+            return;
+        }
+
+        FlushEvent jfr = new FlushEvent();
+        jfr.start();
+        int flushed = 0;
+
+        try {
+            PendingRecord record;
+            while ((record = queue.poll()) != null) {
+                if (activeRecords * RECORD_SIZE + HEADER_SIZE + RECORD_SIZE > maxSegmentBytes) {
+                    writeBuffer();
+                    rotate();
+                }
+
+                int worldId = persistentWorldId(record.world());
+                int oldState = persistentStateId(record.oldState());
+                int newState = persistentStateId(record.newState());
+
+                if (buffer.remaining() < RECORD_SIZE) {
+                    writeBuffer();
+                }
+                buffer.putInt(worldId);
+                buffer.putLong(record.position());
+                // Wall-clock seconds, so history times stay right when the server lags
+                buffer.putInt((int) ((record.millis() - activeSegment.createdMillis()) / 1000L));
+                buffer.putLong(record.player().getMostSignificantBits());
+                buffer.putLong(record.player().getLeastSignificantBits());
+                buffer.putInt(oldState);
+                buffer.putInt(newState);
+
+                addToIndex(worldId, record.position(), activeSegment.number(), activeRecords++);
+                writtenRecords.incrementAndGet();
+                flushed++;
+            }
+
+            writeBuffer();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to write edit journal: " + e.getMessage());
+        }
+
+        if (flushed > 0) {
+            jfr.target = "journal";
+            jfr.records = flushed;
+            jfr.finish();
+        }
+    }
+
+    /**
+     * Write buffered records to the active segment. New palette entries are flushed first,
+     * so a crash never leaves a record pointing at a state or world the palette files don't have.
+     */
+    private void writeBuffer() throws IOException {
+        if (palettePending) {
+            statesWriter.flush();
+            worldsWriter.flush();
+            palettePending = false;
+        }
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            activeChannel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Make an existing segment the active one, appending after its last complete record.
+     * A full segment is rotated by the next flush.
+     */
+    private void reopen(Segment segment) throws IOException {
+        activeChannel = FileChannel.open(segment.path(), StandardOpenOption.WRITE);
+        activeRecords = (activeChannel.size() - HEADER_SIZE) / RECORD_SIZE;
+
+        // Drop a partial record left by a crash
+        long end = HEADER_SIZE + activeRecords * RECORD_SIZE;
+        activeChannel.truncate(end);
+        activeChannel.position(end);
+        activeSegment = segment;
+    }
+
+    /**
+     * Close the active segment, start a new one and delete segments beyond the retention limit.
+     */
+    private void rotate() throws IOException {
+        if (activeChannel != null) {
+            activeChannel.close();
+        }
+
+        int number = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Path path = directory.resolve(SEGMENT_PREFIX + String.format("%06d", number) + SEGMENT_SUFFIX);
+        long createdMillis = System.currentTimeMillis();
+        int startTick = Bukkit.getCurrentTick();
+
+        activeChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE)
+                .putLong(createdMillis).putInt(startTick).putInt(0);
+        header.flip();
+        while (header.hasRemaining()) {
+            activeChannel.write(header);
+        }
+
+        activeSegment = new Segment(number, path, VERSION, createdMillis, startTick);
+        activeRecords = 0;
+        segments.put(number, activeSegment);
+
+        // Enforce retention
+        boolean removed = false;
+        while (segments.size() > maxSegments) {
+            Segment oldest = segments.pollFirstEntry().getValue();
+            Files.deleteIfExists(oldest.path());
+            removed = true;
+        }
+        if (removed) {
+            pruneIndex(segments.firstKey());
+        }
+    }
+
+    /**
+     * Remove index references to segments older than the given segment number.
+     */
+    private void pruneIndex(int firstSegment) {
+        var iterator = chunkIndex.values().iterator();
+        while (iterator.hasNext()) {
+            RefList list = iterator.next();
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                if ((int) (list.refs[i] >>> 32) >= firstSegment) {
+                    list.refs[kept++] = list.refs[i];
+                }
+            }
+            list.size = kept;
+            if (kept == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private int persistentWorldId(UUID world) throws IOException {
+        Integer id = worldIds.get(world);
+        if (id == null) {
+            id = worldIds.size();
+            worldIds.put(world, id);
+            worldsWriter.write(world.toString());
+            worldsWriter.newLine();
+            palettePending = true;
+        }
+        return id;
+    }
+
+    private int persistentStateId(int runtimeId) throws IOException {
+        if (runtimeId >= runtimeToPersistent.length) {
+            int oldLength = runtimeToPersistent.length;
+            runtimeToPersistent = Arrays.copyOf(runtimeToPersistent, Math.max(runtimeId + 1, oldLength * 2));
+            Arrays.fill(runtimeToPersistent, oldLength, runtimeToPersistent.length, -1);
+        }
+
+        int id = runtimeToPersistent[runtimeId];
+        if (id >= 0) {
+            return id;
+        }
+
+        String state = plugin.getBlockStatePalette().get(runtimeId).getAsString();
+        Integer existing = stateIds.get(state);
+        if (existing == null) {
+            existing = states.size();
+            states.add(state);
+            stateIds.put(state, existing);
+            statesWriter.write(state);
+            statesWriter.newLine();
+            palettePending = true;
+        }
+        runtimeToPersistent[runtimeId] = existing;
+        return existing;
+    }
+
+    /**
+     * Read the newest entries at a position using the chunk index.
+     */
+    private List<JournalEntry> readEntries(UUID worldUid, int x, int y, int z, int limit) {
+        List<JournalEntry> entries = new ArrayList<>();
+        Integer worldId = worldIds.get(worldUid);
+        if (worldId == null) {
+            return entries;
+        }
+
+        RefList refs = chunkIndex.get(PositionUtil.chunkKey(worldId, x, z));
+        if (refs == null) {
+            return entries;
+        }
+
+        long target = PositionUtil.pack(x, y, z);
+        Map<Integer, FileChannel> channels = new HashMap<>();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+        try {
+            // References are appended in write order, so walk backwards for newest first
+            for (int i = refs.size - 1; i >= 0 && entries.size() < limit; i--) {
+                int segmentNumber = (int) (refs.refs[i] >>> 32);
+                long index = refs.refs[i] & 0xFFFFFFFFL;
+                Segment segment = segments.get(segmentNumber);
+                if (segment == null) {
+                    continue;
+                }
+
+                FileChannel channel = channels.get(segmentNumber);
+                if (channel == null) {
+                    channel = FileChannel.open(segment.path(), StandardOpenOption.READ);
+                    channels.put(segmentNumber, channel);
+                }
+
+                record.clear();
+                channel.read(record, HEADER_SIZE + index * RECORD_SIZE);
+                record.flip();
+                if (record.remaining() < RECORD_SIZE) {
+                    continue;
+                }
+
+                int recordWorld = record.getInt();
+                long packed = record.getLong();
+                if (recordWorld != worldId || packed != target) {
+                    continue;
+                }
+
+                int time = record.getInt();
+                UUID player = new UUID(record.getLong(), record.getLong());
+                int oldState = record.getInt();
+                int newState = record.getInt();
+                long timestamp = segment.version() == TICK_VERSION
+                        ? segment.createdMillis() + (long) (time - segment.startTick()) * 50L
+                        : segment.createdMillis() + time * 1000L;
+
+                entries.add(new JournalEntry(player, x, y, z, stateName(oldState), stateName(newState), timestamp));
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to read edit journal: " + e.getMessage());
+        } finally {
+            for (FileChannel channel : channels.values()) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Read-only channel, nothing to lose
+                }
+            }
+        }
+
+        return entries;
+    }
+
+    private String stateName(int id) {
+        return id >= 0 && id < states.size() ? states.get(id) : "unknown";
+    }
+
+    private void closeFiles() {
+        try {
+            if (activeChannel != null) {
+                activeChannel.force(false);
+                activeChannel.close();
+                activeChannel = null;
+            }
+            if (statesWriter != null) {
+                statesWriter.close();
+            }
+            if (worldsWriter != null) {
+                worldsWriter.close();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to close edit journal: " + e.getMessage());
+        }
+    }
+}
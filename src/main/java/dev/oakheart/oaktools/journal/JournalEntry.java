@@ -0,0 +1,18 @@
+package dev.oakheart.oaktools.journal;
+
+import java.util.UUID;
+
+/**
+ * A single recorded tool edit, as returned by journal lookups.
+ *
+ * @param playerId the player who made the edit
+ * @param x the block X coordinate
+ * @param y the block Y coordinate
+ * @param z the block Z coordinate
+ * @param oldState the block state before the edit (BlockData string)
+ * @param newState the block state after the edit (BlockData string)
+ * @param timestamp the wall-clock time of the edit to the second (epoch millis)
+ */
+public record JournalEntry(UUID playerId, int x, int y, int z,
+                           String oldState, String newState, long timestamp) {
+}
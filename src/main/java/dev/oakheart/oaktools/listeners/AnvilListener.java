@@ -1,8 +1,10 @@
 package dev.oakheart.oaktools.listeners;
 
 import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.core.DurabilityMath;
 import dev.oakheart.oaktools.model.ToolType;
-import dev.oakheart.oaktools.util.Constants;
+import dev.oakheart.oaktools.services.TickBudgetWatchdog;
+import dev.oakheart.oaktools.stats.ToolStats;
 import org.bukkit.Material;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.enchantments.Enchantment;
@@ -10,24 +12,50 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.PrepareAnvilEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.AnvilInventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles anvil repair and combining for OakTools tools.
  */
 public class AnvilListener implements Listener {
 
+    /**
+     * Copies of both anvil inputs; matching inputs produce the same result.
+     * Tools are compared in full (ID, feed source, config version, model, durability, enchantments and name),
+     * so a different tool never gets another tool's cached result. The config generation is included so a
+     * reload that changes repair costs or allowed enchantments isn't served a result from the old settings.
+     */
+    private record InputFingerprint(ItemStack first, ItemStack second, int configGeneration) {
+
+        boolean matches(ItemStack first, ItemStack second, int configGeneration) {
+            return this.configGeneration == configGeneration
+                    && this.first.isSimilar(first)
+                    && this.second.isSimilar(second)
+                    && this.second.getAmount() == second.getAmount();
+        }
+    }
+
+    /**
+     * Last result computed for a player's anvil view.
+     *
+     * @param repairCost the level cost to set, or -1 to leave it to vanilla
+     */
+    private record CachedResult(InputFingerprint fingerprint, ItemStack result, int repairCost) {
+    }
+
     private final OakTools plugin;
+    // Last computed result per viewing player, cleared when the anvil is closed
+    private final Map<UUID, CachedResult> resultCache = new ConcurrentHashMap<>();
 
     public AnvilListener(OakTools plugin) {
         this.plugin = plugin;
@@ -37,7 +65,8 @@ public class AnvilListener implements Listener {
      * Check if debug logging is enabled in config.
      */
     private boolean isDebugEnabled() {
-        return plugin.getConfigManager().getConfig().getBoolean("general.debug", false);
+        return plugin.getConfigManager().getConfig().getBoolean("general.debug", false)
+                && !plugin.getTickBudgetWatchdog().isShedding(TickBudgetWatchdog.Level.REDUCED);
     }
 
     /**
@@ -68,15 +97,8 @@ public class AnvilListener implements Listener {
         // Check for any disallowed enchantments
         Map<Enchantment, Integer> enchants = meta.getEnchants();
         if (!enchants.isEmpty()) {
-            // Get allowed enchantments
-            String toolPath = "tools." + toolType.name().toLowerCase();
-            List<String> allowedEnchantNames = plugin.getConfigManager().getConfig()
-                    .getStringList(toolPath + ".allowed_enchantments");
-
-            Set<Enchantment> allowedEnchants = allowedEnchantNames.stream()
-                    .map(Enchantment::getByName)
-                    .filter(enchant -> enchant != null)
-                    .collect(Collectors.toSet());
+            // Get allowed enchantments (resolved once per config load)
+            Set<Enchantment> allowedEnchants = plugin.getConfigManager().getAllowedEnchantments(toolType);
 
             for (Enchantment enchant : enchants.keySet()) {
                 if (!allowedEnchants.contains(enchant)) {
@@ -122,30 +144,87 @@ public class AnvilListener implements Listener {
             return;
         }
 
+        boolean materialRepair = second.getType() == repairMaterial;
+        boolean toolCombine = !materialRepair && plugin.getItemFactory().isTool(second) &&
+                plugin.getItemFactory().getToolType(second) == toolType;
+
+        // Case 3: Enchanted books
+        // Let vanilla handle book application, onAnvilResultFilter will block disallowed enchantments
+        if (!materialRepair && !toolCombine) {
+            return;
+        }
+
+        // Prepare fires repeatedly for the same inputs while items are moved around - reuse the last result
+        UUID viewer = event.getView().getPlayer().getUniqueId();
+        int configGeneration = plugin.getConfigManager().getGeneration();
+        CachedResult cached = resultCache.get(viewer);
+        boolean hit = cached != null && cached.fingerprint().matches(first, second, configGeneration);
+        plugin.getToolStats().recordCacheLookup(ToolStats.Cache.ANVIL_RESULT, hit);
+        if (hit) {
+            applyResult(event, cached);
+            return;
+        }
+
+        InputFingerprint fingerprint = new InputFingerprint(first.clone(), second.clone(), configGeneration);
+        CachedResult computed;
+
         // Case 1: Repair with material
-        if (second.getType() == repairMaterial) {
+        if (materialRepair) {
             if (isDebugEnabled()) {
                 plugin.getLogger().info("[Anvil Debug] Repairing " + toolType + " with " + repairMaterial);
             }
-            handleMaterialRepair(event, first, second, toolType);
+            computed = handleMaterialRepair(fingerprint, first, second, toolType);
         }
         // Case 2: Combine two tools
-        else if (plugin.getItemFactory().isTool(second) &&
-                 plugin.getItemFactory().getToolType(second) == toolType) {
+        else {
             if (isDebugEnabled()) {
                 plugin.getLogger().info("[Anvil Debug] Combining two " + toolType + " tools");
             }
-            handleToolCombine(event, first, second, toolType);
+            computed = handleToolCombine(fingerprint, first, second, toolType);
+        }
+
+        if (computed != null) {
+            resultCache.put(viewer, computed);
+            applyResult(event, computed);
+        }
+    }
+
+    /**
+     * Set a computed result on the anvil.
+     */
+    private void applyResult(PrepareAnvilEvent event, CachedResult cached) {
+        // Clone so later handlers can't modify the cached copy
+        event.setResult(cached.result().clone());
+
+        if (cached.repairCost() >= 0) {
+            event.getInventory().setRepairCost(cached.repairCost());
         }
-        // Case 3: Enchanted books
-        // Let vanilla handle book application, onAnvilResultFilter will block disallowed enchantments
+    }
+
+    /**
+     * Forget the cached result when the anvil is closed.
+     */
+    @EventHandler
+    public void onAnvilClose(InventoryCloseEvent event) {
+        if (event.getInventory() instanceof AnvilInventory) {
+            resultCache.remove(event.getPlayer().getUniqueId());
+        }
+    }
+
+    /**
+     * Clean up cached results when a player disconnects to prevent memory leaks.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        resultCache.remove(event.getPlayer().getUniqueId());
     }
 
     /**
      * Handle repairing a tool with repair material.
      */
     @SuppressWarnings("removal")
-    private void handleMaterialRepair(PrepareAnvilEvent event, ItemStack tool, ItemStack material, ToolType toolType) {
+    private CachedResult handleMaterialRepair(InputFingerprint fingerprint, ItemStack tool, ItemStack material,
+                                              ToolType toolType) {
         FileConfiguration config = plugin.getConfigManager().getConfig();
         int repairPerItem = config.getInt("tools." + toolType.name().toLowerCase() + ".durability.repair_amount", 63);
 
@@ -157,11 +236,11 @@ public class AnvilListener implements Listener {
             if (isDebugEnabled()) {
                 plugin.getLogger().info("[Anvil Debug] Tool already at full durability, no repair needed");
             }
-            return;
+            return null;
         }
 
         // Calculate repair amount (based on number of items used)
-        int itemsUsed = Math.min(material.getAmount(), (int) Math.ceil((double) currentDamage / repairPerItem));
+        int itemsUsed = DurabilityMath.repairMaterialsNeeded(currentDamage, repairPerItem, material.getAmount());
         int totalRepair = itemsUsed * repairPerItem;
 
         if (isDebugEnabled()) {
@@ -170,31 +249,32 @@ public class AnvilListener implements Listener {
                 " to repair " + totalRepair + " durability");
         }
 
-        // Create result item
+        // Create result item (a preview: the registry learns the repair when the result is taken)
         ItemStack result = tool.clone();
-        plugin.getDurabilityService().repair(result, totalRepair);
+        plugin.getDurabilityService().setPreviewDurability(result, Math.max(0, currentDamage - totalRepair),
+                maxDurability);
 
         // Update display (only updates lore, never name - players can rename freely)
         plugin.getDisplayService().updateDisplay(result);
 
-        event.setResult(result);
-
         // Must set repair cost for material repairs (vanilla can't calculate cost for custom repair materials)
         // Without this, the anvil shows the result but won't let players take it
         int repairCost = itemsUsed;
-        event.getInventory().setRepairCost(repairCost);
 
         if (isDebugEnabled()) {
             int finalDamage = plugin.getDurabilityService().getCurrentDamage(result);
             plugin.getLogger().info("[Anvil Debug] Final damage: " + finalDamage + "/" + maxDurability +
                 " (repair cost: " + repairCost + " levels)");
         }
+
+        return new CachedResult(fingerprint, result, repairCost);
     }
 
     /**
      * Handle combining two tools.
      */
-    private void handleToolCombine(PrepareAnvilEvent event, ItemStack first, ItemStack second, ToolType toolType) {
+    private CachedResult handleToolCombine(InputFingerprint fingerprint, ItemStack first, ItemStack second,
+                                           ToolType toolType) {
         int firstDamage = plugin.getDurabilityService().getCurrentDamage(first);
         int secondDamage = plugin.getDurabilityService().getCurrentDamage(second);
         int firstMax = plugin.getDurabilityService().getMaxDurability(first);
@@ -207,75 +287,32 @@ public class AnvilListener implements Listener {
                 " (remaining: " + (secondMax - secondDamage) + ")");
         }
 
-        // Calculate combined durability (vanilla logic: add remaining + 5% bonus)
-        int firstRemaining = firstMax - firstDamage;
-        int secondRemaining = secondMax - secondDamage;
-        int combinedRemaining = firstRemaining + secondRemaining + (int) (firstMax * 0.05);
-
-        // Choose the higher max durability
-        int resultMax = Math.max(firstMax, secondMax);
-
-        // Calculate new damage
-        int resultDamage = Math.max(0, resultMax - combinedRemaining);
+        // Calculate combined durability (vanilla logic: add remaining + 5% bonus, higher max wins)
+        DurabilityMath.Combined combined = DurabilityMath.combine(firstDamage, firstMax, secondDamage, secondMax);
+        int resultDamage = combined.damage();
+        int resultMax = combined.maxDurability();
 
         if (isDebugEnabled()) {
-            plugin.getLogger().info("[Anvil Debug] Combined remaining: " + combinedRemaining +
+            plugin.getLogger().info("[Anvil Debug] Result: " + resultDamage + "/" + resultMax +
                 " (with 5% bonus: " + (int) (firstMax * 0.05) + ")");
-            plugin.getLogger().info("[Anvil Debug] Result: " + resultDamage + "/" + resultMax);
         }
 
         // Create result item (clone first item to preserve enchantments and metadata)
         ItemStack result = first.clone();
-        ItemMeta resultMeta = result.getItemMeta();
-        if (resultMeta == null) {
-            return;
-        }
 
-        // Copy all PDC data from first item
-        PersistentDataContainer firstPDC = first.getItemMeta().getPersistentDataContainer();
-        PersistentDataContainer resultPDC = resultMeta.getPersistentDataContainer();
+        // The clone already carries the PDC (tool type, feed source); only durability changes.
+        // A preview: the registry learns the new durability when the result is taken
+        plugin.getDurabilityService().setPreviewDurability(result, resultDamage, resultMax);
 
-        // Copy all keys with proper type handling
-        for (var key : firstPDC.getKeys()) {
-            // Handle known types from Constants
-            if (key.equals(Constants.TOOL_TYPE) || key.equals(Constants.FEED_SOURCE)) {
-                // String types
-                String value = firstPDC.get(key, PersistentDataType.STRING);
-                if (value != null) {
-                    resultPDC.set(key, PersistentDataType.STRING, value);
-                }
-            } else if (key.equals(Constants.DURABILITY) || key.equals(Constants.MAX_DURABILITY)) {
-                // Integer types (these will be overwritten below, but copy for consistency)
-                Integer value = firstPDC.get(key, PersistentDataType.INTEGER);
-                if (value != null) {
-                    resultPDC.set(key, PersistentDataType.INTEGER, value);
-                }
-            } else {
-                // Unknown key - try to copy as string (best effort)
-                String value = firstPDC.get(key, PersistentDataType.STRING);
-                if (value != null) {
-                    resultPDC.set(key, PersistentDataType.STRING, value);
-                }
-            }
-        }
-
-        // Update durability
-        resultPDC.set(Constants.DURABILITY, PersistentDataType.INTEGER, resultDamage);
-        resultPDC.set(Constants.MAX_DURABILITY, PersistentDataType.INTEGER, resultMax);
-
-        result.setItemMeta(resultMeta);
-
-        // Sync vanilla durability and update display (only updates lore, never name)
-        plugin.getItemFactory().syncVanillaDurability(result);
+        // Update display (only updates lore, never name)
         plugin.getDisplayService().updateDisplay(result);
 
-        event.setResult(result);
-
         // XP cost will be calculated by vanilla/Paper automatically
+        return new CachedResult(fingerprint, result, -1);
     }
 
     /**
-     * Handle taking the result from the anvil to refund excess materials.
+     * Handle taking the result from the anvil: record the tool's new durability and refund excess materials.
      * Let vanilla consume all items, then refund the excess on the next tick.
      * Only runs if the click is actually successful (not cancelled).
      */
@@ -309,6 +346,10 @@ public class AnvilListener implements Listener {
             return;
         }
 
+        if (event.getWhoClicked() instanceof org.bukkit.entity.Player player) {
+            recordTakenResult(player, anvil, result);
+        }
+
         // Check if this is a material repair (not combining two tools)
         if (plugin.getItemFactory().isTool(second)) {
             return; // This is combining tools, let vanilla handle it
@@ -333,7 +374,7 @@ public class AnvilListener implements Listener {
         // Calculate how many items should actually be consumed
         int repairPerItem = config.getInt("tools." + toolType.name().toLowerCase() + ".durability.repair_amount", 63);
         int currentDamage = plugin.getDurabilityService().getCurrentDamage(first);
-        int itemsNeeded = Math.min(second.getAmount(), (int) Math.ceil((double) currentDamage / repairPerItem));
+        int itemsNeeded = DurabilityMath.repairMaterialsNeeded(currentDamage, repairPerItem, second.getAmount());
 
         if (itemsNeeded <= 0) {
             return;
@@ -355,7 +396,7 @@ public class AnvilListener implements Listener {
 
             // Schedule a task to run next tick to refund extra materials
             // (after vanilla anvil has consumed the items)
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
+            plugin.getTaskScheduler().runAtEntity(player, () -> {
                 // Give back the extra materials
                 ItemStack refund = new ItemStack(repairMaterial, itemsToRefund);
                 player.getInventory().addItem(refund).forEach((index, leftover) -> {
@@ -369,4 +410,21 @@ public class AnvilListener implements Listener {
             });
         }
     }
+
+    /**
+     * Make a taken result the tool's durability in the tool registry.
+     * Checked on the next tick: the click also fires when the player can't afford the result, and then the
+     * inputs stay in the anvil.
+     */
+    private void recordTakenResult(org.bukkit.entity.Player player, AnvilInventory anvil, ItemStack result) {
+        ItemStack taken = result.clone();
+        plugin.getTaskScheduler().runAtEntity(player, () -> {
+            ItemStack input = anvil.getItem(0);
+            boolean consumed = input == null || input.getType().isAir();
+            if (consumed && (taken.isSimilar(player.getItemOnCursor())
+                    || player.getInventory().containsAtLeast(taken, 1))) {
+                plugin.getDurabilityService().recordDurability(taken);
+            }
+        });
+    }
 }
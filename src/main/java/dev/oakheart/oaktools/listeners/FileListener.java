@@ -4,6 +4,9 @@ import dev.oakheart.oaktools.OakTools;
 import dev.oakheart.oaktools.events.FileUseEvent;
 import dev.oakheart.oaktools.model.EditType;
 import dev.oakheart.oaktools.model.ToolType;
+import dev.oakheart.oaktools.services.TickBudgetWatchdog;
+import dev.oakheart.oaktools.stats.ToolStats;
+import dev.oakheart.oaktools.stats.jfr.FileEditEvent;
 import dev.oakheart.oaktools.util.BlockUtil;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
@@ -35,7 +38,8 @@ public class FileListener implements Listener {
      * Check if debug logging is enabled in config.
      */
     private boolean isDebugEnabled() {
-        return plugin.getConfigManager().getConfig().getBoolean("general.debug", false);
+        return plugin.getConfigManager().getConfig().getBoolean("general.debug", false)
+                && !plugin.getTickBudgetWatchdog().isShedding(TickBudgetWatchdog.Level.REDUCED);
     }
 
     @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
@@ -93,18 +97,30 @@ public class FileListener implements Listener {
 
         // Handle right-click only
         if (event.getAction() == Action.RIGHT_CLICK_BLOCK) {
-            handleRightClick(event, player, item, hand);
+            long start = System.nanoTime();
+            FileEditEvent jfr = new FileEditEvent();
+            jfr.start();
+            jfr.player = player.getName();
+
+            // Bring the tool up to date if its settings changed since it was made
+            plugin.getToolMigrator().migrateForUse(player, item);
+            handleRightClick(event, player, item, hand, start, jfr);
+
+            jfr.finish();
+            plugin.getToolStats().record(ToolStats.Timer.FILE_EDIT, start);
         }
     }
 
     /**
      * Handle right-click with File.
      */
-    private void handleRightClick(PlayerInteractEvent event, Player player, ItemStack item, EquipmentSlot hand) {
+    private void handleRightClick(PlayerInteractEvent event, Player player, ItemStack item, EquipmentSlot hand,
+                                  long start, FileEditEvent jfr) {
         Block block = event.getClickedBlock();
         if (block == null) {
             return;
         }
+        jfr.material = block.getType().name();
 
         if (isDebugEnabled()) {
             plugin.getLogger().info("[File Debug] Player " + player.getName() + " used File on block at " +
@@ -126,104 +142,43 @@ public class FileListener implements Listener {
 
         // FIRST: Check if the block is even modifiable BEFORE doing protection checks
         // This prevents unnecessary fake BlockPlaceEvent calls on unmodifiable blocks
-        boolean isModifiable = false;
-        if (config.getBoolean("tools.file.features.multiple_facing", true) &&
-            BlockUtil.hasMultipleFacing(block)) {
-            isModifiable = true;
-        } else if (config.getBoolean("tools.file.features.walls", true) &&
-                   BlockUtil.isWall(block)) {
-            isModifiable = true;
-        } else if (config.getBoolean("tools.file.features.stairs", true) &&
-                   BlockUtil.isStairs(block)) {
-            isModifiable = true;
-        } else if (config.getBoolean("tools.file.features.directional", true) &&
-                   BlockUtil.isDirectional(block)) {
-            isModifiable = true;
-        } else if (config.getBoolean("tools.file.features.axis_rotation", true) &&
-                   BlockUtil.hasAxis(block)) {
-            isModifiable = true;
-        } else if (config.getBoolean("tools.file.features.slabs", true) &&
-                   BlockUtil.isSlab(block)) {
-            isModifiable = true;
-        }
+        EditType editType = BlockUtil.getFileEdit(block, config);
 
         // If block is not modifiable, cancel event and return early
-        if (!isModifiable) {
+        if (editType == null) {
             if (isDebugEnabled()) {
                 plugin.getLogger().info("[File Debug] No change - block type not supported or feature disabled");
             }
+            recordOutcome(jfr, ToolStats.Outcome.NO_CHANGE);
             event.setCancelled(true);
             return;
         }
 
         // ONLY check protection if block is modifiable
-        if (!plugin.getProtectionService().canModifyBlock(player, block, hand, item)) {
+        boolean allowed = plugin.getProtectionService().canModifyBlock(player, block, hand, item);
+        jfr.protectionNanos = jfr.lap();
+        if (!allowed) {
             if (isDebugEnabled()) {
                 plugin.getLogger().info("[File Debug] Blocked: Protection denied");
             }
             plugin.getMessageService().sendMessage(player, "protection_denied");
+            recordOutcome(jfr, ToolStats.Outcome.PROTECTION_DENIED);
             event.setCancelled(true);
             return;
         }
 
-        // Now actually modify the block
+        // Now actually modify the block (the replay runner applies recorded edits the same way)
         BlockData oldData = block.getBlockData().clone();
-        EditType editType = null;
-        boolean changed = false;
-
-        // Priority order: MultipleFacing -> Walls -> Stairs -> Directional -> Axis -> Slabs
-        if (config.getBoolean("tools.file.features.multiple_facing", true) &&
-            BlockUtil.hasMultipleFacing(block)) {
-            if (isDebugEnabled()) {
-                plugin.getLogger().info("[File Debug] Feature:MultipleFacing (fence/glass pane/iron bars)");
-            }
-            changed = BlockUtil.cycleMultipleFacing(block, event.getBlockFace(), interactionPoint, player.getFacing());
-            editType = EditType.MULTIPLE_FACING;
-        } else if (config.getBoolean("tools.file.features.walls", true) &&
-                   BlockUtil.isWall(block)) {
-            if (isDebugEnabled()) {
-                plugin.getLogger().info("[File Debug] Feature:Wall");
-            }
-            changed = BlockUtil.cycleWall(block, event.getBlockFace(), interactionPoint, player.getFacing());
-            editType = EditType.WALL;
-        } else if (config.getBoolean("tools.file.features.stairs", true) &&
-                   BlockUtil.isStairs(block)) {
-            if (isDebugEnabled()) {
-                plugin.getLogger().info("[File Debug] Feature:Stairs " + (isSneaking ? "(toggle half)" : "(shape)"));
-            }
-            if (isSneaking) {
-                // Sneak + right-click = toggle half (TOP/BOTTOM)
-                changed = BlockUtil.toggleStairsHalf(block);
-            } else {
-                // Normal right-click = change shape based on cursor position
-                changed = BlockUtil.editStairsShape(block, event.getBlockFace(), interactionPoint, player.getLocation().toVector(), isDebugEnabled());
-            }
-            editType = EditType.STAIRS;
-        } else if (config.getBoolean("tools.file.features.directional", true) &&
-                   BlockUtil.isDirectional(block)) {
-            if (isDebugEnabled()) {
-                plugin.getLogger().info("[File Debug] Feature:Directional (observer/piston/etc)");
-            }
-            changed = BlockUtil.rotateDirectional(block);
-            editType = EditType.DIRECTIONAL;
-        } else if (config.getBoolean("tools.file.features.axis_rotation", true) &&
-                   BlockUtil.hasAxis(block)) {
-            if (isDebugEnabled()) {
-                plugin.getLogger().info("[File Debug] Feature:Axis (log/pillar)");
-            }
-            changed = BlockUtil.rotateAxis(block);
-            editType = EditType.AXIS;
-        } else if (config.getBoolean("tools.file.features.slabs", true) &&
-                   BlockUtil.isSlab(block)) {
-            if (isDebugEnabled()) {
-                plugin.getLogger().info("[File Debug] Feature:Slab (toggle top/bottom)");
-            }
-            changed = BlockUtil.toggleSlab(block);
-            editType = EditType.SLAB;
+        if (isDebugEnabled()) {
+            plugin.getLogger().info("[File Debug] Feature:" + editType
+                    + (editType == EditType.STAIRS ? (isSneaking ? " (toggle half)" : " (shape)") : ""));
         }
+        boolean changed = BlockUtil.applyFileEdit(block, editType, event.getBlockFace(), interactionPoint,
+                player.getFacing(), player.getLocation().toVector(), isSneaking, isDebugEnabled());
 
         // Always cancel the event to prevent vanilla behavior (placing blocks from offhand, etc.)
         event.setCancelled(true);
+        jfr.editNanos = jfr.lap();
 
         if (changed) {
             BlockData newData = block.getBlockData();
@@ -232,11 +187,12 @@ public class FileListener implements Listener {
                 plugin.getLogger().info("[File Debug] Old data: " + oldData.getAsString());
                 plugin.getLogger().info("[File Debug] New data: " + newData.getAsString());
             }
-            handleSuccessfulEdit(event, player, item, hand, block, oldData, newData, editType);
+            handleSuccessfulEdit(event, player, item, hand, block, oldData, newData, editType, start, jfr);
         } else {
             if (isDebugEnabled()) {
                 plugin.getLogger().info("[File Debug] No change - block type not supported or feature disabled");
             }
+            recordOutcome(jfr, ToolStats.Outcome.NO_CHANGE);
         }
     }
 
@@ -249,13 +205,14 @@ public class FileListener implements Listener {
     @SuppressWarnings("removal") // Bukkit Sound enum is deprecated but needed to get material's sound
     private void handleSuccessfulEdit(PlayerInteractEvent event, Player player, ItemStack item,
                                        EquipmentSlot hand, Block block, BlockData oldData,
-                                       BlockData newData, EditType editType) {
+                                       BlockData newData, EditType editType, long start, FileEditEvent jfr) {
         // Fire custom event
         FileUseEvent fileEvent = new FileUseEvent(
                 player, block, oldData, newData, item,
                 event.getBlockFace(), hand, editType
         );
         plugin.getServer().getPluginManager().callEvent(fileEvent);
+        jfr.eventNanos = jfr.lap();
 
         if (fileEvent.isCancelled()) {
             // Revert the change (event already cancelled at the top)
@@ -263,37 +220,60 @@ public class FileListener implements Listener {
                 plugin.getLogger().info("[File Debug] FileUseEvent was cancelled by another plugin, reverting change");
             }
             block.setBlockData(oldData, false);
+            recordOutcome(jfr, ToolStats.Outcome.EVENT_CANCELLED);
             return;
         }
 
         // Damage tool durability (may break tool, but edit already happened - vanilla behavior)
         plugin.getDurabilityService().damage(item, player, 1);
 
-        // Update display (in case durability changed lore)
-        plugin.getDisplayService().updateDisplay(item);
+        // Update display (in case durability changed lore) - deferred durability updates it when written
+        if (!plugin.getDurabilityLedger().isPending(player)) {
+            plugin.getDisplayService().updateDisplayAfterUse(item);
+        }
 
         // Play the block's place sound (vanilla behavior)
         // Use world.playSound so all nearby players hear it
-        try {
-            org.bukkit.Sound bukkitSound = newData.getMaterial().createBlockData().getSoundGroup().getPlaceSound();
-            if (bukkitSound != null) {
-                // Play using world.playSound so all nearby players hear it (vanilla behavior)
-                block.getWorld().playSound(block.getLocation(), bukkitSound, org.bukkit.SoundCategory.BLOCKS, 1.0f, 0.8f);
+        if (!plugin.getTickBudgetWatchdog().isShedding(TickBudgetWatchdog.Level.REDUCED)) {
+            try {
+                org.bukkit.Sound bukkitSound = newData.getMaterial().createBlockData().getSoundGroup().getPlaceSound();
+                if (bukkitSound != null) {
+                    // Play using world.playSound so all nearby players hear it (vanilla behavior)
+                    block.getWorld().playSound(block.getLocation(), bukkitSound, org.bukkit.SoundCategory.BLOCKS, 1.0f, 0.8f);
+                    if (isDebugEnabled()) {
+                        plugin.getLogger().info("[File Debug] Playing sound: " + bukkitSound.name() + " using world.playSound");
+                    }
+                } else if (isDebugEnabled()) {
+                    plugin.getLogger().info("[File Debug] No place sound for " + newData.getMaterial());
+                }
+            } catch (Exception e) {
                 if (isDebugEnabled()) {
-                    plugin.getLogger().info("[File Debug] Playing sound: " + bukkitSound.name() + " using world.playSound");
+                    plugin.getLogger().warning("[File Debug] Error playing sound: " + e.getMessage());
                 }
-            } else if (isDebugEnabled()) {
-                plugin.getLogger().info("[File Debug] No place sound for " + newData.getMaterial());
-            }
-        } catch (Exception e) {
-            if (isDebugEnabled()) {
-                plugin.getLogger().warning("[File Debug] Error playing sound: " + e.getMessage());
             }
         }
 
+        jfr.applyNanos = jfr.lap();
+
         // Log to CoreProtect
         plugin.getCoreProtectLogger().logFileEdit(player, block, oldData, newData);
 
+        // Record in the built-in edit journal (if enabled)
+        plugin.getEditJournal().logFileEdit(player, block, oldData, newData);
+
+        // Remember the edit for /oaktools undo
+        plugin.getUndoService().recordFileEdit(player, block, oldData, newData);
+
+        // Capture the interaction for offline replay (only while this player is being recorded)
+        if (plugin.getSessionRecorder().isRecording(player)) {
+            plugin.getSessionRecorder().recordEdit(player, block, event.getBlockFace(),
+                    event.getInteractionPoint() != null ? event.getInteractionPoint().toVector() : null,
+                    oldData, newData, System.nanoTime() - start);
+        }
+
+        jfr.loggingNanos = jfr.lap();
+        recordOutcome(jfr, ToolStats.Outcome.EDITED);
+
         // Event already cancelled at the top of handleRightClick
     }
 
@@ -428,4 +408,12 @@ public class FileListener implements Listener {
         String materialName = block.getType().name();
         return materialName.equals("FLOWER_POT") || materialName.startsWith("POTTED_");
     }
+
+    /**
+     * Count an edit outcome in the stats and the JFR event.
+     */
+    private void recordOutcome(FileEditEvent jfr, ToolStats.Outcome outcome) {
+        plugin.getToolStats().increment(ToolType.FILE, outcome);
+        jfr.outcome = outcome.name();
+    }
 }
@@ -1,7 +1,8 @@
 package dev.oakheart.oaktools.listeners;
 
 import dev.oakheart.oaktools.OakTools;
-import dev.oakheart.oaktools.util.Constants;
+import dev.oakheart.oaktools.services.DurabilityService;
+import org.bukkit.Bukkit;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -10,14 +11,13 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerExpChangeEvent;
 import org.bukkit.event.player.PlayerItemMendEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles Mending enchantment for OakTools items with custom durability scaling.
@@ -25,32 +25,54 @@ import java.util.UUID;
  */
 public class MendingListener implements Listener {
 
+    // Ticks XP stays blocked after the last mend (same window as the old per-orb cleanup task)
+    private static final int DEBT_TICKS = 5;
+
+    /**
+     * Per-player mending state: XP still to block and the repair waiting to be written this tick.
+     * Guarded by its own monitor so it is safe when events for a player arrive off the main thread.
+     */
+    private static final class MendingState {
+        int xpDebt;
+        int lastMendTick;
+
+        // Coalesced repair for the tool being mended (written once per tick on the player's thread)
+        ItemStack pendingItem;
+        EquipmentSlot pendingSlot;
+        int pendingDamage;
+        boolean flushScheduled;
+    }
+
     private final OakTools plugin;
     // Track which players are currently mending OakTools items to prevent XP gain
-    private final Map<UUID, Integer> activeMending = new HashMap<>();
+    private final Map<UUID, MendingState> ledger = new ConcurrentHashMap<>();
 
     public MendingListener(OakTools plugin) {
         this.plugin = plugin;
+
+        // One sweep per tick expires XP debt (instead of a task per orb)
+        plugin.getTaskScheduler().runGlobalTimer(this::sweep, 1L, 1L);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onExpChange(PlayerExpChangeEvent event) {
-        Player player = event.getPlayer();
-        UUID uuid = player.getUniqueId();
+        MendingState state = ledger.get(event.getPlayer().getUniqueId());
+        if (state == null) {
+            return;
+        }
 
-        // Check if this player is currently mending an OakTools item
-        if (activeMending.containsKey(uuid)) {
-            int xpToBlock = activeMending.get(uuid);
+        synchronized (state) {
+            int xpToBlock = state.xpDebt;
             int xpGain = event.getAmount();
 
             if (xpGain <= xpToBlock) {
                 // Block all of this XP gain
                 event.setAmount(0);
-                activeMending.put(uuid, xpToBlock - xpGain);
+                state.xpDebt = xpToBlock - xpGain;
             } else {
                 // Block partial XP gain
                 event.setAmount(xpGain - xpToBlock);
-                activeMending.remove(uuid);
+                state.xpDebt = 0;
             }
         }
     }
@@ -75,68 +97,122 @@ public class MendingListener implements Listener {
             return;
         }
 
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        Integer currentDamage = pdc.get(Constants.DURABILITY, PersistentDataType.INTEGER);
-        Integer maxDurability = pdc.get(Constants.MAX_DURABILITY, PersistentDataType.INTEGER);
+        // Write any durability used but not yet written before repairing on top of it
+        plugin.getDurabilityLedger().flush(player);
+        meta = item.getItemMeta();
 
-        if (currentDamage == null || maxDurability == null) {
+        DurabilityService.Durability stored = plugin.getDurabilityService().read(item, meta);
+        if (stored == null) {
             return;
         }
 
-        // Check if tool needs repair
-        if (currentDamage <= 0) {
-            return; // Tool is already at full durability, let XP go to player
-        }
+        MendingState state = ledger.computeIfAbsent(player.getUniqueId(), uuid -> new MendingState());
 
-        // Get the XP orb
-        var orb = event.getExperienceOrb();
-        int xpAmount = orb.getExperience();
+        synchronized (state) {
+            // Continue from the repair already pending this tick for the same tool
+            boolean samePending = state.pendingItem != null && state.pendingSlot == event.getSlot()
+                    && state.pendingItem.isSimilar(item);
+            if (state.pendingItem != null && !samePending) {
+                flush(state);
+            }
+            int currentDamage = samePending ? state.pendingDamage : stored.damage();
+
+            // Check if tool needs repair
+            if (currentDamage <= 0) {
+                if (samePending) {
+                    // Fully repaired by a pending write: vanilla would mend the stale damage on the item
+                    // (which the flush then overwrites) and keep the XP, so cancel to give it to the player
+                    event.setCancelled(true);
+                }
+                return; // Tool is already at full durability, let XP go to player
+            }
 
-        // Apply custom mending logic
-        // Vanilla mending: 2 durability per 1 XP
-        int repairAmount = xpAmount * 2; // Vanilla mending rate
+            // Get the XP orb
+            var orb = event.getExperienceOrb();
+            int xpAmount = orb.getExperience();
 
-        // Apply repair (capped at full durability)
-        int newDamage = Math.max(0, currentDamage - repairAmount);
-        int actualRepair = currentDamage - newDamage;
+            // Apply custom mending logic
+            // Vanilla mending: 2 durability per 1 XP
+            int repairAmount = xpAmount * 2; // Vanilla mending rate
 
-        // Calculate XP to consume (vanilla: 1 XP per 2 durability repaired)
-        int xpToConsume = (int) Math.ceil((double) actualRepair / 2.0);
-        xpToConsume = Math.min(xpToConsume, xpAmount); // Don't consume more than available
+            // Apply repair (capped at full durability)
+            int newDamage = Math.max(0, currentDamage - repairAmount);
+            int actualRepair = currentDamage - newDamage;
 
-        // Track that this player is mending an OakTools item
-        // This will be checked in PlayerExpChangeEvent to prevent XP gain
-        UUID uuid = player.getUniqueId();
-        int currentBlocked = activeMending.getOrDefault(uuid, 0);
-        activeMending.put(uuid, currentBlocked + xpToConsume);
+            // Calculate XP to consume (vanilla: 1 XP per 2 durability repaired)
+            int xpToConsume = (int) Math.ceil((double) actualRepair / 2.0);
+            xpToConsume = Math.min(xpToConsume, xpAmount); // Don't consume more than available
 
-        // Update our custom durability
-        pdc.set(Constants.DURABILITY, PersistentDataType.INTEGER, newDamage);
-        item.setItemMeta(meta);
+            // Track that this player is mending an OakTools item
+            // This will be checked in PlayerExpChangeEvent to prevent XP gain
+            state.xpDebt += xpToConsume;
+            state.lastMendTick = Bukkit.getCurrentTick();
 
-        // Sync to vanilla durability bar
-        plugin.getItemFactory().syncVanillaDurability(item);
+            // Durability and lore are written once per tick on the player's thread
+            if (!samePending) {
+                state.pendingItem = item;
+                state.pendingSlot = event.getSlot();
+            }
+            state.pendingDamage = newDamage;
+
+            if (!state.flushScheduled) {
+                state.flushScheduled = true;
+                plugin.getTaskScheduler().runAtEntity(player, () -> {
+                    synchronized (state) {
+                        state.flushScheduled = false;
+                        if (state.pendingItem != null) {
+                            flush(state);
+                        }
+                    }
+                });
+            }
 
-        // Update display (lore may show durability)
-        plugin.getDisplayService().updateDisplay(item);
-
-        // Consume XP from the orb
-        int remainingXP = xpAmount - xpToConsume;
-        if (remainingXP > 0) {
-            orb.setExperience(remainingXP);
-        } else {
-            // No XP left, remove the orb completely
-            orb.remove();
+            // Consume XP from the orb
+            int remainingXP = xpAmount - xpToConsume;
+            if (remainingXP > 0) {
+                orb.setExperience(remainingXP);
+            } else {
+                // No XP left, remove the orb completely
+                orb.remove();
+            }
         }
 
         // Cancel the event to prevent vanilla from also processing it
         event.setCancelled(true);
+    }
+
+    /**
+     * Drop expired XP debt.
+     * This ensures we don't block XP forever if something goes wrong.
+     * Runs on the global region on Folia, so it never touches items.
+     */
+    private void sweep() {
+        if (ledger.isEmpty()) {
+            return;
+        }
+
+        int now = Bukkit.getCurrentTick();
+        ledger.entrySet().removeIf(entry -> {
+            MendingState state = entry.getValue();
+            synchronized (state) {
+                return state.pendingItem == null && now - state.lastMendTick >= DEBT_TICKS;
+            }
+        });
+    }
+
+    /**
+     * Write a coalesced repair to the tool (caller holds the state monitor).
+     */
+    private void flush(MendingState state) {
+        ItemStack item = state.pendingItem;
+        state.pendingItem = null;
+        state.pendingSlot = null;
 
-        // Schedule cleanup of the activeMending tracker after a short delay
-        // This ensures we don't block XP forever if something goes wrong
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-            activeMending.remove(uuid);
-        }, 5L);
+        // Update our custom durability (one write in either storage)
+        plugin.getDurabilityService().setDamage(item, state.pendingDamage);
+
+        // Update display (lore may show durability)
+        plugin.getDisplayService().updateDisplayAfterUse(item);
     }
 
     /**
@@ -144,6 +220,14 @@ public class MendingListener implements Listener {
      */
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
-        activeMending.remove(event.getPlayer().getUniqueId());
+        MendingState state = ledger.remove(event.getPlayer().getUniqueId());
+        if (state != null) {
+            // Don't lose a repair that was earned this tick
+            synchronized (state) {
+                if (state.pendingItem != null) {
+                    flush(state);
+                }
+            }
+        }
     }
 }
@@ -1,20 +1,21 @@
 package dev.oakheart.oaktools.listeners;
 
 import dev.oakheart.oaktools.OakTools;
-import dev.oakheart.oaktools.model.ToolType;
+import dev.oakheart.oaktools.recipes.RecipeIndex;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityPickupItemEvent;
 import org.bukkit.event.inventory.CraftItemEvent;
-import org.bukkit.inventory.ItemStack;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles recipe discovery for OakTools recipes.
@@ -23,11 +24,26 @@ import java.util.Set;
 public class RecipeDiscoveryListener implements Listener {
 
     private final OakTools plugin;
+    // Discovered recipe bits per player, packed as (index generation << 32) | recipe mask
+    private final Map<UUID, Long> discovered = new ConcurrentHashMap<>();
 
     public RecipeDiscoveryListener(OakTools plugin) {
         this.plugin = plugin;
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        getDiscovered(event.getPlayer(), plugin.getRecipeManager().getRecipeIndex());
+    }
+
+    /**
+     * Clean up tracking data when a player disconnects to prevent memory leaks.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        discovered.remove(event.getPlayer().getUniqueId());
+    }
+
     /**
      * Check and grant recipes when a player picks up an item.
      * Schedule on next tick since the item isn't in inventory yet when this event fires.
@@ -38,10 +54,15 @@ public class RecipeDiscoveryListener implements Listener {
             return;
         }
 
+        // Only schedule a check if the item feeds a recipe the player hasn't discovered yet
+        RecipeIndex index = plugin.getRecipeManager().getRecipeIndex();
         Material pickedUpMaterial = event.getItem().getItemStack().getType();
+        if ((index.getRecipesUsing(pickedUpMaterial) & ~getDiscovered(player, index)) == 0) {
+            return;
+        }
 
         // Check on next tick after item is added to inventory
-        plugin.getServer().getScheduler().runTask(plugin, () -> {
+        plugin.getTaskScheduler().runAtEntity(player, () -> {
             checkAndGrantRecipes(player, pickedUpMaterial);
         });
     }
@@ -66,75 +87,65 @@ public class RecipeDiscoveryListener implements Listener {
      * @param material the material they obtained
      */
     private void checkAndGrantRecipes(Player player, Material material) {
-        for (ToolType toolType : ToolType.values()) {
-            String toolName = toolType.name().toLowerCase();
+        if (!player.isOnline()) {
+            return;
+        }
 
-            // Check if recipe is enabled
-            if (!plugin.getConfigManager().getConfig().getBoolean("tools." + toolName + ".recipe.enabled", true)) {
-                continue;
-            }
+        RecipeIndex index = plugin.getRecipeManager().getRecipeIndex();
+        int mask = getDiscovered(player, index);
+
+        // Undiscovered recipes that use this material
+        int candidates = index.getRecipesUsing(material) & ~mask;
+        if (candidates == 0) {
+            return;
+        }
 
-            NamespacedKey key = new NamespacedKey(plugin, toolName + "_recipe");
+        // Single pass over the inventory for every ingredient
+        long present = index.collectIngredients(player.getInventory().getStorageContents());
 
-            // Skip if player already has this recipe
-            if (player.hasDiscoveredRecipe(key)) {
+        for (int recipe = 0; candidates >> recipe != 0; recipe++) {
+            if ((candidates & (1 << recipe)) == 0) {
                 continue;
             }
 
-            // Get recipe ingredients
-            Set<Material> requiredMaterials = getRecipeIngredients(toolName);
-
-            // If the material they picked up/crafted is used in this recipe, check if they should get it
-            if (requiredMaterials.contains(material)) {
-                // Check if player has all required materials
-                if (playerHasAllMaterials(player, requiredMaterials)) {
-                    player.discoverRecipe(key);
-                }
+            // Check if player has all required materials
+            long required = index.getRequired(recipe);
+            if ((present & required) == required) {
+                player.discoverRecipe(index.getKey(recipe));
+                mask |= 1 << recipe;
             }
         }
+
+        discovered.put(player.getUniqueId(), pack(index, mask));
     }
 
     /**
-     * Get all unique materials used in a tool's recipe.
+     * Get a player's discovered recipe mask, loading it from the player if missing or stale.
      *
-     * @param toolName the tool name
-     * @return set of required materials
+     * @param player the player
+     * @param index the current recipe index
+     * @return discovered recipe bitmask (always includes unregistered recipes)
      */
-    private Set<Material> getRecipeIngredients(String toolName) {
-        Set<Material> materials = new HashSet<>();
-
-        ConfigurationSection ingredientsSection = plugin.getConfigManager().getConfig()
-                .getConfigurationSection("tools." + toolName + ".recipe.ingredients");
-
-        if (ingredientsSection != null) {
-            for (String key : ingredientsSection.getKeys(false)) {
-                String materialName = ingredientsSection.getString(key);
-                if (materialName != null) {
-                    try {
-                        materials.add(Material.valueOf(materialName));
-                    } catch (IllegalArgumentException ignored) {
-                        // Invalid material, skip
-                    }
-                }
+    private int getDiscovered(Player player, RecipeIndex index) {
+        Long packed = discovered.get(player.getUniqueId());
+        if (packed != null && (int) (packed >>> 32) == index.getGeneration()) {
+            return (int) packed.longValue();
+        }
+
+        // Treat recipes that aren't registered as discovered so they're never checked
+        int mask = ~index.getAllRecipes();
+        for (int recipe = 0; index.getAllRecipes() >> recipe != 0; recipe++) {
+            NamespacedKey key = index.getKey(recipe);
+            if (key != null && player.hasDiscoveredRecipe(key)) {
+                mask |= 1 << recipe;
             }
         }
 
-        return materials;
+        discovered.put(player.getUniqueId(), pack(index, mask));
+        return mask;
     }
 
-    /**
-     * Check if a player has all the required materials in their inventory.
-     *
-     * @param player the player
-     * @param requiredMaterials the required materials
-     * @return true if player has all materials
-     */
-    private boolean playerHasAllMaterials(Player player, Set<Material> requiredMaterials) {
-        for (Material material : requiredMaterials) {
-            if (!player.getInventory().contains(material)) {
-                return false;
-            }
-        }
-        return true;
+    private long pack(RecipeIndex index, int mask) {
+        return ((long) index.getGeneration() << 32) | (mask & 0xFFFFFFFFL);
     }
 }
@@ -1,10 +1,14 @@
 package dev.oakheart.oaktools.listeners;
 
 import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.core.FeedSelection;
 import dev.oakheart.oaktools.events.TrowelPlaceEvent;
+import dev.oakheart.oaktools.items.ToolState;
 import dev.oakheart.oaktools.model.FeedSource;
 import dev.oakheart.oaktools.model.ToolType;
-import dev.oakheart.oaktools.util.Constants;
+import dev.oakheart.oaktools.services.TickBudgetWatchdog;
+import dev.oakheart.oaktools.stats.ToolStats;
+import dev.oakheart.oaktools.stats.jfr.TrowelPlacementEvent;
 import dev.oakheart.oaktools.util.InventoryUtil;
 import dev.oakheart.oaktools.util.PlacementUtil;
 import net.kyori.adventure.key.Key;
@@ -26,11 +30,10 @@ import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.util.Vector;
 
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Handles Trowel tool interactions for random block placement and feed cycling.
@@ -38,18 +41,17 @@ import java.util.Random;
 public class TrowelListener implements Listener {
 
     private final OakTools plugin;
-    private final Random random;
 
     public TrowelListener(OakTools plugin) {
         this.plugin = plugin;
-        this.random = new Random();
     }
 
     /**
      * Check if debug logging is enabled in config.
      */
     private boolean isDebugEnabled() {
-        return plugin.getConfigManager().getConfig().getBoolean("general.debug", false);
+        return plugin.getConfigManager().getConfig().getBoolean("general.debug", false)
+                && !plugin.getTickBudgetWatchdog().isShedding(TickBudgetWatchdog.Level.REDUCED);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = false)
@@ -91,6 +93,9 @@ public class TrowelListener implements Listener {
             return;
         }
 
+        // Bring the tool up to date if its settings changed since it was made
+        plugin.getToolMigrator().migrateForUse(player, item);
+
         // Cycle feed source
         cycleFeedSource(player, item, hand);
         event.setCancelled(true);
@@ -156,7 +161,17 @@ public class TrowelListener implements Listener {
 
         // Right-click block = place random block
         if (event.getAction() == Action.RIGHT_CLICK_BLOCK) {
-            handlePlacement(event, player, item, hand);
+            long start = System.nanoTime();
+            TrowelPlacementEvent jfr = new TrowelPlacementEvent();
+            jfr.start();
+            jfr.player = player.getName();
+
+            // Bring the tool up to date if its settings changed since it was made
+            plugin.getToolMigrator().migrateForUse(player, item);
+            handlePlacement(event, player, item, hand, start, jfr);
+
+            jfr.finish();
+            plugin.getToolStats().record(ToolStats.Timer.TROWEL_PLACEMENT, start);
         }
     }
 
@@ -181,6 +196,7 @@ public class TrowelListener implements Listener {
 
         // Sneak + right-click entity = cycle feed source
         if (player.isSneaking()) {
+            plugin.getToolMigrator().migrateForUse(player, item);
             cycleFeedSource(player, item, hand);
             event.setCancelled(true);
         }
@@ -196,15 +212,17 @@ public class TrowelListener implements Listener {
         }
 
         // Get current feed source
-        String feedSourceString = meta.getPersistentDataContainer()
-                .get(Constants.FEED_SOURCE, PersistentDataType.STRING);
-        FeedSource currentSource = FeedSource.fromString(feedSourceString);
+        ToolState state = ToolState.read(meta.getPersistentDataContainer());
+        if (state == null) {
+            return;
+        }
+        FeedSource currentSource = state.feedSource() != null ? state.feedSource() : FeedSource.HOTBAR;
 
         // Cycle to next source
         FeedSource nextSource = currentSource.next();
 
         // Update PDC
-        meta.getPersistentDataContainer().set(Constants.FEED_SOURCE, PersistentDataType.STRING, nextSource.name());
+        state.withFeedSource(nextSource).write(meta.getPersistentDataContainer());
         item.setItemMeta(meta);
 
         // Update display
@@ -236,7 +254,8 @@ public class TrowelListener implements Listener {
      * Handle block placement with Trowel.
      */
     @SuppressWarnings("removal") // Bukkit Sound enum is deprecated but needed to get material's sound
-    private void handlePlacement(PlayerInteractEvent event, Player player, ItemStack item, EquipmentSlot hand) {
+    private void handlePlacement(PlayerInteractEvent event, Player player, ItemStack item, EquipmentSlot hand,
+                                 long start, TrowelPlacementEvent jfr) {
         Block clickedBlock = event.getClickedBlock();
         if (clickedBlock == null) {
             return;
@@ -248,9 +267,8 @@ public class TrowelListener implements Listener {
             return;
         }
 
-        String feedSourceString = meta.getPersistentDataContainer()
-                .get(Constants.FEED_SOURCE, PersistentDataType.STRING);
-        FeedSource feedSource = FeedSource.fromString(feedSourceString);
+        ToolState state = ToolState.read(meta.getPersistentDataContainer());
+        FeedSource feedSource = state != null && state.feedSource() != null ? state.feedSource() : FeedSource.HOTBAR;
 
         // Get placeable blocks from feed source
         List<ItemStack> placeableBlocks = InventoryUtil.getPlaceableBlocks(player, feedSource);
@@ -259,12 +277,15 @@ public class TrowelListener implements Listener {
             String feedSourceName = plugin.getDisplayService().getFeedSourceDisplayName(feedSource);
             plugin.getMessageService().sendMessage(player, "no_placeable_blocks",
                 java.util.Map.of("feed_source", feedSourceName));
+            recordOutcome(jfr, ToolStats.Outcome.NO_BLOCKS);
             event.setCancelled(true);
             return;
         }
 
         // Choose random block
-        ItemStack chosenBlock = placeableBlocks.get(random.nextInt(placeableBlocks.size()));
+        ItemStack chosenBlock = FeedSelection.choose(placeableBlocks, ThreadLocalRandom.current());
+        jfr.material = chosenBlock.getType().name();
+        jfr.selectionNanos = jfr.lap();
 
         // Determine target block location and placement reference
         // If clicked block is replaceable (grass, flowers, etc.), replace it directly
@@ -569,16 +590,22 @@ public class TrowelListener implements Listener {
             if (isDebugEnabled()) {
                 plugin.getLogger().info("[Trowel Debug] Blocked: Block would collide with player");
             }
+            recordOutcome(jfr, ToolStats.Outcome.COLLISION);
             event.setCancelled(true);
             return;
         }
 
+        jfr.geometryNanos = jfr.lap();
+
         // Check protection BEFORE placing the block
-        if (!plugin.getProtectionService().canModifyBlock(player, targetBlock, hand, item)) {
+        boolean allowed = plugin.getProtectionService().canModifyBlock(player, targetBlock, hand, item);
+        jfr.protectionNanos = jfr.lap();
+        if (!allowed) {
             if (isDebugEnabled()) {
                 plugin.getLogger().info("[Trowel Debug] Blocked: Protection denied");
             }
             plugin.getMessageService().sendMessage(player, "protection_denied");
+            recordOutcome(jfr, ToolStats.Outcome.PROTECTION_DENIED);
             event.setCancelled(true);
             return;
         }
@@ -589,11 +616,13 @@ public class TrowelListener implements Listener {
                 item, chosenBlock, feedSource, hand, event.getBlockFace()
         );
         plugin.getServer().getPluginManager().callEvent(trowelEvent);
+        jfr.eventNanos = jfr.lap();
 
         if (trowelEvent.isCancelled()) {
             if (isDebugEnabled()) {
                 plugin.getLogger().info("[Trowel Debug] TrowelPlaceEvent was cancelled by another plugin");
             }
+            recordOutcome(jfr, ToolStats.Outcome.EVENT_CANCELLED);
             event.setCancelled(true);
             return;
         }
@@ -604,7 +633,8 @@ public class TrowelListener implements Listener {
 
         // TRANSACTION SAFETY: Consume item BEFORE placing block
         // This prevents item duplication if server crashes after placement
-        if (shouldConsumeBlocks(player)) {
+        boolean consumed = shouldConsumeBlocks(player);
+        if (consumed) {
             if (!InventoryUtil.consumeItem(player, chosenBlock)) {
                 // Item couldn't be consumed (shouldn't happen, but safety check)
                 if (isDebugEnabled()) {
@@ -618,8 +648,13 @@ public class TrowelListener implements Listener {
         // Damage tool durability (may break tool, but action still completes - vanilla behavior)
         plugin.getDurabilityService().damage(item, player, 1);
 
-        // Update display (PDC data reflects new durability)
-        plugin.getDisplayService().updateDisplay(item);
+        // Update display (PDC data reflects new durability) - deferred durability updates it when written
+        if (!plugin.getDurabilityLedger().isPending(player)) {
+            plugin.getDisplayService().updateDisplayAfterUse(item);
+        }
+
+        // Remember what was replaced (air, water, grass, etc.) for the edit journal
+        BlockData previousData = targetBlock.getBlockData();
 
         // Place the block (even if tool broke, the action completes)
         targetBlock.setBlockData(placementData, true);
@@ -635,60 +670,88 @@ public class TrowelListener implements Listener {
             plugin.getLogger().info("[Trowel Debug] Attempting to play sound for block placement");
             plugin.getLogger().info("[Trowel Debug] Material being placed: " + placementData.getMaterial());
         }
-        try {
-            // Use the PLACED block's sound group
-            org.bukkit.SoundGroup soundGroup = targetBlock.getBlockData().getSoundGroup();
-            org.bukkit.Sound bukkitSound = soundGroup.getPlaceSound();
-            float volume = soundGroup.getVolume();
-            float pitch = soundGroup.getPitch();
+        if (!plugin.getTickBudgetWatchdog().isShedding(TickBudgetWatchdog.Level.REDUCED)) {
+            try {
+                // Use the PLACED block's sound group
+                org.bukkit.SoundGroup soundGroup = targetBlock.getBlockData().getSoundGroup();
+                org.bukkit.Sound bukkitSound = soundGroup.getPlaceSound();
+                float volume = soundGroup.getVolume();
+                float pitch = soundGroup.getPitch();
 
-            if (isDebugEnabled()) {
-                plugin.getLogger().info("[Trowel Debug] SoundGroup: " + soundGroup);
-                plugin.getLogger().info("[Trowel Debug] Place sound enum: " + (bukkitSound != null ? bukkitSound.name() : "NULL"));
-                plugin.getLogger().info("[Trowel Debug] Volume from SoundGroup: " + volume);
-                plugin.getLogger().info("[Trowel Debug] Pitch from SoundGroup: " + pitch);
-            }
+                if (isDebugEnabled()) {
+                    plugin.getLogger().info("[Trowel Debug] SoundGroup: " + soundGroup);
+                    plugin.getLogger().info("[Trowel Debug] Place sound enum: " + (bukkitSound != null ? bukkitSound.name() : "NULL"));
+                    plugin.getLogger().info("[Trowel Debug] Volume from SoundGroup: " + volume);
+                    plugin.getLogger().info("[Trowel Debug] Pitch from SoundGroup: " + pitch);
+                }
 
-            if (bukkitSound != null) {
-                // Use sound group's volume and pitch (vanilla behavior)
-                // Add slight randomization to pitch like vanilla (0.8 * pitch to 1.2 * pitch)
-                float randomPitch = pitch * (0.8f + (float)(Math.random() * 0.4));
+                if (bukkitSound != null) {
+                    // Use sound group's volume and pitch (vanilla behavior)
+                    // Add slight randomization to pitch like vanilla (0.8 * pitch to 1.2 * pitch)
+                    float randomPitch = pitch * (0.8f + (float)(Math.random() * 0.4));
 
-                // Use Bukkit's getKey() to get the proper namespaced key (preserves underscores correctly)
-                // String-based approach works for all sounds (Adventure API has bugs with stone/wood sounds)
-                String soundKey = bukkitSound.getKey().asString();
+                    // Use Bukkit's getKey() to get the proper namespaced key (preserves underscores correctly)
+                    // String-based approach works for all sounds (Adventure API has bugs with stone/wood sounds)
+                    String soundKey = bukkitSound.getKey().asString();
 
-                org.bukkit.Location soundLoc = targetBlock.getLocation().add(0.5, 0.5, 0.5);
+                    org.bukkit.Location soundLoc = targetBlock.getLocation().add(0.5, 0.5, 0.5);
 
-                if (isDebugEnabled()) {
-                    plugin.getLogger().info("[Trowel Debug] Sound key: " + soundKey);
-                }
+                    if (isDebugEnabled()) {
+                        plugin.getLogger().info("[Trowel Debug] Sound key: " + soundKey);
+                    }
 
-                // Use string-based sound key (works for all sounds including stone/wood)
-                player.playSound(soundLoc, soundKey, org.bukkit.SoundCategory.BLOCKS, volume, randomPitch);
+                    // Use string-based sound key (works for all sounds including stone/wood)
+                    player.playSound(soundLoc, soundKey, org.bukkit.SoundCategory.BLOCKS, volume, randomPitch);
 
-                if (isDebugEnabled()) {
-                    plugin.getLogger().info("[Trowel Debug] Played sound: " + soundKey +
-                        ", volume: " + volume + ", pitch: " + randomPitch);
+                    if (isDebugEnabled()) {
+                        plugin.getLogger().info("[Trowel Debug] Played sound: " + soundKey +
+                            ", volume: " + volume + ", pitch: " + randomPitch);
+                    }
+                } else {
+                    if (isDebugEnabled()) {
+                        plugin.getLogger().info("[Trowel Debug] No place sound for " + placementData.getMaterial());
+                    }
                 }
-            } else {
+            } catch (Exception e) {
                 if (isDebugEnabled()) {
-                    plugin.getLogger().info("[Trowel Debug] No place sound for " + placementData.getMaterial());
+                    plugin.getLogger().warning("[Trowel Debug] Error playing sound: " + e.getMessage());
+                    e.printStackTrace();
                 }
             }
-        } catch (Exception e) {
-            if (isDebugEnabled()) {
-                plugin.getLogger().warning("[Trowel Debug] Error playing sound: " + e.getMessage());
-                e.printStackTrace();
-            }
         }
 
+        jfr.applyNanos = jfr.lap();
+
         // Log to CoreProtect
         plugin.getCoreProtectLogger().logTrowelPlacement(player, targetBlock, placementData);
 
+        // Record in the built-in edit journal (if enabled)
+        plugin.getEditJournal().logTrowelPlacement(player, targetBlock, previousData, placementData);
+
+        // Remember the placement for /oaktools undo (use the placed state after physics)
+        plugin.getUndoService().recordTrowelPlacement(player, targetBlock, previousData,
+                targetBlock.getBlockData(), consumed);
+
+        // Capture the interaction for offline replay (only while this player is being recorded)
+        if (plugin.getSessionRecorder().isRecording(player)) {
+            plugin.getSessionRecorder().recordPlacement(player, referenceBlock, referenceFace, interactionPoint,
+                    placeableBlocks, previousData, placementData, System.nanoTime() - start);
+        }
+
+        jfr.loggingNanos = jfr.lap();
+        recordOutcome(jfr, ToolStats.Outcome.PLACED);
+
         event.setCancelled(true);
     }
 
+    /**
+     * Count a placement outcome in the stats and the JFR event.
+     */
+    private void recordOutcome(TrowelPlacementEvent jfr, ToolStats.Outcome outcome) {
+        plugin.getToolStats().increment(ToolType.TROWEL, outcome);
+        jfr.outcome = outcome.name();
+    }
+
     /**
      * Check if a block is replaceable (can be placed into).
      */
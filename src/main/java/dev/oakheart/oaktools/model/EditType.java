@@ -2,12 +2,28 @@ package dev.oakheart.oaktools.model;
 
 /**
  * Represents the type of block state edit performed by the File tool.
+ * Declared in the order the File tool tries them.
  */
 public enum EditType {
-    MULTIPLE_FACING,  // Fences, glass panes, iron bars
-    WALL,             // Wall heights and up flag
-    STAIRS,           // Stairs shape, half, facing
-    DIRECTIONAL,      // Furnaces, hoppers, dispensers, etc.
-    AXIS,             // Logs, pillars, bone blocks
-    SLAB              // Top/bottom only (no double)
+    MULTIPLE_FACING("multiple_facing"),  // Fences, glass panes, iron bars
+    WALL("walls"),                       // Wall heights and up flag
+    STAIRS("stairs"),                    // Stairs shape, half, facing
+    DIRECTIONAL("directional"),          // Furnaces, hoppers, dispensers, etc.
+    AXIS("axis_rotation"),               // Logs, pillars, bone blocks
+    SLAB("slabs");                       // Top/bottom only (no double)
+
+    private final String featurePath;
+
+    EditType(String feature) {
+        this.featurePath = "tools.file.features." + feature;
+    }
+
+    /**
+     * Get the config path of the toggle that enables this edit.
+     *
+     * @return the config path (e.g., tools.file.features.stairs)
+     */
+    public String getFeaturePath() {
+        return featurePath;
+    }
 }
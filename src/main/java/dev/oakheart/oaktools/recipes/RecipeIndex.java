@@ -0,0 +1,134 @@
+package dev.oakheart.oaktools.recipes;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable ingredient → recipe index for recipe discovery, rebuilt whenever recipes are registered.
+ * Recipes are identified by a bit (one per tool type ordinal), ingredients by a bit in a long.
+ */
+public final class RecipeIndex {
+
+    private static final AtomicInteger GENERATIONS = new AtomicInteger();
+
+    /**
+     * Index with no registered recipes (before the first registration).
+     */
+    public static final RecipeIndex EMPTY = new RecipeIndex(new NamespacedKey[0], List.of());
+
+    private final int generation;
+    private final Map<Material, Integer> ingredientBits = new EnumMap<>(Material.class);
+    private final Map<Material, Integer> recipesUsing = new EnumMap<>(Material.class);
+    private final NamespacedKey[] keys;
+    private final long[] required;
+    private final int allRecipes;
+
+    /**
+     * Build an index.
+     *
+     * @param keys recipe keys by recipe bit (null for recipes that aren't registered)
+     * @param ingredients ingredient materials by recipe bit (null for recipes that aren't registered)
+     */
+    RecipeIndex(NamespacedKey[] keys, List<Set<Material>> ingredients) {
+        this.generation = GENERATIONS.incrementAndGet();
+        this.keys = keys;
+        this.required = new long[keys.length];
+
+        int all = 0;
+        for (int recipe = 0; recipe < keys.length; recipe++) {
+            if (keys[recipe] == null) {
+                continue;
+            }
+            all |= 1 << recipe;
+
+            for (Material material : ingredients.get(recipe)) {
+                Integer bit = ingredientBits.get(material);
+                if (bit == null) {
+                    if (ingredientBits.size() == Long.SIZE) {
+                        throw new IllegalStateException("Too many distinct recipe ingredients (max " + Long.SIZE + ")");
+                    }
+                    bit = ingredientBits.size();
+                    ingredientBits.put(material, bit);
+                }
+                required[recipe] |= 1L << bit;
+                recipesUsing.merge(material, 1 << recipe, (a, b) -> a | b);
+            }
+        }
+        this.allRecipes = all;
+    }
+
+    /**
+     * Get the generation of this index (changes on every rebuild).
+     *
+     * @return the generation
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get the mask of all registered recipes.
+     *
+     * @return recipe bitmask
+     */
+    public int getAllRecipes() {
+        return allRecipes;
+    }
+
+    /**
+     * Get the recipes that use a material as an ingredient.
+     *
+     * @param material the material
+     * @return recipe bitmask (0 if unused)
+     */
+    public int getRecipesUsing(Material material) {
+        return recipesUsing.getOrDefault(material, 0);
+    }
+
+    /**
+     * Get the key of a recipe.
+     *
+     * @param recipe the recipe bit index
+     * @return the recipe key
+     */
+    public NamespacedKey getKey(int recipe) {
+        return keys[recipe];
+    }
+
+    /**
+     * Get the ingredients a recipe requires.
+     *
+     * @param recipe the recipe bit index
+     * @return ingredient bitmask
+     */
+    public long getRequired(int recipe) {
+        return required[recipe];
+    }
+
+    /**
+     * Collect which ingredients are present in a set of items, in a single pass.
+     *
+     * @param contents the items (null entries allowed)
+     * @return ingredient bitmask
+     */
+    public long collectIngredients(ItemStack[] contents) {
+        long present = 0L;
+        for (ItemStack item : contents) {
+            if (item == null) {
+                continue;
+            }
+            Integer bit = ingredientBits.get(item.getType());
+            if (bit != null) {
+                present |= 1L << bit;
+            }
+        }
+        return present;
+    }
+}
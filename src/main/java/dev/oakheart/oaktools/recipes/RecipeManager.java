@@ -9,8 +9,11 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.ShapedRecipe;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * Manages crafting recipe registration for OakTools tools.
@@ -18,44 +21,66 @@ import java.util.Map;
 public class RecipeManager {
 
     private final OakTools plugin;
+    private volatile RecipeIndex recipeIndex = RecipeIndex.EMPTY;
 
     public RecipeManager(OakTools plugin) {
         this.plugin = plugin;
     }
 
     /**
-     * Register all tool recipes.
+     * Register all tool recipes and rebuild the recipe discovery index.
      */
     public void registerRecipes() {
-        registerRecipe(ToolType.FILE);
-        registerRecipe(ToolType.TROWEL);
+        ToolType[] toolTypes = ToolType.values();
+        NamespacedKey[] keys = new NamespacedKey[toolTypes.length];
+        List<Set<Material>> ingredients = new ArrayList<>(Collections.nCopies(toolTypes.length, null));
+
+        for (ToolType toolType : toolTypes) {
+            Set<Material> materials = registerRecipe(toolType);
+            if (materials != null) {
+                keys[toolType.ordinal()] = new NamespacedKey(plugin, toolType.name().toLowerCase() + "_recipe");
+                ingredients.set(toolType.ordinal(), materials);
+            }
+        }
+
+        this.recipeIndex = new RecipeIndex(keys, ingredients);
+    }
+
+    /**
+     * Get the ingredient index for the currently registered recipes.
+     *
+     * @return the recipe index
+     */
+    public RecipeIndex getRecipeIndex() {
+        return recipeIndex;
     }
 
     /**
      * Register a recipe for a specific tool type.
      *
      * @param toolType the tool type
+     * @return the recipe's ingredient materials, or null if the recipe wasn't registered
      */
-    private void registerRecipe(ToolType toolType) {
+    private Set<Material> registerRecipe(ToolType toolType) {
         FileConfiguration config = plugin.getConfigManager().getConfig();
         String toolName = toolType.name().toLowerCase();
 
         // Check if recipe is enabled
         if (!config.getBoolean("tools." + toolName + ".recipe.enabled", true)) {
-            return;
+            return null;
         }
 
         ConfigurationSection recipeSection = config.getConfigurationSection("tools." + toolName + ".recipe");
         if (recipeSection == null) {
             plugin.getLogger().warning("Missing recipe configuration for " + toolName);
-            return;
+            return null;
         }
 
         // Get shape
         List<String> shapeList = recipeSection.getStringList("shape");
         if (shapeList.size() != 3) {
             plugin.getLogger().warning("Invalid recipe shape for " + toolName + " (must be 3 rows)");
-            return;
+            return null;
         }
 
         String[] shape = shapeList.toArray(new String[0]);
@@ -64,7 +89,7 @@ public class RecipeManager {
         ConfigurationSection ingredientsSection = recipeSection.getConfigurationSection("ingredients");
         if (ingredientsSection == null) {
             plugin.getLogger().warning("Missing ingredients for " + toolName);
-            return;
+            return null;
         }
 
         // Create result item
@@ -87,6 +112,7 @@ public class RecipeManager {
         }
 
         // Set ingredients
+        Set<Material> materials = EnumSet.noneOf(Material.class);
         for (String ingredientKey : ingredientsSection.getKeys(false)) {
             String materialName = ingredientsSection.getString(ingredientKey);
             if (materialName == null) {
@@ -96,6 +122,7 @@ public class RecipeManager {
             try {
                 Material material = Material.valueOf(materialName);
                 recipe.setIngredient(ingredientKey.charAt(0), material);
+                materials.add(material);
             } catch (IllegalArgumentException e) {
                 plugin.getLogger().warning("Invalid material in recipe for " + toolName + ": " + materialName);
             }
@@ -105,8 +132,10 @@ public class RecipeManager {
         try {
             plugin.getServer().addRecipe(recipe);
             plugin.getLogger().info("Registered recipe for " + toolType.getDisplayName());
+            return materials;
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to register recipe for " + toolName + ": " + e.getMessage());
+            return null;
         }
     }
 
@@ -114,6 +143,7 @@ public class RecipeManager {
      * Unregister all tool recipes (for reload).
      */
     public void unregisterRecipes() {
+        recipeIndex = RecipeIndex.EMPTY;
         for (ToolType toolType : ToolType.values()) {
             String toolName = toolType.name().toLowerCase();
             NamespacedKey key = new NamespacedKey(plugin, toolName + "_recipe");
@@ -1,16 +1,16 @@
 package dev.oakheart.oaktools.services;
 
 import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.core.ToolPlaceholders;
+import dev.oakheart.oaktools.items.ToolState;
 import dev.oakheart.oaktools.model.FeedSource;
 import dev.oakheart.oaktools.model.ToolType;
-import dev.oakheart.oaktools.util.Constants;
+import dev.oakheart.oaktools.stats.ToolStats;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -67,6 +67,25 @@ public class DisplayService {
      * @param item the tool item
      */
     public void updateDisplay(ItemStack item) {
+        long start = System.nanoTime();
+        applyDisplay(item);
+        plugin.getToolStats().record(ToolStats.Timer.DISPLAY_UPDATE, start);
+    }
+
+    /**
+     * Update the lore after a tool was used (durability changed).
+     * Skipped while the tick budget watchdog is deferring lore; the next update under budget catches up.
+     *
+     * @param item the tool item
+     */
+    public void updateDisplayAfterUse(ItemStack item) {
+        if (plugin.getTickBudgetWatchdog().isShedding(TickBudgetWatchdog.Level.DEFERRED)) {
+            return;
+        }
+        updateDisplay(item);
+    }
+
+    private void applyDisplay(ItemStack item) {
         if (!plugin.getItemFactory().isTool(item)) {
             return;
         }
@@ -127,15 +146,25 @@ public class DisplayService {
         String path = "tools." + toolType.name().toLowerCase() + ".display.lore";
         List<String> loreTemplate = config.getStringList(path);
 
-        List<Component> loreComponents = new ArrayList<>();
+        meta.lore(renderLore(loreTemplate, readPlaceholders(item)));
+    }
+
+    /**
+     * Render lore lines from a template.
+     *
+     * @param loreTemplate the MiniMessage lore lines
+     * @param placeholders the placeholder values (null to leave placeholders untouched)
+     * @return the lore components
+     */
+    List<Component> renderLore(List<String> loreTemplate, ToolPlaceholders placeholders) {
+        List<Component> loreComponents = new ArrayList<>(loreTemplate.size());
         for (String line : loreTemplate) {
-            String lineWithPlaceholders = replacePlaceholders(line, item);
+            String lineWithPlaceholders = placeholders != null ? placeholders.apply(line) : line;
             Component lineComponent = miniMessage.deserialize(lineWithPlaceholders)
                     .decoration(net.kyori.adventure.text.format.TextDecoration.ITALIC, false);
             loreComponents.add(lineComponent);
         }
-
-        meta.lore(loreComponents);
+        return loreComponents;
     }
 
     /**
@@ -146,45 +175,49 @@ public class DisplayService {
      * @return the text with placeholders replaced
      */
     private String replacePlaceholders(String text, ItemStack item) {
+        ToolPlaceholders placeholders = readPlaceholders(item);
+        return placeholders != null ? placeholders.apply(text) : text;
+    }
+
+    /**
+     * Read placeholder values from a tool.
+     *
+     * @param item the tool item
+     * @return the placeholder values, or null if the item is not a tool
+     */
+    private ToolPlaceholders readPlaceholders(ItemStack item) {
         if (!plugin.getItemFactory().isTool(item)) {
-            return text;
+            return null;
         }
 
         ItemMeta meta = item.getItemMeta();
         if (meta == null) {
-            return text;
+            return null;
         }
 
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-
-        // Get durability data
-        Integer currentDamage = pdc.get(Constants.DURABILITY, PersistentDataType.INTEGER);
-        Integer maxDurability = pdc.get(Constants.MAX_DURABILITY, PersistentDataType.INTEGER);
-
-        if (currentDamage != null && maxDurability != null) {
-            int remaining = maxDurability - currentDamage;
-            int percent = (int) Math.round(((double) remaining / maxDurability) * 100);
+        ToolState state = ToolState.read(meta.getPersistentDataContainer());
+        if (state == null) {
+            return null;
+        }
 
-            text = text.replace("%cur%", String.valueOf(currentDamage));
-            text = text.replace("%max%", String.valueOf(maxDurability));
-            text = text.replace("%remaining%", String.valueOf(remaining));
-            text = text.replace("%percent%", String.valueOf(percent));
+        // Get durability data (PDC or damage components)
+        Integer currentDamage = null;
+        Integer maxDurability = null;
+        DurabilityService.Durability durability = plugin.getDurabilityService().read(item, meta);
+        if (durability != null) {
+            currentDamage = durability.damage();
+            maxDurability = durability.maxDurability();
         }
 
         // Get tool type
-        ToolType toolType = plugin.getItemFactory().getToolType(item);
-        if (toolType != null) {
-            text = text.replace("%tool%", toolType.getDisplayName());
-        }
+        String toolName = state.toolType().getDisplayName();
 
         // Get feed source (Trowel only)
-        String feedSourceString = pdc.get(Constants.FEED_SOURCE, PersistentDataType.STRING);
-        if (feedSourceString != null) {
-            FeedSource feedSource = FeedSource.fromString(feedSourceString);
-            text = text.replace("%feed_source%", getFeedSourceDisplayName(feedSource));
-        }
+        String feedSourceName = state.feedSource() != null
+                ? getFeedSourceDisplayName(state.feedSource())
+                : null;
 
-        return text;
+        return new ToolPlaceholders(currentDamage, maxDurability, toolName, feedSourceName);
     }
 
     /**
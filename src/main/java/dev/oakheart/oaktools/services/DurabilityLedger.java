@@ -0,0 +1,305 @@
+package dev.oakheart.oaktools.services;
+
+import dev.oakheart.oaktools.OakTools;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind durability for the tool a player is using (general.durability_write_behind).
+ * Durability used by the Trowel and File is kept here and written to the item in one go at flush points:
+ * slot change, hand swap, inventory open or click, drop, death, quit, world save, and after a number of
+ * uses or ticks. DurabilityService checks breakage against the pending value, so tools still break on
+ * exactly the same use.
+ */
+public class DurabilityLedger implements Listener {
+
+    /**
+     * Unwritten durability for one player's tool. Guarded by its own monitor so the sweep can
+     * safely look at it from the global region.
+     */
+    private static final class Pending {
+        final ItemStack item;      // Live stack the durability is written to
+        final ItemStack snapshot;  // Copy from the first deferred use, to find the tool among drops
+        final int maxDurability;
+        final int firstTick;
+        int damage;
+        int uses;
+        boolean flushScheduled;
+
+        Pending(ItemStack item, int maxDurability, int firstTick) {
+            this.item = item;
+            this.snapshot = item.clone();
+            this.maxDurability = maxDurability;
+            this.firstTick = firstTick;
+        }
+    }
+
+    private final OakTools plugin;
+    private final Map<UUID, Pending> ledger = new ConcurrentHashMap<>();
+
+    public DurabilityLedger(OakTools plugin) {
+        this.plugin = plugin;
+
+        // One sweep per tick writes entries that have waited long enough
+        plugin.getTaskScheduler().runGlobalTimer(this::sweep, 1L, 1L);
+    }
+
+    /**
+     * Check if write-behind durability is enabled.
+     *
+     * @return true if durability changes should be deferred
+     */
+    public boolean isEnabled() {
+        return plugin.getConfigManager().getConfig().getBoolean("general.durability_write_behind.enabled", false);
+    }
+
+    /**
+     * Check if a player has durability that hasn't been written to their tool yet.
+     * The tool's lore is updated when it is written.
+     *
+     * @param player the player
+     * @return true if a change is pending
+     */
+    public boolean isPending(Player player) {
+        return !ledger.isEmpty() && ledger.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Write a player's pending durability to their tool now.
+     *
+     * @param player the player
+     */
+    public void flush(Player player) {
+        if (ledger.isEmpty()) {
+            return;
+        }
+        Pending entry = ledger.remove(player.getUniqueId());
+        if (entry != null) {
+            synchronized (entry) {
+                write(entry.item, entry);
+            }
+        }
+    }
+
+    /**
+     * Write every pending change. Called on disable.
+     */
+    public void shutdown() {
+        for (UUID playerId : ledger.keySet()) {
+            Pending entry = ledger.remove(playerId);
+            if (entry != null) {
+                synchronized (entry) {
+                    write(entry.item, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the pending durability for the tool being used.
+     * If the pending change belongs to a different stack, it is written first.
+     *
+     * @param player the player
+     * @param item the tool being used
+     * @return the pending durability, or null to read it from the item
+     */
+    DurabilityService.Durability pending(Player player, ItemStack item) {
+        if (ledger.isEmpty()) {
+            return null;
+        }
+        Pending entry = ledger.get(player.getUniqueId());
+        if (entry == null) {
+            return null;
+        }
+
+        synchronized (entry) {
+            if (entry.snapshot.isSimilar(item)) {
+                return new DurabilityService.Durability(entry.damage, entry.maxDurability);
+            }
+        }
+
+        // Switched tools without a flush event (or the tool was changed by something else)
+        flush(player);
+        return null;
+    }
+
+    /**
+     * Keep a tool's new damage in memory instead of writing it.
+     *
+     * @param player the player
+     * @param item the tool being used
+     * @param damage the new damage
+     * @param maxDurability the tool's maximum durability
+     */
+    void defer(Player player, ItemStack item, int damage, int maxDurability) {
+        UUID playerId = player.getUniqueId();
+        Pending entry = ledger.computeIfAbsent(playerId,
+                id -> new Pending(item, maxDurability, Bukkit.getCurrentTick()));
+
+        synchronized (entry) {
+            entry.damage = damage;
+            entry.uses++;
+
+            int flushUses = plugin.getConfigManager().getConfig()
+                    .getInt("general.durability_write_behind.flush_uses", 32);
+            if (entry.uses >= flushUses && ledger.remove(playerId, entry)) {
+                write(entry.item, entry);
+            }
+        }
+    }
+
+    /**
+     * Drop a player's pending durability (the tool broke).
+     *
+     * @param player the player
+     */
+    void discard(Player player) {
+        if (!ledger.isEmpty()) {
+            ledger.remove(player.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        flush(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        flush(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        if (event.getPlayer() instanceof Player player) {
+            flush(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            flush(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        Pending entry = ledger.isEmpty() ? null : ledger.remove(event.getPlayer().getUniqueId());
+        if (entry == null) {
+            return;
+        }
+
+        synchronized (entry) {
+            // The dropped entity holds a copy of the tool, not the stack we were given
+            Item drop = event.getItemDrop();
+            ItemStack dropped = drop.getItemStack();
+            if (dropped.isSimilar(entry.snapshot)) {
+                write(dropped, entry);
+                drop.setItemStack(dropped);
+            } else {
+                write(entry.item, entry);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        Pending entry = ledger.isEmpty() ? null : ledger.remove(event.getPlayer().getUniqueId());
+        if (entry == null) {
+            return;
+        }
+
+        synchronized (entry) {
+            // Drops are copies; with keepInventory the tool stays in the inventory
+            for (ItemStack drop : event.getDrops()) {
+                if (drop.isSimilar(entry.snapshot)) {
+                    write(drop, entry);
+                    return;
+                }
+            }
+            write(entry.item, entry);
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        flush(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onWorldSave(WorldSaveEvent event) {
+        if (ledger.isEmpty()) {
+            return;
+        }
+        for (Player player : event.getWorld().getPlayers()) {
+            if (!ledger.containsKey(player.getUniqueId())) {
+                continue;
+            }
+            // Write now so this save includes it; a scheduled flush would land after the save.
+            // On Folia, players owned by another region can only be written on their own thread
+            if (Bukkit.isOwnedByCurrentRegion(player)) {
+                flush(player);
+            } else {
+                plugin.getTaskScheduler().runAtEntity(player, () -> flush(player));
+            }
+        }
+    }
+
+    /**
+     * Schedule writes for entries older than flush_ticks.
+     * Runs on the global region on Folia, so it never touches items.
+     */
+    private void sweep() {
+        if (ledger.isEmpty()) {
+            return;
+        }
+
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+        int flushTicks = config.getInt("general.durability_write_behind.flush_ticks", 100);
+        int now = Bukkit.getCurrentTick();
+
+        for (Map.Entry<UUID, Pending> mapEntry : ledger.entrySet()) {
+            Pending entry = mapEntry.getValue();
+            synchronized (entry) {
+                if (entry.flushScheduled || now - entry.firstTick < flushTicks) {
+                    continue;
+                }
+                entry.flushScheduled = true;
+            }
+
+            Player player = Bukkit.getPlayer(mapEntry.getKey());
+            if (player == null) {
+                ledger.remove(mapEntry.getKey(), entry);
+                continue;
+            }
+            plugin.getTaskScheduler().runAtEntity(player, () -> flush(player));
+        }
+    }
+
+    /**
+     * Write pending durability and lore to a stack (caller holds the entry's monitor).
+     */
+    private void write(ItemStack item, Pending entry) {
+        plugin.getDurabilityService().writePending(item, entry.damage);
+        plugin.getDisplayService().updateDisplay(item);
+    }
+}
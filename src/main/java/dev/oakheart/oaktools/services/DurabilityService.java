@@ -1,36 +1,74 @@
 package dev.oakheart.oaktools.services;
 
 import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.core.DurabilityMath;
+import dev.oakheart.oaktools.items.ToolState;
 import dev.oakheart.oaktools.model.ToolType;
-import dev.oakheart.oaktools.util.Constants;
+import io.papermc.paper.datacomponent.DataComponentTypes;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
 import org.bukkit.GameMode;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
 
-import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Handles tool durability consumption, mending, repair, and warnings.
+ * This is the single place tool durability is read and written, in whichever storage
+ * general.durability_storage selects. Tools in the other storage are migrated on their next write.
  */
 public class DurabilityService {
 
+    /**
+     * Where tool durability is stored.
+     */
+    public enum Storage {
+        PDC,         // Plugin data, mirrored to the vanilla damage bar as a ratio
+        COMPONENTS;  // The item's max_damage/damage components, shown exactly by the client
+
+        /**
+         * Safely parse a Storage from a string, with fallback.
+         *
+         * @param value the string value to parse
+         * @return the Storage, or PDC as fallback
+         */
+        public static Storage fromString(String value) {
+            if (value == null) {
+                return PDC;
+            }
+            try {
+                return Storage.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return PDC;
+            }
+        }
+    }
+
+    /**
+     * A tool's durability.
+     *
+     * @param damage the current damage (0 = full durability)
+     * @param maxDurability the damage at which the tool breaks
+     */
+    public record Durability(int damage, int maxDurability) {
+    }
+
     private final OakTools plugin;
-    private final Random random;
 
     public DurabilityService(OakTools plugin) {
         this.plugin = plugin;
-        this.random = new Random();
     }
 
     /**
      * Damage a tool, respecting Unbreaking enchantment.
      * Only damages in survival/adventure mode based on config.
+     * With write-behind enabled the new damage is kept in the {@link DurabilityLedger} instead of written.
      *
      * @param item the tool item
      * @param player the player using the tool
@@ -53,37 +91,65 @@ public class DurabilityService {
         }
 
         // Check Unbreaking enchantment
+        // 1/(level+1) chance to consume durability
         int unbreakingLevel = meta.getEnchantLevel(Enchantment.UNBREAKING);
-        if (unbreakingLevel > 0) {
-            // 1/(level+1) chance to consume durability
-            if (random.nextInt(unbreakingLevel + 1) != 0) {
-                return false; // Durability not consumed due to Unbreaking
-            }
+        if (!DurabilityMath.consumesDurability(unbreakingLevel, ThreadLocalRandom.current())) {
+            return false; // Durability not consumed due to Unbreaking
         }
 
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        Integer currentDamage = pdc.get(Constants.DURABILITY, PersistentDataType.INTEGER);
-        Integer maxDurability = pdc.get(Constants.MAX_DURABILITY, PersistentDataType.INTEGER);
-
-        if (currentDamage == null || maxDurability == null) {
+        // Durability not yet written to the item counts too (write-behind)
+        DurabilityLedger ledger = plugin.getDurabilityLedger();
+        boolean writeBehind = ledger.isEnabled();
+        Durability durability = writeBehind ? ledger.pending(player, item) : null;
+        if (durability == null) {
+            durability = read(item, meta);
+        }
+        if (durability == null) {
             return false;
         }
 
         // Apply damage
-        int newDamage = currentDamage + amount;
+        int newDamage = durability.damage() + amount;
+
+        // Track the tool in the registry, stamping it with an ID on first use
+        ToolRegistry registry = plugin.getToolRegistry();
+        if (registry.isEnabled()) {
+            PersistentDataContainer pdc = meta.getPersistentDataContainer();
+            ToolState state = ToolState.read(pdc);
+            UUID id = state.id();
+            if (id == null) {
+                id = UUID.randomUUID();
+                state.withId(id).write(pdc);
+                item.setItemMeta(meta); // Once per tool; deferred and component writes wouldn't carry it
+            }
+
+            // With write-behind the registry only learns the damage once it is written to the item (see
+            // writePending), so after a crash it is never ahead of the saved item; copies are checked
+            // against the written damage too
+            Durability written = writeBehind ? read(item, meta) : durability;
+            boolean deferred = writeBehind && newDamage < durability.maxDurability();
+            boolean duplicate = registry.recordUse(id, player, state.toolType(), written.damage(),
+                    deferred ? written.damage() : newDamage, durability.maxDurability());
+            if (duplicate && registry.getDuplicateAction() == ToolRegistry.DuplicateAction.NEUTRALIZE) {
+                ledger.discard(player);
+                item.setAmount(0);
+                return true;
+            }
+        }
 
         // Check if tool broke
-        if (newDamage >= maxDurability) {
+        if (newDamage >= durability.maxDurability()) {
+            ledger.discard(player);
             breakTool(item, player);
             return true;
         }
 
-        // Update damage
-        pdc.set(Constants.DURABILITY, PersistentDataType.INTEGER, newDamage);
-        item.setItemMeta(meta);
-
-        // Sync vanilla durability bar
-        plugin.getItemFactory().syncVanillaDurability(item);
+        // Update damage (or keep it in the ledger until the next flush point)
+        if (writeBehind) {
+            ledger.defer(player, item, newDamage, durability.maxDurability());
+        } else {
+            write(item, meta, newDamage, durability.maxDurability());
+        }
 
         return false;
     }
@@ -107,16 +173,13 @@ public class DurabilityService {
             return false;
         }
 
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        Integer currentDamage = pdc.get(Constants.DURABILITY, PersistentDataType.INTEGER);
-        Integer maxDurability = pdc.get(Constants.MAX_DURABILITY, PersistentDataType.INTEGER);
-
-        if (currentDamage == null || maxDurability == null) {
+        Durability durability = read(item, meta);
+        if (durability == null) {
             return false;
         }
 
         // Check if damage would exceed max (conservative: assume Unbreaking doesn't proc)
-        return (currentDamage + amount) >= maxDurability;
+        return (durability.damage() + amount) >= durability.maxDurability();
     }
 
     /**
@@ -135,21 +198,13 @@ public class DurabilityService {
             return;
         }
 
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        Integer currentDamage = pdc.get(Constants.DURABILITY, PersistentDataType.INTEGER);
-        Integer maxDurability = pdc.get(Constants.MAX_DURABILITY, PersistentDataType.INTEGER);
-
-        if (currentDamage == null || maxDurability == null) {
+        Durability durability = read(item, meta);
+        if (durability == null) {
             return;
         }
 
         // Repair (capped at 0 damage = full durability)
-        int newDamage = Math.max(0, currentDamage - amount);
-        pdc.set(Constants.DURABILITY, PersistentDataType.INTEGER, newDamage);
-        item.setItemMeta(meta);
-
-        // Sync vanilla durability bar
-        plugin.getItemFactory().syncVanillaDurability(item);
+        update(item, meta, Math.max(0, durability.damage() - amount), durability.maxDurability());
     }
 
     /**
@@ -167,12 +222,154 @@ public class DurabilityService {
             return;
         }
 
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        pdc.set(Constants.DURABILITY, PersistentDataType.INTEGER, 0);
-        item.setItemMeta(meta);
+        Durability durability = read(item, meta);
+        if (durability == null) {
+            return;
+        }
+
+        update(item, meta, 0, durability.maxDurability());
+    }
+
+    /**
+     * Set a tool's damage, keeping its maximum durability.
+     *
+     * @param item the tool item
+     * @param damage the new damage (0 = full durability)
+     */
+    public void setDamage(ItemStack item, int damage) {
+        setDamage(item, damage, false);
+    }
+
+    /**
+     * Write damage the ledger held back. Uses were already counted in the tool registry; the damage is
+     * recorded now that the item carries it.
+     */
+    void writePending(ItemStack item, int damage) {
+        setDamage(item, damage, true);
+    }
+
+    private void setDamage(ItemStack item, int damage, boolean fromUse) {
+        if (!plugin.getItemFactory().isTool(item)) {
+            return;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return;
+        }
+
+        Durability durability = read(item, meta);
+        if (durability == null) {
+            return;
+        }
+
+        if (!fromUse) {
+            update(item, meta, damage, durability.maxDurability());
+            return;
+        }
+
+        ToolState state = write(item, meta, damage, durability.maxDurability());
+        ToolRegistry registry = plugin.getToolRegistry();
+        if (state != null && state.id() != null && registry.isEnabled()) {
+            registry.recordWrite(state.id(), damage);
+        }
+    }
+
+    /**
+     * Set a tool's damage and maximum durability.
+     *
+     * @param item the tool item
+     * @param damage the new damage (0 = full durability)
+     * @param maxDurability the new maximum durability
+     */
+    public void setDurability(ItemStack item, int damage, int maxDurability) {
+        if (!plugin.getItemFactory().isTool(item)) {
+            return;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return;
+        }
+
+        update(item, meta, damage, maxDurability);
+    }
+
+    /**
+     * Set the durability of a tool that isn't in play yet, such as an anvil result being previewed.
+     * The preview carries the tool's ID, so the tool registry isn't told; call {@link #recordDurability(ItemStack)}
+     * once the player takes it.
+     *
+     * @param item the previewed tool item
+     * @param damage the new damage (0 = full durability)
+     * @param maxDurability the new maximum durability
+     */
+    public void setPreviewDurability(ItemStack item, int damage, int maxDurability) {
+        if (!plugin.getItemFactory().isTool(item)) {
+            return;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return;
+        }
+
+        write(item, meta, damage, maxDurability);
+    }
+
+    /**
+     * Make a tool's durability the tool registry's authoritative durability.
+     * Called when a player takes a previewed result (see {@link #setPreviewDurability}).
+     *
+     * @param item the tool item
+     */
+    public void recordDurability(ItemStack item) {
+        ToolRegistry registry = plugin.getToolRegistry();
+        if (!registry.isEnabled() || !plugin.getItemFactory().isTool(item)) {
+            return;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return;
+        }
+
+        ToolState state = ToolState.read(meta.getPersistentDataContainer());
+        Durability durability = read(item, meta);
+        if (state != null && state.id() != null && durability != null) {
+            registry.recordDurability(state.id(), state.toolType(), durability.damage(), durability.maxDurability());
+        }
+    }
+
+    /**
+     * Read a tool's durability from whichever storage it is in.
+     *
+     * @param item the tool item
+     * @param meta the item's meta (already fetched by the caller)
+     * @return the durability, or null if the item has none
+     */
+    public Durability read(ItemStack item, ItemMeta meta) {
+        ToolState state = ToolState.read(meta.getPersistentDataContainer());
+        if (state != null && state.hasDurability()) {
+            return new Durability(state.damage(), state.maxDurability());
+        }
 
-        // Sync vanilla durability bar
-        plugin.getItemFactory().syncVanillaDurability(item);
+        // Stored in the components
+        Integer componentMax = item.getData(DataComponentTypes.MAX_DAMAGE);
+        if (componentMax == null) {
+            return null;
+        }
+        Integer componentDamage = item.getData(DataComponentTypes.DAMAGE);
+        return new Durability(componentDamage != null ? componentDamage : 0, componentMax);
+    }
+
+    /**
+     * Get the configured durability storage.
+     *
+     * @return the storage new writes go to
+     */
+    public Storage getStorage() {
+        return Storage.fromString(plugin.getConfigManager().getConfig().getString("general.durability_storage", "PDC"));
     }
 
     /**
@@ -191,8 +388,8 @@ public class DurabilityService {
             return -1;
         }
 
-        Integer damage = meta.getPersistentDataContainer().get(Constants.DURABILITY, PersistentDataType.INTEGER);
-        return damage != null ? damage : -1;
+        Durability durability = read(item, meta);
+        return durability != null ? durability.damage() : -1;
     }
 
     /**
@@ -211,8 +408,8 @@ public class DurabilityService {
             return -1;
         }
 
-        Integer maxDur = meta.getPersistentDataContainer().get(Constants.MAX_DURABILITY, PersistentDataType.INTEGER);
-        return maxDur != null ? maxDur : -1;
+        Durability durability = read(item, meta);
+        return durability != null ? durability.maxDurability() : -1;
     }
 
     /**
@@ -232,6 +429,73 @@ public class DurabilityService {
         return max - current;
     }
 
+    /**
+     * Write a durability change that didn't come from use (repair, mending, anvil, commands)
+     * and make it the tool registry's authoritative durability.
+     */
+    private void update(ItemStack item, ItemMeta meta, int damage, int maxDurability) {
+        ToolState state = write(item, meta, damage, maxDurability);
+        ToolRegistry registry = plugin.getToolRegistry();
+        if (state != null && state.id() != null && registry.isEnabled()) {
+            registry.recordDurability(state.id(), state.toolType(), damage, maxDurability);
+        }
+    }
+
+    /**
+     * Write a tool's durability to the configured storage with a single item update,
+     * moving it out of the other storage if it is still there.
+     *
+     * @return the tool's state, or null if the item isn't a tool
+     */
+    private ToolState write(ItemStack item, ItemMeta meta, int damage, int maxDurability) {
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        ToolState state = ToolState.read(pdc);
+        if (state == null) {
+            return null;
+        }
+        boolean storedInPdc = state.hasDurability();
+
+        if (getStorage() == Storage.COMPONENTS) {
+            if (storedInPdc || !ToolState.isCompact(pdc)) {
+                // Migrate: the components become the only copy
+                state.withoutDurability().write(pdc);
+                item.setItemMeta(meta);
+            }
+
+            Integer currentMax = item.getData(DataComponentTypes.MAX_DAMAGE);
+            if (currentMax == null || currentMax != maxDurability) {
+                // Damageable items can't stack
+                if (item.getType().getMaxStackSize() > 1) {
+                    item.setData(DataComponentTypes.MAX_STACK_SIZE, 1);
+                }
+                item.setData(DataComponentTypes.MAX_DAMAGE, maxDurability);
+            }
+            item.setData(DataComponentTypes.DAMAGE, damage);
+            return state;
+        }
+
+        state = state.withDurability(damage, maxDurability);
+        state.write(pdc);
+
+        // Mirror to the vanilla durability bar (visual only)
+        if (usesVanillaDamageBar(state.toolType()) && meta instanceof Damageable damageable) {
+            int vanillaMaxDurability = item.getType().getMaxDurability();
+            damageable.setDamage(DurabilityMath.vanillaDamage(damage, maxDurability, vanillaMaxDurability));
+        }
+        item.setItemMeta(meta);
+
+        if (!storedInPdc) {
+            // Migrate back from the components: the bar is a ratio of the material's own max damage again
+            item.resetData(DataComponentTypes.MAX_DAMAGE);
+        }
+        return state;
+    }
+
+    private boolean usesVanillaDamageBar(ToolType toolType) {
+        return plugin.getConfigManager().getConfig()
+                .getBoolean("tools." + toolType.name().toLowerCase() + ".durability.use_vanilla_damage_bar", true);
+    }
+
     /**
      * Break a tool and play the vanilla break sound.
      *
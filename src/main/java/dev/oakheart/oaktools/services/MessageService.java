@@ -76,11 +76,7 @@ public class MessageService {
      * @param placeholders placeholder map
      */
     private void sendActionBar(Player player, ConfigurationSection messageSection, Map<String, String> placeholders) {
-        String content = messageSection.getString("content", "");
-        content = replacePlaceholders(content, placeholders);
-
-        Component component = miniMessage.deserialize(content);
-        player.sendActionBar(component);
+        player.sendActionBar(render(messageSection.getString("content", ""), placeholders));
     }
 
     /**
@@ -91,11 +87,7 @@ public class MessageService {
      * @param placeholders placeholder map
      */
     private void sendChat(Player player, ConfigurationSection messageSection, Map<String, String> placeholders) {
-        String content = messageSection.getString("content", "");
-        content = replacePlaceholders(content, placeholders);
-
-        Component component = miniMessage.deserialize(content);
-        player.sendMessage(component);
+        player.sendMessage(render(messageSection.getString("content", ""), placeholders));
     }
 
     /**
@@ -109,11 +101,8 @@ public class MessageService {
         String titleText = messageSection.getString("title", "");
         String subtitleText = messageSection.getString("subtitle", "");
 
-        titleText = replacePlaceholders(titleText, placeholders);
-        subtitleText = replacePlaceholders(subtitleText, placeholders);
-
-        Component title = miniMessage.deserialize(titleText);
-        Component subtitle = miniMessage.deserialize(subtitleText);
+        Component title = render(titleText, placeholders);
+        Component subtitle = render(subtitleText, placeholders);
 
         Title titleObj = Title.title(
                 title,
@@ -128,6 +117,17 @@ public class MessageService {
         player.showTitle(titleObj);
     }
 
+    /**
+     * Render a message template: replace placeholders, then parse MiniMessage.
+     *
+     * @param template the MiniMessage template
+     * @param placeholders map of placeholder names to values (without % symbols)
+     * @return the rendered component
+     */
+    Component render(String template, Map<String, String> placeholders) {
+        return miniMessage.deserialize(replacePlaceholders(template, placeholders));
+    }
+
     /**
      * Replace named placeholders in a message.
      * Replaces %placeholder% with values from the map.
@@ -187,9 +187,7 @@ public class MessageService {
             return;
         }
 
-        content = replacePlaceholders(content, placeholders);
-        Component component = miniMessage.deserialize(content);
-        sender.sendMessage(component);
+        sender.sendMessage(render(content, placeholders));
     }
 
     /**
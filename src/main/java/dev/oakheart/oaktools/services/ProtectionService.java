@@ -1,32 +1,83 @@
 package dev.oakheart.oaktools.services;
 
 import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.integration.EventProtectionProvider;
+import dev.oakheart.oaktools.integration.ProtectionProvider;
+import dev.oakheart.oaktools.stats.ToolStats;
+import dev.oakheart.oaktools.stats.jfr.ProtectionCheckEvent;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
-import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
- * Handles protection checks via fake events for plugin compatibility.
+ * Handles protection checks through registered protection providers.
+ * A block may only be modified if every available provider allows it.
+ * The fake-event provider is registered by default for plugin compatibility.
  */
 public class ProtectionService {
 
     private static final String BYPASS_PERMISSION = "oaktools.bypass.protection";
 
     private final OakTools plugin;
+    private final List<ProtectionProvider> providers = new CopyOnWriteArrayList<>();
 
     public ProtectionService(OakTools plugin) {
         this.plugin = plugin;
+        providers.add(new EventProtectionProvider());
     }
 
     /**
-     * Check if a player can build at a block location (for File tool).
-     * Creates a fake BlockPlaceEvent to check protection.
+     * Create a service that asks only the given providers, without the fake-event provider.
+     * Used by the load simulator, which calls the checks directly since there is no plugin to report to.
      *
-     * NOTE: The fake event is created with canBuild=false to prevent Minecraft from
-     * playing block place sounds. Protection plugins only check the cancelled state.
+     * @param plugin the plugin (may be null if only the checks are called)
+     * @param providers the providers to ask
+     */
+    ProtectionService(OakTools plugin, List<ProtectionProvider> providers) {
+        this.plugin = plugin;
+        this.providers.addAll(providers);
+    }
+
+    /**
+     * Register an additional protection provider.
+     * Other plugins can use this to answer region queries natively.
+     *
+     * @param provider the provider to register
+     */
+    public void registerProvider(ProtectionProvider provider) {
+        if (!providers.contains(provider)) {
+            providers.add(provider);
+            plugin.getLogger().info("Registered protection provider: " + provider.getName());
+        }
+    }
+
+    /**
+     * Unregister a protection provider.
+     *
+     * @param provider the provider to unregister
+     */
+    public void unregisterProvider(ProtectionProvider provider) {
+        if (providers.remove(provider)) {
+            plugin.getLogger().info("Unregistered protection provider: " + provider.getName());
+        }
+    }
+
+    /**
+     * Get the registered protection providers.
+     *
+     * @return an unmodifiable view of the providers
+     */
+    public List<ProtectionProvider> getProviders() {
+        return List.copyOf(providers);
+    }
+
+    /**
+     * Check if a player can build at a block location (for File tool).
      *
      * @param player the player
      * @param block the block to check
@@ -35,8 +86,22 @@ public class ProtectionService {
      * @return true if the player can build, false otherwise
      */
     public boolean canModifyBlock(Player player, Block block, EquipmentSlot hand, ItemStack tool) {
-        boolean debug = plugin.getConfigManager().getConfig().getBoolean("general.debug", false);
+        long start = System.nanoTime();
+        ProtectionCheckEvent jfr = new ProtectionCheckEvent();
+        jfr.start();
+
+        boolean allowed = checkBlock(player, block, hand, tool, isDebugEnabled());
 
+        plugin.getToolStats().record(ToolStats.Timer.PROTECTION_CHECK, start);
+        jfr.player = player.getName();
+        jfr.material = block.getType().name();
+        jfr.blocks = 1;
+        jfr.allowed = allowed ? 1 : 0;
+        jfr.finish();
+        return allowed;
+    }
+
+    boolean checkBlock(Player player, Block block, EquipmentSlot hand, ItemStack tool, boolean debug) {
         if (debug) {
             plugin.getLogger().info("[Protection Debug] canModifyBlock called for block: " + block.getType());
         }
@@ -49,37 +114,82 @@ public class ProtectionService {
             return true;
         }
 
-        if (debug) {
-            plugin.getLogger().info("[Protection Debug] Creating fake BlockPlaceEvent with canBuild=false");
+        for (ProtectionProvider provider : providers) {
+            if (!provider.isAvailable()) {
+                continue;
+            }
+
+            boolean allowed = provider.canModify(player, block, hand, tool);
+
+            if (debug) {
+                plugin.getLogger().info("[Protection Debug] Provider " + provider.getName() + " result: " + allowed);
+            }
+
+            if (!allowed) {
+                return false;
+            }
         }
 
-        // Create fake BlockPlaceEvent to check protection
-        // IMPORTANT: canBuild=false prevents client sounds while still allowing protection checks
-        BlockPlaceEvent fakeEvent = new BlockPlaceEvent(
-                block,                          // Block placed
-                block.getState(),              // Previous state
-                block.getRelative(BlockFace.DOWN), // Block placed against (approximation)
-                tool,                          // Item in hand
-                player,                        // Player
-                false,                         // Can build (FALSE to prevent sounds!)
-                hand                           // Hand used
-        );
+        return true;
+    }
 
-        if (debug) {
-            plugin.getLogger().info("[Protection Debug] Firing fake BlockPlaceEvent...");
+    /**
+     * Check which of the given blocks a player can modify in a single query.
+     * Bit {@code i} of the result corresponds to {@code blocks.get(i)}.
+     *
+     * @param player the player
+     * @param blocks the blocks to check
+     * @param hand the equipment slot used
+     * @param tool the tool item
+     * @return a bit set with a bit set for every block the player can modify
+     */
+    public BitSet canModifyBlocks(Player player, List<Block> blocks, EquipmentSlot hand, ItemStack tool) {
+        long start = System.nanoTime();
+        ProtectionCheckEvent jfr = new ProtectionCheckEvent();
+        jfr.start();
+
+        BitSet allowed = checkBlocks(player, blocks, hand, tool, isDebugEnabled());
+
+        plugin.getToolStats().record(ToolStats.Timer.PROTECTION_CHECK, start);
+        jfr.player = player.getName();
+        jfr.material = blocks.isEmpty() ? null : blocks.get(0).getType().name();
+        jfr.blocks = blocks.size();
+        jfr.allowed = allowed.cardinality();
+        jfr.finish();
+        return allowed;
+    }
+
+    BitSet checkBlocks(Player player, List<Block> blocks, EquipmentSlot hand, ItemStack tool, boolean debug) {
+        BitSet allowed = new BitSet(blocks.size());
+        allowed.set(0, blocks.size());
+
+        if (blocks.isEmpty() || player.hasPermission(BYPASS_PERMISSION)) {
+            return allowed;
         }
 
-        // Call the event (let protection plugins decide)
-        plugin.getServer().getPluginManager().callEvent(fakeEvent);
+        for (ProtectionProvider provider : providers) {
+            if (!provider.isAvailable()) {
+                continue;
+            }
+
+            allowed.and(provider.canModify(player, blocks, hand, tool));
 
-        boolean result = !fakeEvent.isCancelled();
+            if (debug) {
+                plugin.getLogger().info("[Protection Debug] Provider " + provider.getName() + " allowed " +
+                    allowed.cardinality() + "/" + blocks.size() + " blocks");
+            }
 
-        if (debug) {
-            plugin.getLogger().info("[Protection Debug] Event fired. Cancelled: " + fakeEvent.isCancelled() + ", Result: " + result);
+            // Nothing left to check
+            if (allowed.isEmpty()) {
+                break;
+            }
         }
 
-        // If protection plugin cancelled it, deny the action
-        // Note: We check !isCancelled() because canBuild starts as false
-        return result;
+        return allowed;
+    }
+
+    private boolean isDebugEnabled() {
+        return plugin.getConfigManager().getConfig().getBoolean("general.debug", false)
+                && !plugin.getTickBudgetWatchdog().isShedding(TickBudgetWatchdog.Level.REDUCED);
     }
 }
@@ -0,0 +1,273 @@
+package dev.oakheart.oaktools.services;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.core.Face;
+import dev.oakheart.oaktools.core.SessionEvent;
+import dev.oakheart.oaktools.core.SessionWriter;
+import dev.oakheart.oaktools.util.CoreTypes;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Records a player's Trowel placements and File edits to a compact binary file for offline replay.
+ * Recording is toggled per player with /oaktools record. Events are encoded and written by a single
+ * background thread; the tool listeners only pay for building the event while a player is being recorded.
+ */
+public class SessionRecorder implements Listener {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * An active recording. The writer is only touched on the recorder thread.
+     */
+    private static final class Recording {
+        private final Path path;
+        private final long startMillis;
+        private final AtomicInteger events = new AtomicInteger();
+        private SessionWriter writer;
+
+        Recording(Path path, long startMillis) {
+            this.path = path;
+            this.startMillis = startMillis;
+        }
+    }
+
+    /**
+     * Result of stopping a recording.
+     *
+     * @param path the recording file
+     * @param events number of interactions recorded
+     */
+    public record Stopped(Path path, int events) {
+    }
+
+    private final OakTools plugin;
+    private final Map<UUID, Recording> recordings = new ConcurrentHashMap<>();
+    private ExecutorService writerThread;
+
+    public SessionRecorder(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Check if a player's interactions are being recorded.
+     *
+     * @param player the player
+     * @return true if recording
+     */
+    public boolean isRecording(Player player) {
+        return !recordings.isEmpty() && recordings.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Start recording a player.
+     *
+     * @param player the player
+     * @return the file being written, or null if the player is already being recorded
+     */
+    public Path start(Player player) {
+        Path directory = new File(plugin.getDataFolder(), "recordings").toPath();
+        Path path = directory.resolve(player.getName() + "-" + LocalDateTime.now().format(FILE_TIME) + ".otrec");
+        Recording recording = new Recording(path, System.currentTimeMillis());
+        if (recordings.putIfAbsent(player.getUniqueId(), recording) != null) {
+            return null;
+        }
+
+        String name = player.getName();
+        writer().execute(() -> {
+            try {
+                Files.createDirectories(directory);
+                OutputStream output = Files.newOutputStream(path);
+                recording.writer = new SessionWriter(output, name, recording.startMillis);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to start session recording " + path, e);
+            }
+        });
+        return path;
+    }
+
+    /**
+     * Stop recording a player and close the file.
+     *
+     * @param player the player
+     * @return the finished recording, or null if the player wasn't being recorded
+     */
+    public Stopped stop(Player player) {
+        return stop(player.getUniqueId());
+    }
+
+    /**
+     * Stop all recordings and wait for them to be written.
+     */
+    public void shutdown() {
+        for (UUID playerId : new ArrayList<>(recordings.keySet())) {
+            stop(playerId);
+        }
+        if (writerThread == null) {
+            return;
+        }
+        writerThread.shutdown();
+        try {
+            if (!writerThread.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Session recordings did not finish writing within 5 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Record a successful Trowel placement.
+     *
+     * @param player the player
+     * @param referenceBlock the block the placement was calculated against
+     * @param referenceFace the face passed to the placement logic
+     * @param interactionPoint the click point passed to the placement logic
+     * @param feedRow the blocks the Trowel could choose from
+     * @param previousData the state that was replaced
+     * @param placedData the placed state
+     * @param handlerNanos time spent in the listener so far
+     */
+    public void recordPlacement(Player player, Block referenceBlock, BlockFace referenceFace, Vector interactionPoint,
+                                List<ItemStack> feedRow, BlockData previousData, BlockData placedData,
+                                long handlerNanos) {
+        List<String> materials = new ArrayList<>(feedRow.size());
+        for (ItemStack stack : feedRow) {
+            materials.add(stack.getType().name());
+        }
+        record(player, SessionEvent.Kind.PLACEMENT, referenceBlock, referenceFace, interactionPoint, materials,
+                previousData, placedData, handlerNanos);
+    }
+
+    /**
+     * Record a successful File edit.
+     *
+     * @param player the player
+     * @param block the edited block
+     * @param clickedFace the clicked face
+     * @param interactionPoint the click point, or null if the client didn't send one
+     * @param oldData the state before the edit
+     * @param newData the state after the edit
+     * @param handlerNanos time spent in the listener so far
+     */
+    public void recordEdit(Player player, Block block, BlockFace clickedFace, Vector interactionPoint,
+                           BlockData oldData, BlockData newData, long handlerNanos) {
+        record(player, SessionEvent.Kind.EDIT, block, clickedFace, interactionPoint, List.of(),
+                oldData, newData, handlerNanos);
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Stopped stopped = stop(event.getPlayer().getUniqueId());
+        if (stopped != null) {
+            plugin.getLogger().info("Saved session recording for " + event.getPlayer().getName() + " ("
+                    + stopped.events() + " interactions) to " + stopped.path().getFileName());
+        }
+    }
+
+    private void record(Player player, SessionEvent.Kind kind, Block block, BlockFace blockFace, Vector point,
+                        List<String> feedRow, BlockData before, BlockData after, long handlerNanos) {
+        Recording recording = recordings.get(player.getUniqueId());
+        if (recording == null) {
+            return;
+        }
+
+        Face face = CoreTypes.toFace(blockFace);
+        Face facing = CoreTypes.toFace(player.getFacing());
+        if (face == null || facing == null) {
+            return;
+        }
+
+        // Store the click point relative to the block (block center if the client sent none)
+        float pointX = point != null ? (float) (point.getX() - block.getX()) : 0.5f;
+        float pointY = point != null ? (float) (point.getY() - block.getY()) : 0.5f;
+        float pointZ = point != null ? (float) (point.getZ() - block.getZ()) : 0.5f;
+
+        SessionEvent event = new SessionEvent(kind, System.currentTimeMillis() - recording.startMillis,
+                block.getX(), block.getY(), block.getZ(), face, pointX, pointY, pointZ, facing,
+                player.getLocation().getPitch(), player.isSneaking(), feedRow,
+                before.getAsString(), after.getAsString(), handlerNanos);
+        recording.events.incrementAndGet();
+
+        writer().execute(() -> {
+            if (recording.writer == null) {
+                return;
+            }
+            try {
+                recording.writer.write(event);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to write session recording " + recording.path, e);
+                closeQuietly(recording);
+            }
+        });
+
+        int max = plugin.getConfigManager().getConfig().getInt("recording.max_interactions", 100000);
+        if (max > 0 && recording.events.get() >= max) {
+            Stopped stopped = stop(player.getUniqueId());
+            if (stopped != null) {
+                plugin.getLogger().info("Session recording for " + player.getName() + " reached "
+                        + max + " interactions and was saved to " + stopped.path().getFileName());
+            }
+        }
+    }
+
+    private Stopped stop(UUID playerId) {
+        Recording recording = recordings.remove(playerId);
+        if (recording == null) {
+            return null;
+        }
+        writer().execute(() -> closeQuietly(recording));
+        return new Stopped(recording.path, recording.events.get());
+    }
+
+    private void closeQuietly(Recording recording) {
+        if (recording.writer == null) {
+            return;
+        }
+        try {
+            recording.writer.close();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to close session recording " + recording.path, e);
+        }
+        recording.writer = null;
+    }
+
+    /**
+     * Get the background writer, starting it on first use.
+     */
+    private synchronized ExecutorService writer() {
+        if (writerThread == null) {
+            writerThread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "OakTools-Recorder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return writerThread;
+    }
+}
@@ -0,0 +1,146 @@
+package dev.oakheart.oaktools.services;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.util.TaskScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Watches server MSPT and the time OakTools spends per tick, and sheds optional work when over budget.
+ * Work is shed one level at a time and restored one level at a time once load has stayed low.
+ * Protection checks and logging are never skipped - only made cheaper.
+ */
+public class TickBudgetWatchdog {
+
+    /**
+     * How much optional work is being shed. Each level includes the ones before it.
+     */
+    public enum Level {
+        NORMAL("everything enabled"),
+        REDUCED("debug logging and tool sounds off"),
+        DEFERRED("debug logging and tool sounds off, lore updates after use deferred"),
+        MINIMAL("debug logging and tool sounds off, lore updates after use deferred, CoreProtect logs batched");
+
+        private final String description;
+
+        Level(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    // Sample once per second
+    private static final long SAMPLE_TICKS = 20L;
+
+    private final OakTools plugin;
+    private TaskScheduler.Task sampleTask;
+
+    private volatile Level level = Level.NORMAL;
+    private long lastBusyNanos;
+    private int calmSamples;
+    private boolean msptAvailable = true;
+
+    public TickBudgetWatchdog(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Start sampling.
+     */
+    public void initialize() {
+        this.lastBusyNanos = plugin.getToolStats().getBusyNanos();
+        this.sampleTask = plugin.getTaskScheduler().runGlobalTimer(this::sample, SAMPLE_TICKS, SAMPLE_TICKS);
+    }
+
+    /**
+     * Stop sampling and restore all optional work.
+     */
+    public void shutdown() {
+        if (sampleTask != null) {
+            sampleTask.cancel();
+            sampleTask = null;
+        }
+        level = Level.NORMAL;
+    }
+
+    /**
+     * Check if work at the given level is currently being shed.
+     *
+     * @param shedLevel the level at which the work is shed
+     * @return true if the work should be skipped or made cheaper
+     */
+    public boolean isShedding(Level shedLevel) {
+        return level.ordinal() >= shedLevel.ordinal();
+    }
+
+    /**
+     * Get the current level.
+     *
+     * @return the level
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    private void sample() {
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+
+        long busyNanos = plugin.getToolStats().getBusyNanos();
+        double pluginMs = (busyNanos - lastBusyNanos) / 1_000_000.0 / SAMPLE_TICKS;
+        lastBusyNanos = busyNanos;
+
+        if (!config.getBoolean("performance.watchdog.enabled", true)) {
+            if (level != Level.NORMAL) {
+                change(Level.NORMAL, "watchdog disabled");
+            }
+            return;
+        }
+
+        double serverMspt = readServerMspt();
+        double msptBudget = config.getDouble("performance.watchdog.server_mspt", 45.0);
+        double pluginBudget = config.getDouble("performance.watchdog.plugin_ms_per_tick", 2.0);
+        int recoverySamples = Math.max(1, config.getInt("performance.watchdog.recovery_seconds", 10));
+
+        boolean over = serverMspt > msptBudget || pluginMs > pluginBudget;
+        String load = String.format("server %.1f ms/tick, OakTools %.2f ms/tick", serverMspt, pluginMs);
+
+        if (over) {
+            calmSamples = 0;
+            if (level != Level.MINIMAL) {
+                change(Level.values()[level.ordinal() + 1], load);
+            }
+        } else if (level != Level.NORMAL && ++calmSamples >= recoverySamples) {
+            calmSamples = 0;
+            change(Level.values()[level.ordinal() - 1], load);
+        }
+    }
+
+    /**
+     * Read the server's average tick time, or 0 where it isn't available (Folia has no single tick).
+     */
+    private double readServerMspt() {
+        if (!msptAvailable) {
+            return 0.0;
+        }
+        try {
+            return Bukkit.getAverageTickTime();
+        } catch (UnsupportedOperationException e) {
+            msptAvailable = false;
+            plugin.getLogger().info("Server MSPT is not available - the tick budget watchdog only measures OakTools time");
+            return 0.0;
+        }
+    }
+
+    private void change(Level next, String reason) {
+        Level previous = level;
+        level = next;
+        if (next.ordinal() > previous.ordinal()) {
+            plugin.getLogger().warning("Tick budget exceeded (" + reason + ") - " + next.getDescription());
+        } else {
+            plugin.getLogger().info("Tick budget recovered (" + reason + ") - " + next.getDescription());
+        }
+    }
+}
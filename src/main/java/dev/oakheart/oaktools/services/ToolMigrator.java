@@ -0,0 +1,309 @@
+package dev.oakheart.oaktools.services;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.items.ToolState;
+import dev.oakheart.oaktools.model.ToolType;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Brings existing tools up to date when the settings baked into them change (general.tool_migration).
+ * Each tool carries the version of the tool settings it was built with; a tool with an older version is migrated
+ * the first time it is used, held or clicked: durability is rescaled to the new maximum, and the model and lore
+ * are applied again. Tools are checked when they are selected, swapped to a hand, clicked in an inventory or held
+ * at join; the use path only checks them once a reload has changed tool settings, since until then every
+ * tool was checked on its way into the player's hand.
+ *
+ * Optionally, online players' inventories and ender chests are checked in the background after a reload and
+ * when a player joins, a few items per tick.
+ */
+public class ToolMigrator implements Listener {
+
+    /**
+     * Where a player's background pass continues. Slots past the player inventory are ender chest slots.
+     */
+    private record Cursor(UUID playerId, int slot) {
+    }
+
+    private final OakTools plugin;
+    private final Queue<Cursor> queue = new ConcurrentLinkedQueue<>();
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+
+    // Versions at the last reload, to tell whether a reload changed any tool settings
+    private Map<ToolType, Integer> versions;
+    // Set once a reload changes tool settings; tools in hand may be stale from then on
+    private volatile boolean settingsReloaded;
+
+    public ToolMigrator(OakTools plugin) {
+        this.plugin = plugin;
+        this.versions = currentVersions();
+
+        // One background slice is handed out per tick
+        plugin.getTaskScheduler().runGlobalTimer(this::dispatch, 1L, 1L);
+    }
+
+    /**
+     * Check if stale tools are migrated.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return plugin.getConfigManager().getConfig().getBoolean("general.tool_migration.enabled", true);
+    }
+
+    /**
+     * Migrate a tool if it was built with older settings. Any durability the player has pending
+     * is written first so it isn't applied on the old scale afterwards.
+     *
+     * @param player the player holding the tool
+     * @param item the item (changed in place)
+     * @return true if the tool was migrated
+     */
+    public boolean migrate(Player player, ItemStack item) {
+        if (item == null || item.getType().isAir() || !isEnabled()) {
+            return false;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return false;
+        }
+
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        ToolState state = ToolState.read(pdc);
+        if (state == null) {
+            return false;
+        }
+
+        int version = plugin.getConfigManager().getToolConfigVersion(state.toolType());
+        if (state.configVersion() == version) {
+            return false;
+        }
+
+        plugin.getDurabilityLedger().flush(player);
+        migrate(item, version);
+        return true;
+    }
+
+    /**
+     * Migrate a tool that is about to be used. Skips the check until a reload changes tool settings:
+     * before that, the tool was already checked when it came into the player's hand.
+     *
+     * @param player the player using the tool
+     * @param item the item (changed in place)
+     * @return true if the tool was migrated
+     */
+    public boolean migrateForUse(Player player, ItemStack item) {
+        return settingsReloaded && migrate(player, item);
+    }
+
+    /**
+     * Check online players' inventories in the background if the reload changed any tool settings.
+     * Called after the config is reloaded.
+     */
+    public void onConfigReloaded() {
+        Map<ToolType, Integer> current = currentVersions();
+        boolean changed = !current.equals(versions);
+        versions = current;
+        if (changed) {
+            settingsReloaded = true;
+        }
+
+        if (!changed || !isEnabled()) {
+            return;
+        }
+
+        if (isBackgroundEnabled()) {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                enqueue(player);
+            }
+            plugin.getLogger().info("Tool settings changed - updating tools in online inventories in the background");
+        } else {
+            plugin.getLogger().info("Tool settings changed - existing tools are updated the next time they are used");
+        }
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        // Tools already in hand never go through a selection or swap
+        Player player = event.getPlayer();
+        PlayerInventory inventory = player.getInventory();
+        ItemStack mainHand = inventory.getItemInMainHand();
+        if (migrate(player, mainHand)) {
+            inventory.setItemInMainHand(mainHand);
+        }
+        ItemStack offHand = inventory.getItemInOffHand();
+        if (migrate(player, offHand)) {
+            inventory.setItemInOffHand(offHand);
+        }
+
+        if (isBackgroundEnabled()) {
+            enqueue(player);
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        // A slice scheduled for this player is skipped, so the pass ends here
+        queued.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        Player player = event.getPlayer();
+        PlayerInventory inventory = player.getInventory();
+        ItemStack item = inventory.getItem(event.getNewSlot());
+        if (migrate(player, item)) {
+            inventory.setItem(event.getNewSlot(), item);
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onSwapHandItems(PlayerSwapHandItemsEvent event) {
+        Player player = event.getPlayer();
+        ItemStack mainHand = event.getMainHandItem();
+        if (migrate(player, mainHand)) {
+            event.setMainHandItem(mainHand);
+        }
+        ItemStack offHand = event.getOffHandItem();
+        if (migrate(player, offHand)) {
+            event.setOffHandItem(offHand);
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getWhoClicked() instanceof Player player) {
+            ItemStack item = event.getCurrentItem();
+            if (migrate(player, item)) {
+                event.setCurrentItem(item);
+            }
+        }
+    }
+
+    /**
+     * Apply the current settings to a stale tool. Reads the item again, since the ledger flush may have written it.
+     */
+    private void migrate(ItemStack item, int version) {
+        ItemMeta meta = item.getItemMeta();
+        ToolState state = ToolState.read(meta.getPersistentDataContainer());
+        ToolType toolType = state.toolType();
+
+        // Stamp first so the writes below keep the new version
+        state.withConfigVersion(version).write(meta.getPersistentDataContainer());
+        item.setItemMeta(meta);
+
+        // Keep the same fraction of durability used, without breaking the tool
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+        int maxDurability = config.getInt("tools." + toolType.name().toLowerCase() + ".durability.max", 250);
+        DurabilityService.Durability durability = plugin.getDurabilityService().read(item, meta);
+        if (durability != null && durability.maxDurability() > 0 && maxDurability > 0) {
+            long scaled = Math.round((double) durability.damage() * maxDurability / durability.maxDurability());
+            int damage = (int) Math.max(0, Math.min(scaled, maxDurability - 1));
+            plugin.getDurabilityService().setDurability(item, damage, maxDurability);
+        }
+
+        plugin.getModelProviderManager().applyModel(item, toolType);
+        plugin.getDisplayService().updateDisplay(item);
+    }
+
+    private boolean isBackgroundEnabled() {
+        return plugin.getConfigManager().getConfig().getBoolean("general.tool_migration.background.enabled", false);
+    }
+
+    private void enqueue(Player player) {
+        if (queued.add(player.getUniqueId())) {
+            queue.add(new Cursor(player.getUniqueId(), 0));
+        }
+    }
+
+    /**
+     * Hand the next player's slice to the thread that owns them.
+     * Runs on the global region on Folia, so it never touches items.
+     */
+    private void dispatch() {
+        Cursor cursor = queue.poll();
+        if (cursor == null) {
+            return;
+        }
+
+        Player player = Bukkit.getPlayer(cursor.playerId());
+        if (player == null || !queued.contains(cursor.playerId())) {
+            queued.remove(cursor.playerId());
+            return;
+        }
+        plugin.getTaskScheduler().runAtEntity(player, () -> runSlice(player, cursor.slot()));
+    }
+
+    /**
+     * Check up to items_per_tick items of a player's inventory and ender chest, then queue the rest.
+     */
+    private void runSlice(Player player, int slot) {
+        UUID playerId = player.getUniqueId();
+        if (!isEnabled() || !isBackgroundEnabled()) {
+            queued.remove(playerId);
+            return;
+        }
+
+        int budget = Math.max(1, plugin.getConfigManager().getConfig()
+                .getInt("general.tool_migration.background.items_per_tick", 16));
+        PlayerInventory inventory = player.getInventory();
+        Inventory enderChest = player.getEnderChest();
+        int inventorySize = inventory.getSize();
+        int end = inventorySize + enderChest.getSize();
+
+        int checked = 0;
+        for (; slot < end && checked < budget; slot++) {
+            Inventory target = slot < inventorySize ? inventory : enderChest;
+            int index = slot < inventorySize ? slot : slot - inventorySize;
+            ItemStack item = target.getItem(index);
+            if (item == null || item.getType().isAir()) {
+                continue;
+            }
+
+            checked++;
+            if (migrate(player, item)) {
+                target.setItem(index, item);
+            }
+        }
+
+        if (slot < end) {
+            queue.add(new Cursor(playerId, slot));
+        } else {
+            queued.remove(playerId);
+        }
+    }
+
+    private Map<ToolType, Integer> currentVersions() {
+        Map<ToolType, Integer> current = new EnumMap<>(ToolType.class);
+        for (ToolType toolType : ToolType.values()) {
+            current.put(toolType, plugin.getConfigManager().getToolConfigVersion(toolType));
+        }
+        return current;
+    }
+}
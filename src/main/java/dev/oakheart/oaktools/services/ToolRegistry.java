@@ -0,0 +1,348 @@
+package dev.oakheart.oaktools.services;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.model.ToolType;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldSaveEvent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Server-side record of every tool, keyed by the ID stamped on the tool the first time it is used.
+ * Holds each tool's authoritative durability and a little history for /oaktools info.
+ *
+ * A tool's durability only goes down through use and only comes back through OakTools repairs, which all
+ * update the registry. A tool showing less damage than the registry knows, or used after it broke, is
+ * therefore a copy of another tool. With write-behind durability, use damage is recorded when it is written
+ * to the item, never while it is still pending. The registry is loaded and saved on its own thread; tools used
+ * while it loads are merged into what was loaded. It is saved when the worlds save (and on shutdown), so after
+ * a crash it is no further ahead of the players' items than the worlds are.
+ */
+public class ToolRegistry implements Listener {
+
+    // File layout
+    private static final int MAGIC = 0x4F544C31; // "OTL1"
+    private static final int VERSION = 1;
+    private static final String FILE_NAME = "tools.dat";
+
+    /**
+     * What happens to a copied tool.
+     */
+    public enum DuplicateAction {
+        FLAG,        // Log it and count it in the tool's history
+        NEUTRALIZE;  // Also remove the copy being used
+
+        /**
+         * Safely parse a DuplicateAction from a string, with fallback.
+         *
+         * @param value the string value to parse
+         * @return the DuplicateAction, or FLAG as fallback
+         */
+        public static DuplicateAction fromString(String value) {
+            if (value == null) {
+                return FLAG;
+            }
+            try {
+                return DuplicateAction.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return FLAG;
+            }
+        }
+    }
+
+    /**
+     * What the server knows about one tool.
+     *
+     * @param toolType the tool type
+     * @param damage the authoritative damage
+     * @param maxDurability the maximum durability
+     * @param firstSeen when the tool was stamped (epoch millis)
+     * @param lastSeen when the tool was last used or repaired (epoch millis)
+     * @param lastHolder name of the last player to use it, or empty
+     * @param uses uses seen by the registry
+     * @param duplicates copies of this tool that were detected
+     * @param broken true once the tool has broken
+     */
+    public record Entry(ToolType toolType, int damage, int maxDurability, long firstSeen, long lastSeen,
+                        String lastHolder, int uses, int duplicates, boolean broken) {
+
+        Entry merge(Entry older) {
+            return new Entry(toolType, damage, maxDurability, Math.min(firstSeen, older.firstSeen), lastSeen,
+                    lastHolder, uses + older.uses, duplicates + older.duplicates, broken || older.broken);
+        }
+    }
+
+    private final OakTools plugin;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+    private volatile boolean dirty;
+    private Path file;
+    private ExecutorService worker;
+
+    public ToolRegistry(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Start the registry if enabled in config. The file is read on the registry's thread.
+     */
+    public void initialize() {
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+        if (!config.getBoolean("tool_registry.enabled", false)) {
+            return;
+        }
+
+        this.file = new File(plugin.getDataFolder(), FILE_NAME).toPath();
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "OakTools-ToolRegistry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.enabled = true;
+
+        worker.execute(this::load);
+    }
+
+    /**
+     * Save and stop the registry, waiting briefly for the file to be written.
+     */
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        enabled = false;
+        worker.execute(this::saveIfDirty);
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Tool registry did not finish saving within 5 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Check if the registry is tracking tools.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get what the registry knows about a tool.
+     *
+     * @param id the tool ID
+     * @return the entry, or null if the tool is unknown
+     */
+    public Entry getEntry(UUID id) {
+        return id != null ? entries.get(id) : null;
+    }
+
+    /**
+     * Record a use of a tool and check whether it is a copy.
+     *
+     * @param id the tool ID
+     * @param player the player using it
+     * @param toolType the tool type
+     * @param damage the tool's damage as written to the item, before this use
+     * @param newDamage the damage to record (the written damage while write-behind holds the new damage back)
+     * @param maxDurability the tool's maximum durability
+     * @return true if the tool is a copy of another tool
+     */
+    public boolean recordUse(UUID id, Player player, ToolType toolType, int damage, int newDamage,
+                             int maxDurability) {
+        long now = System.currentTimeMillis();
+        boolean[] duplicate = new boolean[1];
+
+        entries.compute(id, (key, entry) -> {
+            if (entry == null) {
+                return new Entry(toolType, newDamage, maxDurability, now, now, player.getName(), 1, 0, false);
+            }
+            if (entry.broken() || damage < entry.damage()) {
+                duplicate[0] = true;
+                return new Entry(entry.toolType(), entry.damage(), entry.maxDurability(), entry.firstSeen(), now,
+                        entry.lastHolder(), entry.uses(), entry.duplicates() + 1, entry.broken());
+            }
+            return new Entry(toolType, newDamage, maxDurability, entry.firstSeen(), now, player.getName(),
+                    entry.uses() + 1, entry.duplicates(), newDamage >= maxDurability);
+        });
+        dirty = true;
+
+        if (duplicate[0]) {
+            Entry entry = entries.get(id);
+            plugin.getLogger().warning(player.getName() + " used a copy of " + toolType.getDisplayName() + " " + id
+                    + " (item damage " + damage + ", registry " + (entry != null ? entry.damage() : "?")
+                    + (entry != null && entry.broken() ? ", already broken" : "") + ")");
+        }
+        return duplicate[0];
+    }
+
+    /**
+     * Record a durability change made outside of use (repair, mending, anvil, commands).
+     *
+     * @param id the tool ID
+     * @param toolType the tool type
+     * @param damage the new damage
+     * @param maxDurability the new maximum durability
+     */
+    public void recordDurability(UUID id, ToolType toolType, int damage, int maxDurability) {
+        long now = System.currentTimeMillis();
+        entries.compute(id, (key, entry) -> entry == null
+                ? new Entry(toolType, damage, maxDurability, now, now, "", 0, 0, false)
+                : new Entry(toolType, damage, maxDurability, entry.firstSeen(), now, entry.lastHolder(),
+                        entry.uses(), entry.duplicates(), entry.broken()));
+        dirty = true;
+    }
+
+    /**
+     * Record use damage that write-behind held back and has now written to the tool.
+     * Only raises the recorded damage, so a copy flagged earlier can't lower it.
+     *
+     * @param id the tool ID
+     * @param damage the damage written to the tool
+     */
+    public void recordWrite(UUID id, int damage) {
+        entries.computeIfPresent(id, (key, entry) -> damage <= entry.damage() ? entry
+                : new Entry(entry.toolType(), damage, entry.maxDurability(), entry.firstSeen(), entry.lastSeen(),
+                        entry.lastHolder(), entry.uses(), entry.duplicates(), entry.broken()));
+        dirty = true;
+    }
+
+    @EventHandler
+    public void onWorldSave(WorldSaveEvent event) {
+        if (enabled && dirty) {
+            worker.execute(this::saveIfDirty);
+        }
+    }
+
+    /**
+     * Get the configured action for copied tools.
+     *
+     * @return the action
+     */
+    public DuplicateAction getDuplicateAction() {
+        return DuplicateAction.fromString(
+                plugin.getConfigManager().getConfig().getString("tool_registry.duplicate_action", "FLAG"));
+    }
+
+    /**
+     * Read the registry file (registry thread).
+     */
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        Map<UUID, Entry> loaded = new HashMap<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC) {
+                plugin.getLogger().warning(FILE_NAME + " is not a tool registry file - starting empty");
+                return;
+            }
+            int version = input.readUnsignedByte();
+            if (version > VERSION) {
+                plugin.getLogger().warning(FILE_NAME + " was written by a newer version - starting empty");
+                return;
+            }
+
+            ToolType[] toolTypes = ToolType.values();
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID id = new UUID(input.readLong(), input.readLong());
+                int typeIndex = input.readUnsignedByte();
+                int damage = input.readInt();
+                int maxDurability = input.readInt();
+                long firstSeen = input.readLong();
+                long lastSeen = input.readLong();
+                String lastHolder = input.readUTF();
+                int uses = input.readInt();
+                int duplicates = input.readInt();
+                boolean broken = input.readBoolean();
+                if (typeIndex < toolTypes.length) {
+                    loaded.put(id, new Entry(toolTypes[typeIndex], damage, maxDurability, firstSeen, lastSeen,
+                            lastHolder, uses, duplicates, broken));
+                }
+            }
+        } catch (EOFException e) {
+            plugin.getLogger().warning(FILE_NAME + " is truncated - keeping the " + loaded.size() + " tools read");
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to read " + FILE_NAME, e);
+        }
+
+        // Tools used while loading are newer than the file
+        loaded.forEach((id, entry) -> entries.merge(id, entry, Entry::merge));
+        plugin.getLogger().info("Tool registry loaded " + loaded.size() + " tools");
+    }
+
+    /**
+     * Write the registry file if anything changed (registry thread).
+     * Written to a temporary file first so a crash never leaves a partial registry.
+     */
+    private void saveIfDirty() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        long forgetDays = plugin.getConfigManager().getConfig().getLong("tool_registry.forget_after_days", 180);
+        long cutoff = forgetDays > 0 ? System.currentTimeMillis() - TimeUnit.DAYS.toMillis(forgetDays) : 0;
+        if (cutoff > 0) {
+            entries.values().removeIf(entry -> entry.lastSeen() < cutoff);
+        }
+
+        Map<UUID, Entry> snapshot = new HashMap<>(entries);
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+                output.writeInt(snapshot.size());
+                for (Map.Entry<UUID, Entry> mapEntry : snapshot.entrySet()) {
+                    UUID id = mapEntry.getKey();
+                    Entry entry = mapEntry.getValue();
+                    output.writeLong(id.getMostSignificantBits());
+                    output.writeLong(id.getLeastSignificantBits());
+                    output.writeByte(entry.toolType().ordinal());
+                    output.writeInt(entry.damage());
+                    output.writeInt(entry.maxDurability());
+                    output.writeLong(entry.firstSeen());
+                    output.writeLong(entry.lastSeen());
+                    output.writeUTF(entry.lastHolder());
+                    output.writeInt(entry.uses());
+                    output.writeInt(entry.duplicates());
+                    output.writeBoolean(entry.broken());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            plugin.getLogger().log(Level.WARNING, "Failed to save " + FILE_NAME, e);
+        }
+    }
+}
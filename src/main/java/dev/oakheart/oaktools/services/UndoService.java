@@ -0,0 +1,321 @@
+package dev.oakheart.oaktools.services;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.util.BlockStatePalette;
+import dev.oakheart.oaktools.util.InventoryUtil;
+import dev.oakheart.oaktools.util.PositionUtil;
+import dev.oakheart.oaktools.util.TaskScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Handles per-player undo/redo of File edits and Trowel placements.
+ * Each player has a fixed-capacity ring buffer of primitive-packed edit records.
+ */
+public class UndoService implements Listener {
+
+    // Record flags
+    private static final byte FLAG_TROWEL = 1;
+    private static final byte FLAG_CONSUMED = 2;
+
+    /**
+     * Why an undo or redo stopped before applying every requested edit.
+     */
+    public enum StopReason {
+        NONE,           // Everything requested was applied
+        NOTHING,        // No edits left in history
+        CHANGED,        // Block was changed since the edit
+        PROTECTED,      // Protection denied the change
+        UNLOADED,       // World is no longer loaded (or, on Folia, the block is owned by another region)
+        MISSING_BLOCKS  // Player no longer has the block to re-place (redo only)
+    }
+
+    /**
+     * Result of an undo or redo.
+     *
+     * @param applied number of edits applied
+     * @param reason why it stopped early (NONE if all were applied)
+     * @param missing the missing material when reason is MISSING_BLOCKS
+     */
+    public record Outcome(int applied, StopReason reason, Material missing) {
+    }
+
+    /**
+     * Fixed-capacity ring buffer of edits for one player.
+     * Records from {@code start} up to {@code cursor} can be undone, records after the cursor can be redone.
+     */
+    private static final class EditHistory {
+        private final long[] positions;
+        private final int[] worlds;
+        private final int[] oldStates;
+        private final int[] newStates;
+        private final byte[] flags;
+        private int start;
+        private int count;
+        private int cursor;
+
+        EditHistory(int capacity) {
+            positions = new long[capacity];
+            worlds = new int[capacity];
+            oldStates = new int[capacity];
+            newStates = new int[capacity];
+            flags = new byte[capacity];
+        }
+
+        synchronized void push(int world, long position, int oldState, int newState, byte flag) {
+            int capacity = positions.length;
+
+            // A new edit discards anything that could have been redone
+            count = cursor;
+
+            // Full - drop the oldest edit
+            if (count == capacity) {
+                start = (start + 1) % capacity;
+                count--;
+                cursor--;
+            }
+
+            int index = (start + count) % capacity;
+            positions[index] = position;
+            worlds[index] = world;
+            oldStates[index] = oldState;
+            newStates[index] = newState;
+            flags[index] = flag;
+            count++;
+            cursor++;
+        }
+
+        int physical(int logical) {
+            return (start + logical) % positions.length;
+        }
+    }
+
+    private final OakTools plugin;
+    private final Map<UUID, EditHistory> histories = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> worldIds = new ConcurrentHashMap<>();
+    private final List<UUID> worlds = new CopyOnWriteArrayList<>();
+
+    public UndoService(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Record a File tool edit.
+     *
+     * @param player the player
+     * @param block the edited block
+     * @param oldData the block data before the edit
+     * @param newData the block data after the edit
+     */
+    public void recordFileEdit(Player player, Block block, BlockData oldData, BlockData newData) {
+        record(player, block, oldData, newData, (byte) 0);
+    }
+
+    /**
+     * Record a Trowel placement.
+     *
+     * @param player the player
+     * @param block the block placed at
+     * @param previousData the block data that was replaced
+     * @param placedData the placed block data
+     * @param consumed whether a block was taken from the player's inventory
+     */
+    public void recordTrowelPlacement(Player player, Block block, BlockData previousData,
+                                      BlockData placedData, boolean consumed) {
+        record(player, block, previousData, placedData, (byte) (FLAG_TROWEL | (consumed ? FLAG_CONSUMED : 0)));
+    }
+
+    private void record(Player player, Block block, BlockData oldData, BlockData newData, byte flag) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        BlockStatePalette palette = plugin.getBlockStatePalette();
+        EditHistory history = histories.computeIfAbsent(player.getUniqueId(),
+                uuid -> new EditHistory(getHistorySize()));
+        history.push(
+                worldId(block.getWorld()),
+                PositionUtil.pack(block.getX(), block.getY(), block.getZ()),
+                palette.idOf(oldData),
+                palette.idOf(newData),
+                flag
+        );
+    }
+
+    /**
+     * Undo a player's most recent edits.
+     *
+     * @param player the player
+     * @param amount the maximum number of edits to undo
+     * @return the outcome
+     */
+    public Outcome undo(Player player, int amount) {
+        return apply(player, amount, true);
+    }
+
+    /**
+     * Redo a player's most recently undone edits.
+     *
+     * @param player the player
+     * @param amount the maximum number of edits to redo
+     * @return the outcome
+     */
+    public Outcome redo(Player player, int amount) {
+        return apply(player, amount, false);
+    }
+
+    /**
+     * Check if undo is enabled in config.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return plugin.getConfigManager().getConfig().getBoolean("undo.enabled", true);
+    }
+
+    /**
+     * Get the maximum number of edits a single command may undo or redo.
+     *
+     * @return the per-command limit
+     */
+    public int getMaxPerCommand() {
+        return Math.max(1, plugin.getConfigManager().getConfig().getInt("undo.max_per_command", 16));
+    }
+
+    private int getHistorySize() {
+        return Math.max(1, plugin.getConfigManager().getConfig().getInt("undo.history_size", 64));
+    }
+
+    private Outcome apply(Player player, int amount, boolean undo) {
+        EditHistory history = histories.get(player.getUniqueId());
+        if (history == null) {
+            return new Outcome(0, StopReason.NOTHING, null);
+        }
+
+        synchronized (history) {
+            int available = undo ? history.cursor : history.count - history.cursor;
+            int requested = Math.min(amount, available);
+            if (requested <= 0) {
+                return new Outcome(0, StopReason.NOTHING, null);
+            }
+
+            BlockStatePalette palette = plugin.getBlockStatePalette();
+
+            // Resolve the blocks first so protection can check the whole footprint in one call.
+            // Stop at the first block that can't be changed from here: protection providers read block
+            // state, which throws on Folia for blocks owned by another region
+            List<Block> blocks = new ArrayList<>(requested);
+            for (int i = 0; i < requested; i++) {
+                int index = history.physical(undo ? history.cursor - 1 - i : history.cursor + i);
+                World world = Bukkit.getWorld(worlds.get(history.worlds[index]));
+                if (world == null) {
+                    break;
+                }
+                long position = history.positions[index];
+                Block block = world.getBlockAt(PositionUtil.unpackX(position),
+                        PositionUtil.unpackY(position), PositionUtil.unpackZ(position));
+                if (TaskScheduler.isFolia() && !Bukkit.isOwnedByCurrentRegion(block)) {
+                    break;
+                }
+                blocks.add(block);
+            }
+
+            ItemStack tool = player.getInventory().getItemInMainHand();
+            BitSet allowed = plugin.getProtectionService().canModifyBlocks(player, blocks, EquipmentSlot.HAND, tool);
+
+            int applied = 0;
+            for (int i = 0; i < requested; i++) {
+                if (i >= blocks.size()) {
+                    return new Outcome(applied, StopReason.UNLOADED, null);
+                }
+
+                int index = history.physical(undo ? history.cursor - 1 : history.cursor);
+                Block block = blocks.get(i);
+                BlockData expected = palette.get(undo ? history.newStates[index] : history.oldStates[index]);
+                BlockData target = palette.get(undo ? history.oldStates[index] : history.newStates[index]);
+
+                // Don't overwrite anything that changed since the edit
+                BlockData current = block.getBlockData();
+                if (!current.equals(expected)) {
+                    return new Outcome(applied, StopReason.CHANGED, null);
+                }
+
+                if (!allowed.get(i)) {
+                    return new Outcome(applied, StopReason.PROTECTED, null);
+                }
+
+                // Keep block consumption consistent: refund on undo, re-consume on redo
+                byte flag = history.flags[index];
+                if ((flag & FLAG_TROWEL) != 0 && (flag & FLAG_CONSUMED) != 0) {
+                    Material material = (undo ? expected : target).getMaterial();
+                    if (undo) {
+                        refund(player, material);
+                    } else if (!InventoryUtil.consumeItem(player, new ItemStack(material))) {
+                        return new Outcome(applied, StopReason.MISSING_BLOCKS, material);
+                    }
+                }
+
+                block.setBlockData(target, false);
+
+                // Log like any other tool edit
+                plugin.getCoreProtectLogger().logFileEdit(player, block, current, target);
+                plugin.getEditJournal().logFileEdit(player, block, current, target);
+
+                history.cursor += undo ? -1 : 1;
+                applied++;
+            }
+
+            return new Outcome(applied, StopReason.NONE, null);
+        }
+    }
+
+    private void refund(Player player, Material material) {
+        player.getInventory().addItem(new ItemStack(material)).forEach((index, leftover) -> {
+            // If inventory is full, drop at player's location
+            player.getWorld().dropItem(player.getLocation(), leftover);
+        });
+    }
+
+    private int worldId(World world) {
+        Integer id = worldIds.get(world.getUID());
+        if (id != null) {
+            return id;
+        }
+
+        // Regions may record edits in a new world at the same time; the list index must match the ID
+        synchronized (worlds) {
+            id = worldIds.get(world.getUID());
+            if (id == null) {
+                worlds.add(world.getUID());
+                id = worlds.size() - 1;
+                worldIds.put(world.getUID(), id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Clean up history when a player disconnects to prevent memory leaks.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        histories.remove(event.getPlayer().getUniqueId());
+    }
+}
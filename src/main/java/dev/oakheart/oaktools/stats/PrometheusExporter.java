@@ -0,0 +1,188 @@
+package dev.oakheart.oaktools.stats;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.integration.CoreProtectLogger;
+import dev.oakheart.oaktools.journal.EditJournal;
+import dev.oakheart.oaktools.model.ToolType;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Optional HTTP endpoint serving metrics in the Prometheus text format.
+ * Requests are handled on a dedicated thread and only read thread-safe counters, never game state.
+ */
+public class PrometheusExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final OakTools plugin;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public PrometheusExporter(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Start the endpoint if enabled in config.
+     */
+    public void initialize() {
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+        if (!config.getBoolean("prometheus.enabled", false)) {
+            return;
+        }
+
+        String host = config.getString("prometheus.host", "127.0.0.1");
+        int port = config.getInt("prometheus.port", 9465);
+
+        try {
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "OakTools-Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.createContext("/metrics", this::handle);
+            server.start();
+            plugin.getLogger().info("Prometheus metrics available at http://" + host + ":" + port + "/metrics");
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to start Prometheus metrics endpoint on " + host + ":" + port + ": " + e.getMessage());
+            server = null;
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Stop the endpoint.
+     */
+    public void shutdown() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Render all metrics from the current counter values.
+     */
+    private String render() {
+        ToolStats stats = plugin.getToolStats();
+        StringBuilder out = new StringBuilder(4096);
+
+        // Interactions by tool and outcome
+        header(out, "oaktools_interactions_total", "counter", "Tool interactions by outcome");
+        for (ToolType toolType : ToolType.values()) {
+            for (ToolStats.Outcome outcome : ToolStats.Outcome.values()) {
+                out.append("oaktools_interactions_total{tool=\"").append(toolType.name().toLowerCase())
+                        .append("\",outcome=\"").append(outcome.name().toLowerCase()).append("\"} ")
+                        .append(stats.getCount(toolType, outcome)).append('\n');
+            }
+        }
+
+        // Latency summaries
+        header(out, "oaktools_latency_seconds", "summary", "Hot-path latency");
+        for (ToolStats.Timer timer : ToolStats.Timer.values()) {
+            LatencyHistogram histogram = stats.getHistogram(timer);
+            String path = timer.name().toLowerCase();
+            quantile(out, path, "0.5", histogram.percentile(50));
+            quantile(out, path, "0.99", histogram.percentile(99));
+            out.append("oaktools_latency_seconds_sum{path=\"").append(path).append("\"} ")
+                    .append(seconds(histogram.getTotalNanos())).append('\n');
+            out.append("oaktools_latency_seconds_count{path=\"").append(path).append("\"} ")
+                    .append(histogram.getCount()).append('\n');
+        }
+
+        header(out, "oaktools_latency_max_seconds", "gauge", "Slowest sample per hot path since the last reset");
+        for (ToolStats.Timer timer : ToolStats.Timer.values()) {
+            out.append("oaktools_latency_max_seconds{path=\"").append(timer.name().toLowerCase()).append("\"} ")
+                    .append(seconds(stats.getHistogram(timer).getMaxNanos())).append('\n');
+        }
+
+        // Logging queues
+        CoreProtectLogger coreProtect = plugin.getCoreProtectLogger();
+        EditJournal journal = plugin.getEditJournal();
+
+        header(out, "oaktools_log_queue_depth", "gauge", "Records waiting to be logged");
+        sample(out, "oaktools_log_queue_depth", "coreprotect", coreProtect.getQueueDepth());
+        sample(out, "oaktools_log_queue_depth", "journal", journal.getQueueDepth());
+
+        header(out, "oaktools_log_queue_capacity", "gauge", "Maximum records the log queue can hold");
+        sample(out, "oaktools_log_queue_capacity", "coreprotect", coreProtect.getQueueCapacity());
+
+        header(out, "oaktools_log_records_total", "counter", "Records written to the log target");
+        sample(out, "oaktools_log_records_total", "coreprotect", coreProtect.getLoggedCount());
+        sample(out, "oaktools_log_records_total", "journal", journal.getWrittenCount());
+
+        header(out, "oaktools_log_dropped_total", "counter", "Records dropped because the queue was full");
+        sample(out, "oaktools_log_dropped_total", "coreprotect", coreProtect.getDroppedCount());
+        sample(out, "oaktools_log_dropped_total", "journal", journal.getDroppedCount());
+
+        // Caches
+        header(out, "oaktools_cache_requests_total", "counter", "Cache lookups by result");
+        for (ToolStats.Cache cache : ToolStats.Cache.values()) {
+            String name = cache.name().toLowerCase();
+            out.append("oaktools_cache_requests_total{cache=\"").append(name).append("\",result=\"hit\"} ")
+                    .append(stats.getCacheHits(cache)).append('\n');
+            out.append("oaktools_cache_requests_total{cache=\"").append(name).append("\",result=\"miss\"} ")
+                    .append(stats.getCacheMisses(cache)).append('\n');
+        }
+
+        header(out, "oaktools_degradation_level", "gauge", "Optional work shed by the tick budget watchdog (0 = none)");
+        out.append("oaktools_degradation_level ").append(plugin.getTickBudgetWatchdog().getLevel().ordinal()).append('\n');
+
+        header(out, "oaktools_block_states", "gauge", "Distinct block states interned for undo and the journal");
+        out.append("oaktools_block_states ").append(plugin.getBlockStatePalette().size()).append('\n');
+
+        return out.toString();
+    }
+
+    private void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private void quantile(StringBuilder out, String path, String quantile, long nanos) {
+        out.append("oaktools_latency_seconds{path=\"").append(path).append("\",quantile=\"").append(quantile)
+                .append("\"} ").append(seconds(nanos)).append('\n');
+    }
+
+    private void sample(StringBuilder out, String name, String target, long value) {
+        out.append(name).append("{target=\"").append(target).append("\"} ").append(value).append('\n');
+    }
+
+    private String seconds(long nanos) {
+        return Double.toString(nanos / 1_000_000_000.0);
+    }
+}
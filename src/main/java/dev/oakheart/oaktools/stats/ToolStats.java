@@ -0,0 +1,160 @@
+package dev.oakheart.oaktools.stats;
+
+import dev.oakheart.oaktools.model.ToolType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead counters and latency histograms for the plugin's hot paths.
+ * Safe to update from any thread.
+ */
+public class ToolStats {
+
+    /**
+     * Timed code paths.
+     */
+    public enum Timer {
+        TROWEL_PLACEMENT(true),
+        FILE_EDIT(true),
+        PROTECTION_CHECK(false),  // Runs inside placements and edits
+        DISPLAY_UPDATE(false),
+        COREPROTECT_LOG(true);
+
+        private final boolean topLevel;
+
+        Timer(boolean topLevel) {
+            this.topLevel = topLevel;
+        }
+
+        /**
+         * Check if this path is never nested inside another timed path (counts toward busy time).
+         *
+         * @return true if top level
+         */
+        public boolean isTopLevel() {
+            return topLevel;
+        }
+    }
+
+    /**
+     * Result of a tool interaction.
+     */
+    public enum Outcome {
+        PLACED,             // Trowel placed a block
+        EDITED,             // File changed a block
+        NO_BLOCKS,          // Trowel feed source had no placeable blocks
+        NO_CHANGE,          // File had nothing to change
+        PROTECTION_DENIED,  // Protection blocked the action
+        EVENT_CANCELLED,    // TrowelPlaceEvent/FileUseEvent was cancelled by another plugin
+        COLLISION           // Trowel placement would collide with the player
+    }
+
+    /**
+     * Caches with hit/miss accounting.
+     */
+    public enum Cache {
+        ANVIL_RESULT
+    }
+
+    private final Map<Timer, LatencyHistogram> timers = new EnumMap<>(Timer.class);
+    private final LongAdder[][] outcomes = new LongAdder[ToolType.values().length][Outcome.values().length];
+    private final LongAdder[] cacheHits = new LongAdder[Cache.values().length];
+    private final LongAdder[] cacheMisses = new LongAdder[Cache.values().length];
+    // Total time in top-level paths since startup (not cleared by reset)
+    private final LongAdder busyNanos = new LongAdder();
+
+    public ToolStats() {
+        for (Timer timer : Timer.values()) {
+            timers.put(timer, new LatencyHistogram());
+        }
+        for (LongAdder[] row : outcomes) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new LongAdder();
+            }
+        }
+        for (int i = 0; i < cacheHits.length; i++) {
+            cacheHits[i] = new LongAdder();
+            cacheMisses[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record the time since {@code startNanos} (from {@link System#nanoTime()}).
+     *
+     * @param timer the timed path
+     * @param startNanos the start time
+     */
+    public void record(Timer timer, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        timers.get(timer).record(elapsed);
+        if (timer.isTopLevel()) {
+            busyNanos.add(elapsed);
+        }
+    }
+
+    /**
+     * Count an interaction outcome.
+     *
+     * @param toolType the tool used
+     * @param outcome the outcome
+     */
+    public void increment(ToolType toolType, Outcome outcome) {
+        outcomes[toolType.ordinal()][outcome.ordinal()].increment();
+    }
+
+    /**
+     * Count a cache lookup.
+     *
+     * @param cache the cache
+     * @param hit whether the lookup was a hit
+     */
+    public void recordCacheLookup(Cache cache, boolean hit) {
+        (hit ? cacheHits : cacheMisses)[cache.ordinal()].increment();
+    }
+
+    public long getCacheHits(Cache cache) {
+        return cacheHits[cache.ordinal()].sum();
+    }
+
+    public long getCacheMisses(Cache cache) {
+        return cacheMisses[cache.ordinal()].sum();
+    }
+
+    /**
+     * Get the total time spent in top-level paths since startup.
+     * Unlike the histograms this is never reset, so it can be sampled for per-tick deltas.
+     *
+     * @return busy time in nanoseconds
+     */
+    public long getBusyNanos() {
+        return busyNanos.sum();
+    }
+
+    public LatencyHistogram getHistogram(Timer timer) {
+        return timers.get(timer);
+    }
+
+    public long getCount(ToolType toolType, Outcome outcome) {
+        return outcomes[toolType.ordinal()][outcome.ordinal()].sum();
+    }
+
+    /**
+     * Clear all counters and histograms.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : timers.values()) {
+            histogram.reset();
+        }
+        for (LongAdder[] row : outcomes) {
+            for (LongAdder adder : row) {
+                adder.reset();
+            }
+        }
+        for (int i = 0; i < cacheHits.length; i++) {
+            cacheHits[i].reset();
+            cacheMisses[i].reset();
+        }
+    }
+}
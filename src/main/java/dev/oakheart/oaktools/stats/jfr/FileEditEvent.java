@@ -0,0 +1,53 @@
+package dev.oakheart.oaktools.stats.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one File right-click.
+ */
+@Name("dev.oakheart.oaktools.FileEdit")
+@Label("File Edit")
+@Category("OakTools")
+@Description("A File right-click, split into phases")
+@StackTrace(false)
+public class FileEditEvent extends PhasedEvent {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Material")
+    @Description("Block that was clicked")
+    public String material;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Protection")
+    @Timespan(Timespan.NANOSECONDS)
+    public long protectionNanos;
+
+    @Label("Edit")
+    @Description("Computing and applying the new block state")
+    @Timespan(Timespan.NANOSECONDS)
+    public long editNanos;
+
+    @Label("Event")
+    @Description("Calling FileUseEvent")
+    @Timespan(Timespan.NANOSECONDS)
+    public long eventNanos;
+
+    @Label("Apply")
+    @Description("Durability, lore and sound")
+    @Timespan(Timespan.NANOSECONDS)
+    public long applyNanos;
+
+    @Label("Logging")
+    @Description("CoreProtect, journal and undo history")
+    @Timespan(Timespan.NANOSECONDS)
+    public long loggingNanos;
+}
@@ -0,0 +1,24 @@
+package dev.oakheart.oaktools.stats.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a CoreProtect queue drain or edit journal flush.
+ */
+@Name("dev.oakheart.oaktools.Flush")
+@Label("Log Flush")
+@Category("OakTools")
+@StackTrace(false)
+public class FlushEvent extends PhasedEvent {
+
+    @Label("Target")
+    @Description("coreprotect or journal")
+    public String target;
+
+    @Label("Records")
+    public int records;
+}
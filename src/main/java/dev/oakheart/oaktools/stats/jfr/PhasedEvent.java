@@ -0,0 +1,48 @@
+package dev.oakheart.oaktools.stats.jfr;
+
+import jdk.jfr.Event;
+
+/**
+ * Base for JFR events that split their duration into phases.
+ * Phase timing only reads the clock while the event is enabled in a running recording.
+ */
+abstract class PhasedEvent extends Event {
+
+    private transient boolean timing;
+    private transient long mark;
+
+    /**
+     * Begin the event and start timing the first phase.
+     */
+    public void start() {
+        timing = isEnabled();
+        if (timing) {
+            begin();
+            mark = System.nanoTime();
+        }
+    }
+
+    /**
+     * End the current phase and start the next one.
+     *
+     * @return nanoseconds spent in the phase that just ended (0 when not recording)
+     */
+    public long lap() {
+        if (!timing) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+
+    /**
+     * Commit the event if it is being recorded.
+     */
+    public void finish() {
+        if (timing) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package dev.oakheart.oaktools.stats.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a protection query (single block or bulk).
+ */
+@Name("dev.oakheart.oaktools.ProtectionCheck")
+@Label("Protection Check")
+@Category("OakTools")
+@StackTrace(false)
+public class ProtectionCheckEvent extends PhasedEvent {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Material")
+    @Description("Block checked (first block for bulk queries)")
+    public String material;
+
+    @Label("Blocks")
+    public int blocks;
+
+    @Label("Allowed")
+    @Description("Number of blocks the player may modify")
+    public int allowed;
+}
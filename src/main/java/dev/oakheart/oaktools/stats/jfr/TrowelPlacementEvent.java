@@ -0,0 +1,58 @@
+package dev.oakheart.oaktools.stats.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one Trowel right-click.
+ */
+@Name("dev.oakheart.oaktools.TrowelPlacement")
+@Label("Trowel Placement")
+@Category("OakTools")
+@Description("A Trowel right-click, split into phases")
+@StackTrace(false)
+public class TrowelPlacementEvent extends PhasedEvent {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Material")
+    @Description("Block chosen from the feed source")
+    public String material;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Selection")
+    @Description("Reading the feed source and choosing a block")
+    @Timespan(Timespan.NANOSECONDS)
+    public long selectionNanos;
+
+    @Label("Geometry")
+    @Description("Resolving the target block and placement state")
+    @Timespan(Timespan.NANOSECONDS)
+    public long geometryNanos;
+
+    @Label("Protection")
+    @Timespan(Timespan.NANOSECONDS)
+    public long protectionNanos;
+
+    @Label("Event")
+    @Description("Calling TrowelPlaceEvent")
+    @Timespan(Timespan.NANOSECONDS)
+    public long eventNanos;
+
+    @Label("Apply")
+    @Description("Consuming the block, durability, lore, placement and sound")
+    @Timespan(Timespan.NANOSECONDS)
+    public long applyNanos;
+
+    @Label("Logging")
+    @Description("CoreProtect, journal and undo history")
+    @Timespan(Timespan.NANOSECONDS)
+    public long loggingNanos;
+}
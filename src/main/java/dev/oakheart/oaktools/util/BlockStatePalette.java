@@ -0,0 +1,84 @@
+package dev.oakheart.oaktools.util;
+
+import org.bukkit.block.data.BlockData;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe palette that interns block states to small integer ids.
+ * Lets edit records store an int per state instead of a BlockData reference.
+ * Ids are only valid for the lifetime of the palette (they are not persisted).
+ */
+public class BlockStatePalette {
+
+    private final Map<BlockData, Integer> ids = new ConcurrentHashMap<>();
+    private volatile BlockData[] states = new BlockData[256];
+    private int size;
+
+    /**
+     * Get the id of a block state, interning it if it has not been seen before.
+     *
+     * @param data the block state
+     * @return the palette id
+     */
+    public int idOf(BlockData data) {
+        Integer id = ids.get(data);
+        if (id != null) {
+            return id;
+        }
+        return intern(data);
+    }
+
+    /**
+     * Get the block state for an id.
+     * The returned instance is shared - clone it before modifying.
+     *
+     * @param id the palette id
+     * @return the block state, or null if the id is unknown
+     */
+    public BlockData get(int id) {
+        BlockData[] current = states;
+        if (id < 0 || id >= current.length) {
+            return null;
+        }
+        return current[id];
+    }
+
+    /**
+     * Get the number of interned states.
+     *
+     * @return the palette size
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Add a new state to the palette (slow path, called once per distinct state).
+     */
+    private synchronized int intern(BlockData data) {
+        // Another thread may have interned it while we waited for the lock
+        Integer existing = ids.get(data);
+        if (existing != null) {
+            return existing;
+        }
+
+        int id = size;
+        BlockData[] current = states;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+
+        // Store a private copy so callers mutating their BlockData can't corrupt the palette
+        BlockData copy = data.clone();
+        current[id] = copy;
+        states = current;
+        size++;
+
+        // Publish the id last so readers always see the state in the array
+        ids.put(copy, id);
+        return id;
+    }
+}
@@ -1,8 +1,12 @@
 package dev.oakheart.oaktools.util;
 
+import dev.oakheart.oaktools.core.Face;
+import dev.oakheart.oaktools.core.StairsGeometry;
+import dev.oakheart.oaktools.model.EditType;
 import org.bukkit.Axis;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.block.data.*;
 import org.bukkit.block.data.type.Slab;
 import org.bukkit.block.data.type.Stairs;
@@ -83,6 +87,63 @@ public class BlockUtil {
         return block.getBlockData() instanceof Slab;
     }
 
+    /**
+     * Find the edit the File tool makes on a block.
+     * Edits are tried in priority order (MultipleFacing -> Walls -> Stairs -> Directional -> Axis -> Slabs),
+     * skipping those disabled in tools.file.features.
+     *
+     * @param block the block to edit
+     * @param config the configuration with the feature toggles
+     * @return the edit type, or null if no enabled edit applies to the block
+     */
+    public static EditType getFileEdit(Block block, ConfigurationSection config) {
+        for (EditType editType : EditType.values()) {
+            if (config.getBoolean(editType.getFeaturePath(), true) && supports(block, editType)) {
+                return editType;
+            }
+        }
+        return null;
+    }
+
+    private static boolean supports(Block block, EditType editType) {
+        return switch (editType) {
+            case MULTIPLE_FACING -> hasMultipleFacing(block);
+            case WALL -> isWall(block);
+            case STAIRS -> isStairs(block);
+            case DIRECTIONAL -> isDirectional(block);
+            case AXIS -> hasAxis(block);
+            case SLAB -> isSlab(block);
+        };
+    }
+
+    /**
+     * Apply a File edit to a block, as found by {@link #getFileEdit}.
+     *
+     * @param block the block to modify
+     * @param editType the edit to make
+     * @param clickedFace the face that was clicked
+     * @param interactionPoint the exact point where the block was clicked (can be null)
+     * @param playerFacing the direction the player is facing
+     * @param playerPos the player's position
+     * @param sneaking whether the player is sneaking (toggles the stairs half instead of the shape)
+     * @param debug whether to log stairs edit debug information
+     * @return true if the block changed
+     */
+    public static boolean applyFileEdit(Block block, EditType editType, BlockFace clickedFace,
+                                        org.bukkit.util.Vector interactionPoint, BlockFace playerFacing,
+                                        org.bukkit.util.Vector playerPos, boolean sneaking, boolean debug) {
+        return switch (editType) {
+            case MULTIPLE_FACING -> cycleMultipleFacing(block, clickedFace, interactionPoint, playerFacing);
+            case WALL -> cycleWall(block, clickedFace, interactionPoint, playerFacing);
+            case STAIRS -> sneaking
+                    ? toggleStairsHalf(block)
+                    : editStairsShape(block, clickedFace, interactionPoint, playerPos, debug);
+            case DIRECTIONAL -> rotateDirectional(block);
+            case AXIS -> rotateAxis(block);
+            case SLAB -> toggleSlab(block);
+        };
+    }
+
     /**
      * Toggle a specific face on a multiple facing block (fences, glass panes, iron bars).
      *
@@ -219,15 +280,35 @@ public class BlockUtil {
 
         // Intelligently determine facing and shape based on cursor position
         if (interactionPoint != null) {
-            StairsConfig config = determineStairsConfig(block, interactionPoint, clickedFace, playerPos, debug);
+            Face clicked = CoreTypes.toFace(clickedFace);
+            Face facing = CoreTypes.toFace(stairs.getFacing());
+            if (clicked == null || facing == null) {
+                return false;
+            }
+
+            double x = interactionPoint.getX() - block.getX();
+            double z = interactionPoint.getZ() - block.getZ();
+            StairsGeometry.Result result = StairsGeometry.toggleCorner(facing, CoreTypes.toShape(stairs.getShape()), x, z, clicked);
+
+            if (debug) {
+                org.bukkit.Bukkit.getLogger().info(String.format(
+                    "[File Debug] Stairs click - Face: %s, Current: %s %s, Click: %.2f,%.2f,%.2f, Player: %.2f,%.2f, Result: %s %s",
+                    clickedFace, stairs.getFacing(), stairs.getShape(),
+                    x, interactionPoint.getY() - block.getY(), z,
+                    playerPos.getX(), playerPos.getZ(), result.facing(), result.shape()
+                ));
+            }
+
+            BlockFace newFacing = CoreTypes.toBlockFace(result.facing());
+            Stairs.Shape newShape = CoreTypes.toStairsShape(result.shape());
 
             boolean changed = false;
-            if (config.facing != stairs.getFacing()) {
-                stairs.setFacing(config.facing);
+            if (newFacing != stairs.getFacing()) {
+                stairs.setFacing(newFacing);
                 changed = true;
             }
-            if (config.shape != stairs.getShape()) {
-                stairs.setShape(config.shape);
+            if (newShape != stairs.getShape()) {
+                stairs.setShape(newShape);
                 changed = true;
             }
 
@@ -238,333 +319,12 @@ public class BlockUtil {
             return false;
         } else {
             // Fallback: cycle through shapes
-            Stairs.Shape currentShape = stairs.getShape();
-            Stairs.Shape nextShape = switch (currentShape) {
-                case STRAIGHT -> Stairs.Shape.INNER_LEFT;
-                case INNER_LEFT -> Stairs.Shape.INNER_RIGHT;
-                case INNER_RIGHT -> Stairs.Shape.OUTER_LEFT;
-                case OUTER_LEFT -> Stairs.Shape.OUTER_RIGHT;
-                case OUTER_RIGHT -> Stairs.Shape.STRAIGHT;
-            };
-            stairs.setShape(nextShape);
+            stairs.setShape(CoreTypes.toStairsShape(CoreTypes.toShape(stairs.getShape()).next()));
             block.setBlockData(stairs, false);
             return true;
         }
     }
 
-    /**
-     * Helper class to store stairs configuration.
-     */
-    private static class StairsConfig {
-        BlockFace facing;
-        Stairs.Shape shape;
-
-        StairsConfig(BlockFace facing, Stairs.Shape shape) {
-            this.facing = facing;
-            this.shape = shape;
-        }
-    }
-
-    /**
-     * Corner position enum for octant detection.
-     */
-    private enum Corner {
-        SOUTH_WEST, NORTH_WEST, NORTH_EAST, SOUTH_EAST
-    }
-
-    /**
-     * Octant represents which eighth of a block was clicked.
-     */
-    private static class Octant {
-        Corner corner;
-        boolean isTop;
-
-        Octant(Corner corner, boolean isTop) {
-            this.corner = corner;
-            this.isTop = isTop;
-        }
-    }
-
-    /**
-     * Determine stairs facing and shape based on cursor position using corner-toggle logic.
-     * Clicking a corner toggles it between raised and lowered.
-     *
-     * @param block the stairs block
-     * @param interactionPoint the exact cursor position
-     * @param clickedFace the face that was clicked
-     * @param playerPos the player's position
-     * @param debug whether to log debug messages
-     * @return configuration with facing and shape
-     */
-    private static StairsConfig determineStairsConfig(Block block, org.bukkit.util.Vector interactionPoint, BlockFace clickedFace, org.bukkit.util.Vector playerPos, boolean debug) {
-        if (!(block.getBlockData() instanceof Stairs stairs)) {
-            return new StairsConfig(BlockFace.NORTH, Stairs.Shape.STRAIGHT);
-        }
-
-        // Store current facing for edge case handling
-        BlockFace currentFacing = stairs.getFacing();
-
-        // Detect which octant was clicked, considering the clicked face for better accuracy
-        Octant octant = detectOctant(block, interactionPoint, clickedFace, playerPos);
-        Corner clickedCorner = octant.corner;
-
-        if (debug) {
-            org.bukkit.Bukkit.getLogger().info(String.format(
-                "[File Debug] Stairs click - Corner: %s, IsTop: %s, Face: %s, Current: %s %s, Click: %.2f,%.2f,%.2f, Player: %.2f,%.2f",
-                clickedCorner, octant.isTop, clickedFace, stairs.getFacing(), stairs.getShape(),
-                interactionPoint.getX() % 1, interactionPoint.getY() % 1, interactionPoint.getZ() % 1,
-                playerPos.getX(), playerPos.getZ()
-            ));
-        }
-
-        // Get which corners are currently raised
-        boolean[] raisedCorners = getRaisedCorners(stairs.getFacing(), stairs.getShape());
-
-        if (debug) {
-            org.bukkit.Bukkit.getLogger().info(String.format(
-                "[File Debug] Current raised: SW=%s NW=%s NE=%s SE=%s",
-                raisedCorners[0], raisedCorners[1], raisedCorners[2], raisedCorners[3]
-            ));
-        }
-
-        // Toggle the clicked corner
-        int cornerIndex = getCornerIndex(clickedCorner);
-        raisedCorners[cornerIndex] = !raisedCorners[cornerIndex];
-
-        if (debug) {
-            org.bukkit.Bukkit.getLogger().info(String.format(
-                "[File Debug] New raised: SW=%s NW=%s NE=%s SE=%s",
-                raisedCorners[0], raisedCorners[1], raisedCorners[2], raisedCorners[3]
-            ));
-        }
-
-        // Calculate new facing and shape based on which corners are raised
-        StairsConfig result = calculateStairsFromCorners(raisedCorners, currentFacing);
-
-        if (debug) {
-            org.bukkit.Bukkit.getLogger().info(String.format(
-                "[File Debug] Result: %s %s", result.facing, result.shape
-            ));
-        }
-
-        return result;
-    }
-
-    /**
-     * Get which corners are currently raised for the given stairs configuration.
-     * Returns array: [SW, NW, NE, SE]
-     *
-     * For NORTH-facing stairs:
-     * - NORTH side (NW, NE) is the tall/back end (raised)
-     * - SOUTH side (SW, SE) is the short/front end (lowered)
-     */
-    private static boolean[] getRaisedCorners(BlockFace facing, Stairs.Shape shape) {
-        boolean[] raised = new boolean[4]; // SW, NW, NE, SE
-
-        // First, determine raised corners in north reference frame
-        // For north-facing stairs, north corners (NW, NE) are the tall end
-        switch (shape) {
-            case STRAIGHT -> {
-                // Two back corners raised (north side for north-facing stairs)
-                raised[1] = true;  // NW - raised
-                raised[2] = true;  // NE - raised
-            }
-            case INNER_LEFT -> {
-                // Three corners: back two + front left
-                raised[0] = true;  // SW - raised (front left)
-                raised[1] = true;  // NW - raised (back left)
-                raised[2] = true;  // NE - raised (back right)
-            }
-            case INNER_RIGHT -> {
-                // Three corners: back two + front right
-                raised[1] = true;  // NW - raised (back left)
-                raised[2] = true;  // NE - raised (back right)
-                raised[3] = true;  // SE - raised (front right)
-            }
-            case OUTER_LEFT -> {
-                // One corner: back left
-                raised[1] = true;  // NW - raised
-            }
-            case OUTER_RIGHT -> {
-                // One corner: back right
-                raised[2] = true;  // NE - raised
-            }
-        }
-
-        // Rotate corners based on facing direction
-        return rotateRaisedCorners(raised, facing);
-    }
-
-    /**
-     * Rotate raised corners array based on facing direction.
-     * Clockwise rotation: NORTH(0°) -> EAST(90°) -> SOUTH(180°) -> WEST(270°)
-     */
-    private static boolean[] rotateRaisedCorners(boolean[] corners, BlockFace facing) {
-        int rotations = switch (facing) {
-            case NORTH -> 0;
-            case EAST -> 1;  // 90° clockwise from north
-            case SOUTH -> 2; // 180° from north
-            case WEST -> 3;  // 270° clockwise from north
-            default -> 0;
-        };
-
-        boolean[] result = corners.clone();
-        for (int i = 0; i < rotations; i++) {
-            result = rotateRaisedCornersClockwise(result);
-        }
-        return result;
-    }
-
-    /**
-     * Rotate raised corners array 90 degrees clockwise.
-     * Looking from above, corners rotate: NW->NE, NE->SE, SE->SW, SW->NW
-     * Array: [SW, NW, NE, SE] -> [SE, SW, NW, NE]
-     */
-    private static boolean[] rotateRaisedCornersClockwise(boolean[] corners) {
-        return new boolean[] {
-            corners[3],  // SW position gets SE value
-            corners[0],  // NW position gets SW value
-            corners[1],  // NE position gets NW value
-            corners[2]   // SE position gets NE value
-        };
-    }
-
-    /**
-     * Get the index for a corner in the raised corners array.
-     */
-    private static int getCornerIndex(Corner corner) {
-        return switch (corner) {
-            case SOUTH_WEST -> 0;
-            case NORTH_WEST -> 1;
-            case NORTH_EAST -> 2;
-            case SOUTH_EAST -> 3;
-        };
-    }
-
-    /**
-     * Calculate stairs facing and shape based on which corners are raised.
-     * Array indices: [SW, NW, NE, SE]
-     *
-     * For reference, NORTH-facing stairs have:
-     * - NW, NE raised (back/tall end)
-     * - SW, SE lowered (front/short end)
-     *
-     * @param raised array of which corners are raised
-     * @param currentFacing the current facing direction (used when count == 0)
-     * @return configuration with facing and shape
-     */
-    private static StairsConfig calculateStairsFromCorners(boolean[] raised, BlockFace currentFacing) {
-        // Count raised corners
-        int count = 0;
-        for (boolean r : raised) {
-            if (r) count++;
-        }
-
-        // Determine configuration based on pattern
-        if (count == 0) {
-            // No corners raised - preserve current facing and default to STRAIGHT
-            return new StairsConfig(currentFacing, Stairs.Shape.STRAIGHT);
-        }
-
-        if (count == 1) {
-            // One corner - OUTER shape
-            // Each corner corresponds to one facing direction for OUTER_LEFT
-            if (raised[0]) return new StairsConfig(BlockFace.WEST, Stairs.Shape.OUTER_LEFT);    // SW
-            if (raised[1]) return new StairsConfig(BlockFace.NORTH, Stairs.Shape.OUTER_LEFT);   // NW
-            if (raised[2]) return new StairsConfig(BlockFace.EAST, Stairs.Shape.OUTER_LEFT);    // NE
-            if (raised[3]) return new StairsConfig(BlockFace.SOUTH, Stairs.Shape.OUTER_LEFT);   // SE
-        }
-
-        if (count == 2) {
-            // Two corners - STRAIGHT (if same edge)
-            if (raised[0] && raised[3]) return new StairsConfig(BlockFace.SOUTH, Stairs.Shape.STRAIGHT);  // SW + SE (south edge)
-            if (raised[1] && raised[2]) return new StairsConfig(BlockFace.NORTH, Stairs.Shape.STRAIGHT);  // NW + NE (north edge)
-            if (raised[0] && raised[1]) return new StairsConfig(BlockFace.WEST, Stairs.Shape.STRAIGHT);   // SW + NW (west edge)
-            if (raised[2] && raised[3]) return new StairsConfig(BlockFace.EAST, Stairs.Shape.STRAIGHT);   // NE + SE (east edge)
-
-            // Diagonal corners - pick a reasonable default
-            if (raised[0] && raised[2]) return new StairsConfig(BlockFace.NORTH, Stairs.Shape.STRAIGHT);  // SW + NE diagonal
-            if (raised[1] && raised[3]) return new StairsConfig(BlockFace.NORTH, Stairs.Shape.STRAIGHT);  // NW + SE diagonal
-        }
-
-        if (count == 3) {
-            // Three corners - INNER shape
-            // Based on rotation: NORTH INNER_RIGHT has NW, NE, SE (missing SW)
-            // Rotating gives: EAST(missing NW), SOUTH(missing NE), WEST(missing SE)
-            if (!raised[0]) return new StairsConfig(BlockFace.NORTH, Stairs.Shape.INNER_RIGHT); // Missing SW
-            if (!raised[1]) return new StairsConfig(BlockFace.EAST, Stairs.Shape.INNER_RIGHT);  // Missing NW
-            if (!raised[2]) return new StairsConfig(BlockFace.SOUTH, Stairs.Shape.INNER_RIGHT); // Missing NE
-            if (!raised[3]) return new StairsConfig(BlockFace.WEST, Stairs.Shape.INNER_RIGHT);  // Missing SE
-        }
-
-        if (count == 4) {
-            // All corners raised - not possible with normal stairs, preserve facing and use STRAIGHT
-            return new StairsConfig(currentFacing, Stairs.Shape.STRAIGHT);
-        }
-
-        // Fallback (should never reach here)
-        return new StairsConfig(currentFacing, Stairs.Shape.STRAIGHT);
-    }
-
-    /**
-     * Detect which octant (eighth of the block) was clicked.
-     * Uses the clicked face and player position to disambiguate boundary cases.
-     */
-    private static Octant detectOctant(Block block, org.bukkit.util.Vector interactionPoint, BlockFace clickedFace, org.bukkit.util.Vector playerPos) {
-        double x = interactionPoint.getX() - block.getX();
-        double y = interactionPoint.getY() - block.getY();
-        double z = interactionPoint.getZ() - block.getZ();
-
-        boolean isEast = x >= 0.5;
-        boolean isTop = y >= 0.5;
-        boolean isSouth = z >= 0.5;
-
-        // Boundary threshold - if click position is near the center, apply "reach through" logic
-        double boundaryThreshold = 0.2; // Within 0.2 of center (0.3-0.7 range)
-
-        // When clicking side faces near boundaries, flip to reach through
-        // Otherwise, force to match the clicked face
-        if (clickedFace == BlockFace.WEST) {
-            if (Math.abs(x - 0.5) < boundaryThreshold) {
-                isEast = true; // Near boundary, reaching for east corners
-            } else {
-                isEast = false; // Far from boundary, definitely west
-            }
-        } else if (clickedFace == BlockFace.EAST) {
-            if (Math.abs(x - 0.5) < boundaryThreshold) {
-                isEast = false; // Near boundary, reaching for west corners
-            } else {
-                isEast = true; // Far from boundary, definitely east
-            }
-        } else if (clickedFace == BlockFace.NORTH) {
-            if (Math.abs(z - 0.5) < boundaryThreshold) {
-                isSouth = true; // Near boundary, reaching for south corners
-            } else {
-                isSouth = false; // Far from boundary, definitely north
-            }
-        } else if (clickedFace == BlockFace.SOUTH) {
-            if (Math.abs(z - 0.5) < boundaryThreshold) {
-                isSouth = false; // Near boundary, reaching for north corners
-            } else {
-                isSouth = true; // Far from boundary, definitely south
-            }
-        }
-        // For TOP/BOTTOM faces, use the position as-is
-
-        Corner corner;
-        if (isSouth && !isEast) {
-            corner = Corner.SOUTH_WEST;
-        } else if (!isSouth && !isEast) {
-            corner = Corner.NORTH_WEST;
-        } else if (!isSouth && isEast) {
-            corner = Corner.NORTH_EAST;
-        } else {
-            corner = Corner.SOUTH_EAST;
-        }
-
-        return new Octant(corner, isTop);
-    }
-
     /**
      * Rotate a directional block to the next facing.
      *
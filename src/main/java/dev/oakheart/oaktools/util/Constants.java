@@ -12,6 +12,9 @@ public class Constants {
     public static final String NAMESPACE = "oaktools";
 
     // PDC Keys (initialized in init())
+    public static NamespacedKey TOOL_STATE;
+
+    // Per-field keys used before TOOL_STATE, read for migration only
     public static NamespacedKey TOOL_TYPE;
     public static NamespacedKey DURABILITY;
     public static NamespacedKey MAX_DURABILITY;
@@ -23,6 +26,7 @@ public class Constants {
      * @param plugin the plugin instance
      */
     public static void init(Plugin plugin) {
+        TOOL_STATE = new NamespacedKey(plugin, "state");
         TOOL_TYPE = new NamespacedKey(plugin, "tool_type");
         DURABILITY = new NamespacedKey(plugin, "dur");
         MAX_DURABILITY = new NamespacedKey(plugin, "max_dur");
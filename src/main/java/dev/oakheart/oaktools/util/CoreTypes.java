@@ -0,0 +1,81 @@
+package dev.oakheart.oaktools.util;
+
+import dev.oakheart.oaktools.core.BlockAxis;
+import dev.oakheart.oaktools.core.Face;
+import dev.oakheart.oaktools.core.Half;
+import dev.oakheart.oaktools.core.StairShape;
+import org.bukkit.Axis;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.type.Slab;
+import org.bukkit.block.data.type.Stairs;
+
+/**
+ * Converts between Bukkit types and the value types of the Bukkit-free core module.
+ */
+public class CoreTypes {
+
+    /**
+     * Convert a Bukkit block face.
+     *
+     * @param face the block face
+     * @return the core face, or null for non-axis faces (e.g., NORTH_EAST, SELF)
+     */
+    public static Face toFace(BlockFace face) {
+        return switch (face) {
+            case NORTH -> Face.NORTH;
+            case EAST -> Face.EAST;
+            case SOUTH -> Face.SOUTH;
+            case WEST -> Face.WEST;
+            case UP -> Face.UP;
+            case DOWN -> Face.DOWN;
+            default -> null;
+        };
+    }
+
+    public static BlockFace toBlockFace(Face face) {
+        return switch (face) {
+            case NORTH -> BlockFace.NORTH;
+            case EAST -> BlockFace.EAST;
+            case SOUTH -> BlockFace.SOUTH;
+            case WEST -> BlockFace.WEST;
+            case UP -> BlockFace.UP;
+            case DOWN -> BlockFace.DOWN;
+        };
+    }
+
+    public static Axis toAxis(BlockAxis axis) {
+        return switch (axis) {
+            case X -> Axis.X;
+            case Y -> Axis.Y;
+            case Z -> Axis.Z;
+        };
+    }
+
+    public static Stairs.Half toStairsHalf(Half half) {
+        return half == Half.TOP ? Stairs.Half.TOP : Stairs.Half.BOTTOM;
+    }
+
+    public static Slab.Type toSlabType(Half half) {
+        return half == Half.TOP ? Slab.Type.TOP : Slab.Type.BOTTOM;
+    }
+
+    public static StairShape toShape(Stairs.Shape shape) {
+        return switch (shape) {
+            case STRAIGHT -> StairShape.STRAIGHT;
+            case INNER_LEFT -> StairShape.INNER_LEFT;
+            case INNER_RIGHT -> StairShape.INNER_RIGHT;
+            case OUTER_LEFT -> StairShape.OUTER_LEFT;
+            case OUTER_RIGHT -> StairShape.OUTER_RIGHT;
+        };
+    }
+
+    public static Stairs.Shape toStairsShape(StairShape shape) {
+        return switch (shape) {
+            case STRAIGHT -> Stairs.Shape.STRAIGHT;
+            case INNER_LEFT -> Stairs.Shape.INNER_LEFT;
+            case INNER_RIGHT -> Stairs.Shape.INNER_RIGHT;
+            case OUTER_LEFT -> Stairs.Shape.OUTER_LEFT;
+            case OUTER_RIGHT -> Stairs.Shape.OUTER_RIGHT;
+        };
+    }
+}
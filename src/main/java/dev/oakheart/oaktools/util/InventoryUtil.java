@@ -3,6 +3,7 @@ package dev.oakheart.oaktools.util;
 import dev.oakheart.oaktools.model.FeedSource;
 import org.bukkit.Material;
 import org.bukkit.block.data.Bisected;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.type.Bed;
 import org.bukkit.block.data.type.Sign;
 import org.bukkit.entity.Player;
@@ -73,8 +74,17 @@ public class InventoryUtil {
         }
 
         // Get the block data to check properties
-        var blockData = material.createBlockData();
+        return isPlaceableBlock(material, material.createBlockData());
+    }
 
+    /**
+     * Check if a block type can be placed by the Trowel, from its default block data.
+     *
+     * @param material the block material
+     * @param blockData the material's default block data
+     * @return true if placeable
+     */
+    static boolean isPlaceableBlock(Material material, BlockData blockData) {
         // Exclude multi-block items (doors, tall plants, etc.)
         // These implement Bisected interface (two-block-tall structures)
         // Note: Stairs also implement Bisected but are NOT multi-block, so we exclude them from this check
@@ -1,7 +1,7 @@
 package dev.oakheart.oaktools.util;
 
-import org.bukkit.Axis;
-import org.bukkit.block.Block;
+import dev.oakheart.oaktools.core.Face;
+import dev.oakheart.oaktools.core.PlacementRules;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.Directional;
@@ -13,6 +13,7 @@ import org.bukkit.util.Vector;
 
 /**
  * Utility class for vanilla-accurate block placement logic.
+ * Applies the rules from {@link PlacementRules} to Bukkit block data.
  */
 public class PlacementUtil {
 
@@ -26,10 +27,15 @@ public class PlacementUtil {
      * @return the modified block data
      */
     public static BlockData applyPlacementLogic(BlockData blockData, BlockFace clickedFace, Vector clickedLocation, Player player) {
+        Face face = CoreTypes.toFace(clickedFace);
+        if (face == null) {
+            return blockData;
+        }
+
         // Handle directional blocks (furnaces, hoppers, dispensers, etc.)
         if (blockData instanceof Directional directional) {
             // Face opposite to clicked face (toward player)
-            BlockFace placementFace = clickedFace.getOppositeFace();
+            BlockFace placementFace = CoreTypes.toBlockFace(PlacementRules.directionalFacing(face));
 
             // Ensure the face is valid for this block
             if (directional.getFaces().contains(placementFace)) {
@@ -39,32 +45,12 @@ public class PlacementUtil {
 
         // Handle orientable blocks (logs, pillars, bone blocks)
         if (blockData instanceof Orientable orientable) {
-            Axis axis = switch (clickedFace) {
-                case UP, DOWN -> Axis.Y;
-                case NORTH, SOUTH -> Axis.Z;
-                case EAST, WEST -> Axis.X;
-                default -> Axis.Y;
-            };
-            orientable.setAxis(axis);
+            orientable.setAxis(CoreTypes.toAxis(PlacementRules.axis(face)));
         }
 
         // Handle slabs (top/bottom based on click position)
         if (blockData instanceof Slab slab) {
-            if (clickedFace == BlockFace.DOWN) {
-                slab.setType(Slab.Type.TOP);
-            } else if (clickedFace == BlockFace.UP) {
-                slab.setType(Slab.Type.BOTTOM);
-            } else {
-                // Clicked on side - check click height
-                double clickedY = clickedLocation.getY() % 1.0;
-                if (clickedY < 0) clickedY += 1.0; // Handle negative coords
-
-                if (clickedY >= 0.5) {
-                    slab.setType(Slab.Type.TOP);
-                } else {
-                    slab.setType(Slab.Type.BOTTOM);
-                }
-            }
+            slab.setType(CoreTypes.toSlabType(PlacementRules.half(face, clickedLocation.getY())));
         }
 
         // Handle stairs (facing based on player direction, half based on click position)
@@ -75,22 +61,7 @@ public class PlacementUtil {
                 stairs.setFacing(playerFacing);
             }
 
-            // Set half based on click position
-            if (clickedFace == BlockFace.DOWN) {
-                stairs.setHalf(Stairs.Half.TOP);
-            } else if (clickedFace == BlockFace.UP) {
-                stairs.setHalf(Stairs.Half.BOTTOM);
-            } else {
-                // Clicked on side - check click height
-                double clickedY = clickedLocation.getY() % 1.0;
-                if (clickedY < 0) clickedY += 1.0;
-
-                if (clickedY >= 0.5) {
-                    stairs.setHalf(Stairs.Half.TOP);
-                } else {
-                    stairs.setHalf(Stairs.Half.BOTTOM);
-                }
-            }
+            stairs.setHalf(CoreTypes.toStairsHalf(PlacementRules.half(face, clickedLocation.getY())));
         }
 
         return blockData;
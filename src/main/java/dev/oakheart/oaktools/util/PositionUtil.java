@@ -0,0 +1,71 @@
+package dev.oakheart.oaktools.util;
+
+/**
+ * Utility class for packing block positions into primitive longs.
+ * Uses the vanilla layout: 26 bits X, 26 bits Z, 12 bits Y (all signed).
+ */
+public class PositionUtil {
+
+    private static final int XZ_BITS = 26;
+    private static final int Y_BITS = 12;
+    private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+    private static final long Y_MASK = (1L << Y_BITS) - 1;
+    private static final int X_SHIFT = XZ_BITS + Y_BITS;
+    private static final int Z_SHIFT = Y_BITS;
+
+    /**
+     * Pack a block position into a long.
+     *
+     * @param x the block X coordinate
+     * @param y the block Y coordinate
+     * @param z the block Z coordinate
+     * @return the packed position
+     */
+    public static long pack(int x, int y, int z) {
+        return ((x & XZ_MASK) << X_SHIFT) | ((z & XZ_MASK) << Z_SHIFT) | (y & Y_MASK);
+    }
+
+    /**
+     * Get the X coordinate of a packed position.
+     *
+     * @param packed the packed position
+     * @return the block X coordinate
+     */
+    public static int unpackX(long packed) {
+        return (int) (packed >> X_SHIFT);
+    }
+
+    /**
+     * Get the Y coordinate of a packed position.
+     *
+     * @param packed the packed position
+     * @return the block Y coordinate
+     */
+    public static int unpackY(long packed) {
+        return (int) (packed << (64 - Y_BITS) >> (64 - Y_BITS));
+    }
+
+    /**
+     * Get the Z coordinate of a packed position.
+     *
+     * @param packed the packed position
+     * @return the block Z coordinate
+     */
+    public static int unpackZ(long packed) {
+        return (int) (packed << (64 - X_SHIFT) >> (64 - XZ_BITS));
+    }
+
+    /**
+     * Get a key identifying the chunk of a block position within a world.
+     *
+     * @param worldId a small per-world id
+     * @param x the block X coordinate
+     * @param z the block Z coordinate
+     * @return the chunk key
+     */
+    public static long chunkKey(int worldId, int x, int z) {
+        long chunkX = (x >> 4) & 0xFFFFFFL;
+        long chunkZ = (z >> 4) & 0xFFFFFFL;
+        return ((long) worldId << 48) | (chunkX << 24) | chunkZ;
+    }
+}
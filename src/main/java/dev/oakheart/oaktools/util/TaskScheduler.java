@@ -0,0 +1,110 @@
+package dev.oakheart.oaktools.util;
+
+import dev.oakheart.oaktools.OakTools;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+
+/**
+ * Schedules plugin tasks on the right thread for the server type.
+ * On Paper everything runs on the main thread through the Bukkit scheduler.
+ * On Folia, tasks run on the global region or on the thread that owns an entity.
+ */
+public class TaskScheduler {
+
+    /**
+     * Handle for a scheduled task.
+     */
+    @FunctionalInterface
+    public interface Task {
+        void cancel();
+    }
+
+    private static final boolean FOLIA = detectFolia();
+
+    private final OakTools plugin;
+
+    public TaskScheduler(OakTools plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Check if the server is running Folia (region-threaded).
+     *
+     * @return true on Folia
+     */
+    public static boolean isFolia() {
+        return FOLIA;
+    }
+
+    private static boolean detectFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Run a task after a delay (global region on Folia).
+     *
+     * @param task the task
+     * @param delayTicks delay in ticks (at least 1)
+     */
+    public void runGlobalLater(Runnable task, long delayTicks) {
+        if (FOLIA) {
+            Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), Math.max(1L, delayTicks));
+        } else {
+            Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+        }
+    }
+
+    /**
+     * Run a repeating task (global region on Folia).
+     *
+     * @param task the task
+     * @param delayTicks initial delay in ticks (at least 1)
+     * @param periodTicks period in ticks (at least 1)
+     * @return handle to cancel the task
+     */
+    public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        if (FOLIA) {
+            var scheduled = Bukkit.getGlobalRegionScheduler()
+                    .runAtFixedRate(plugin, t -> task.run(), Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+            return scheduled::cancel;
+        }
+        var scheduled = Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+        return scheduled::cancel;
+    }
+
+    /**
+     * Run a task on the next tick on the thread that owns an entity.
+     * The task is skipped if the entity is removed first (e.g., the player logs out).
+     *
+     * @param entity the entity
+     * @param task the task
+     */
+    public void runAtEntity(Entity entity, Runnable task) {
+        runAtEntityLater(entity, task, 1L);
+    }
+
+    /**
+     * Run a task after a delay on the thread that owns an entity.
+     * The task is skipped if the entity is removed first (e.g., the player logs out).
+     *
+     * @param entity the entity
+     * @param task the task
+     * @param delayTicks delay in ticks (at least 1)
+     */
+    public void runAtEntityLater(Entity entity, Runnable task, long delayTicks) {
+        if (FOLIA) {
+            entity.getScheduler().runDelayed(plugin, scheduled -> task.run(), null, Math.max(1L, delayTicks));
+        } else {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                if (entity.isValid()) {
+                    task.run();
+                }
+            }, delayTicks);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.oakheart.oaktools.services;
+
+import dev.oakheart.oaktools.core.ToolPlaceholders;
+import dev.oakheart.oaktools.integration.ProtectionProvider;
+import net.kyori.adventure.text.Component;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EquipmentSlot;
+
+import java.util.List;
+
+/**
+ * Gives the load simulator the service code paths that run without a plugin instance:
+ * the protection provider checks and lore rendering.
+ */
+public final class SimulatorAccess {
+
+    private final ProtectionService protectionService;
+    private final DisplayService displayService = new DisplayService(null);
+
+    /**
+     * Create the services with the given protection providers in place of the fake-event provider.
+     *
+     * @param providers the protection providers to ask
+     */
+    public SimulatorAccess(List<ProtectionProvider> providers) {
+        this.protectionService = new ProtectionService(null, providers);
+    }
+
+    /**
+     * Run the same check as {@link ProtectionService#canModifyBlock}, without stats or debug logging.
+     *
+     * @param player the player
+     * @param block the block to check
+     * @return true if every provider allows the change
+     */
+    public boolean canModifyBlock(Player player, Block block) {
+        return protectionService.checkBlock(player, block, EquipmentSlot.HAND, null, false);
+    }
+
+    /**
+     * Render lore lines the way {@link DisplayService} does for a tool.
+     *
+     * @param loreTemplate the MiniMessage lore lines
+     * @param placeholders the placeholder values
+     * @return the lore components
+     */
+    public List<Component> renderLore(List<String> loreTemplate, ToolPlaceholders placeholders) {
+        return displayService.renderLore(loreTemplate, placeholders);
+    }
+}
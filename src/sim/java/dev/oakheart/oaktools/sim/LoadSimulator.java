@@ -0,0 +1,464 @@
+package dev.oakheart.oaktools.sim;
+
+import dev.oakheart.oaktools.bench.StubBlock;
+import dev.oakheart.oaktools.bench.StubBlockData;
+import dev.oakheart.oaktools.bench.StubPlayer;
+import dev.oakheart.oaktools.core.DurabilityMath;
+import dev.oakheart.oaktools.core.FeedSelection;
+import dev.oakheart.oaktools.core.ToolPlaceholders;
+import dev.oakheart.oaktools.integration.LogQueue;
+import dev.oakheart.oaktools.integration.ProtectionProvider;
+import dev.oakheart.oaktools.services.SimulatorAccess;
+import dev.oakheart.oaktools.stats.LatencyHistogram;
+import dev.oakheart.oaktools.util.BlockUtil;
+import dev.oakheart.oaktools.util.PlacementUtil;
+import org.bukkit.Axis;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Directional;
+import org.bukkit.block.data.Orientable;
+import org.bukkit.block.data.type.Slab;
+import org.bukkit.block.data.type.Stairs;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Offline load simulator for the Trowel and File interaction pipeline.
+ * Runs N virtual players clicking at a configurable rate for a fixed number of simulated ticks against an
+ * in-memory world, and reports throughput, per-phase latency and allocation.
+ *
+ * <p>The listeners themselves need a running server, so the simulator calls the code they call: feed selection,
+ * {@link PlacementUtil} and {@link BlockUtil} on the benchmark stand-in blocks and players, the
+ * {@code ProtectionService} provider checks, the CoreProtect {@link LogQueue} and {@code DisplayService} lore
+ * rendering. Only other plugins are modeled: the protection provider and the CoreProtect API each cost a fixed
+ * number of microseconds.</p>
+ *
+ * <p>Run with {@code ./gradlew simulate -PsimArgs="--players=150 --clicks-per-second=4"}.</p>
+ */
+public class LoadSimulator {
+
+    /**
+     * Pipeline phases that are timed separately.
+     */
+    enum Phase {
+        SELECTION,          // Feed source scan and block choice
+        GEOMETRY,           // Placement logic (Trowel) or stairs edit (File, writes the block)
+        PROTECTION,
+        APPLY,              // Consume the block and write it (Trowel)
+        LOGGING,
+        DISPLAY,
+        COREPROTECT_DRAIN
+    }
+
+    /**
+     * A queued CoreProtect action, shaped like the logger's own record.
+     */
+    private record LogRecord(String user, Block block, BlockData removed, BlockData placed) {
+    }
+
+    // Each player builds in its own cube of this size
+    private static final int REGION = 16;
+    private static final int MAX_DURABILITY = 250;
+    private static final int VANILLA_MAX_DURABILITY = 100;
+    private static final BlockFace[] HORIZONTAL = {BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST};
+    private static final BlockFace[] FACES = {BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST,
+            BlockFace.UP, BlockFace.DOWN};
+    private static final List<String> LORE = List.of(
+            "<gray>Feed Source:</gray> <white>%feed_source%</white>",
+            "<gray>Durability:</gray> <white>%remaining%/%max%</white>");
+    private static final BlockData AIR = StubBlockData.create(BlockData.class, Material.AIR, Map.of());
+
+    /**
+     * A virtual player: feed source stacks, tool durability, the blocks it builds in and its click schedule.
+     */
+    private static final class VirtualPlayer {
+        final int id;
+        final String name;
+        final Player player;
+        final BlockData[] stacks;
+        final int[] stackAmounts;
+        final Block[] region = new Block[REGION * REGION * REGION];
+        int damage;
+        long nextClickTick;
+
+        VirtualPlayer(int id, BlockFace facing, int stacks) {
+            this.id = id;
+            this.name = "Player" + id;
+            this.player = StubPlayer.create(facing);
+            this.stacks = new BlockData[stacks];
+            this.stackAmounts = new int[stacks];
+        }
+    }
+
+    /**
+     * Stand-in for a protection plugin: allows everything after a fixed cost per block.
+     */
+    private final class SimulatedProtection implements ProtectionProvider {
+        @Override
+        public String getName() {
+            return "Simulated";
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public BitSet canModify(Player player, List<Block> blocks, EquipmentSlot hand, ItemStack tool) {
+            spin(config.protectionMicros() * blocks.size());
+            BitSet allowed = new BitSet(blocks.size());
+            allowed.set(0, blocks.size());
+            return allowed;
+        }
+    }
+
+    private final SimulationConfig config;
+    private final SplittableRandom random;
+    private final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private final SimulatorAccess services;
+    private LogQueue<LogRecord> coreProtectQueue;
+
+    private long placements;
+    private long edits;
+    private long consumed;
+    private long logged;
+    private Object sink;
+
+    public LoadSimulator(SimulationConfig config) {
+        this.config = config;
+        this.random = new SplittableRandom(config.seed());
+        this.services = new SimulatorAccess(List.of(new SimulatedProtection()));
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) {
+        SimulationConfig config = SimulationConfig.parse(args);
+        new LoadSimulator(config).run();
+    }
+
+    /**
+     * Run the simulation and print the report.
+     */
+    public void run() {
+        long ticks = config.durationSeconds() * 20L;
+
+        // Warm up the JIT on a copy of the workload so the report reflects steady state
+        resetCounters();
+        runTicks(createPlayers(), Math.min(ticks, 20L * 30), false);
+        resetCounters();
+        List<VirtualPlayer> players = createPlayers();
+
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        long wallStart = System.nanoTime();
+
+        runTicks(players, ticks, true);
+
+        long wallNanos = System.nanoTime() - wallStart;
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        report(ticks, wallNanos, allocated);
+    }
+
+    private List<VirtualPlayer> createPlayers() {
+        List<VirtualPlayer> players = new ArrayList<>(config.players());
+        for (int id = 0; id < config.players(); id++) {
+            VirtualPlayer player = new VirtualPlayer(id, HORIZONTAL[random.nextInt(HORIZONTAL.length)],
+                    config.stacksPerPlayer());
+            for (int slot = 0; slot < player.stacks.length; slot++) {
+                player.stacks[slot] = randomStack();
+                player.stackAmounts[slot] = config.stackSize();
+            }
+            player.nextClickTick = nextClickDelay();
+            players.add(player);
+        }
+        return players;
+    }
+
+    /**
+     * A block the Trowel orients: stairs, a slab, a log or a directional block.
+     */
+    private BlockData randomStack() {
+        return switch (random.nextInt(4)) {
+            case 0 -> stairs(BlockFace.NORTH);
+            case 1 -> StubBlockData.create(Slab.class, Material.OAK_SLAB, Map.of("Type", Slab.Type.BOTTOM));
+            case 2 -> StubBlockData.create(Orientable.class, Material.OAK_LOG, Map.of("Axis", Axis.Y));
+            default -> StubBlockData.create(Directional.class, Material.FURNACE, Map.of("Facing", BlockFace.NORTH));
+        };
+    }
+
+    private static Stairs stairs(BlockFace facing) {
+        return StubBlockData.create(Stairs.class, Material.OAK_STAIRS, Map.of(
+                "Facing", facing, "Half", Stairs.Half.BOTTOM, "Shape", Stairs.Shape.STRAIGHT));
+    }
+
+    private void resetCounters() {
+        phases.values().forEach(LatencyHistogram::reset);
+        tickTimes.reset();
+        coreProtectQueue = new LogQueue<>(config.coreProtectCapacity(), config.overflowPolicy(), () -> true,
+                this::sendToCoreProtect);
+        placements = edits = consumed = logged = 0;
+    }
+
+    private void runTicks(List<VirtualPlayer> players, long ticks, boolean measure) {
+        for (long tick = 0; tick < ticks; tick++) {
+            long tickStart = System.nanoTime();
+
+            for (VirtualPlayer player : players) {
+                while (player.nextClickTick <= tick) {
+                    if (random.nextDouble() < config.fileShare()) {
+                        fileEdit(player);
+                    } else {
+                        trowelPlacement(player);
+                    }
+                    player.nextClickTick = tick + Math.max(1L, nextClickDelay());
+                }
+            }
+
+            if (config.coreProtect()) {
+                long start = System.nanoTime();
+                coreProtectQueue.drain(config.coreProtectMaxPerTick());
+                record(Phase.COREPROTECT_DRAIN, start);
+            }
+
+            if (measure) {
+                tickTimes.record(System.nanoTime() - tickStart);
+            }
+        }
+    }
+
+    /**
+     * Ticks until a player's next click (exponential inter-arrival times).
+     */
+    private long nextClickDelay() {
+        double ticksPerClick = 20.0 / Math.max(0.001, config.clicksPerSecond());
+        return Math.round(-Math.log(1.0 - random.nextDouble()) * ticksPerClick);
+    }
+
+    private void trowelPlacement(VirtualPlayer player) {
+        // Scan the feed source and pick a block (allocates a candidate list, like the listener)
+        long start = System.nanoTime();
+        List<Integer> candidates = new ArrayList<>();
+        for (int slot = 0; slot < player.stacks.length; slot++) {
+            if (player.stackAmounts[slot] > 0) {
+                candidates.add(slot);
+            }
+        }
+        Integer slot = FeedSelection.choose(candidates, random);
+        record(Phase.SELECTION, start);
+        if (slot == null) {
+            refill(player);
+            return;
+        }
+
+        // Orient the block for the clicked face and point
+        start = System.nanoTime();
+        Block block = randomBlock(player);
+        BlockFace clickedFace = FACES[random.nextInt(FACES.length)];
+        BlockData placementData = PlacementUtil.applyPlacementLogic(player.stacks[slot].clone(), clickedFace,
+                clickPoint(block), player.player);
+        record(Phase.GEOMETRY, start);
+
+        if (!checkProtection(player, block)) {
+            return;
+        }
+
+        // Consume the block and write it to the world
+        start = System.nanoTime();
+        if (--player.stackAmounts[slot] == 0) {
+            consumed++;
+        }
+        block.setBlockData(placementData, false);
+        placements++;
+        record(Phase.APPLY, start);
+
+        log(new LogRecord(player.name, block, null, placementData));
+        damageTool(player);
+    }
+
+    private void fileEdit(VirtualPlayer player) {
+        // The player aims at stairs; place some first if there are none at this spot
+        Block block = randomBlock(player);
+        if (!(block.getBlockData() instanceof Stairs)) {
+            block.setBlockData(stairs(player.player.getFacing()), false);
+        }
+
+        if (!checkProtection(player, block)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        BlockData oldData = block.getBlockData().clone();
+        boolean changed = BlockUtil.editStairsShape(block, FACES[random.nextInt(FACES.length)], clickPoint(block),
+                new Vector(block.getX() + 0.5, block.getY() + 1, block.getZ() - 2.5), false);
+        edits++;
+        record(Phase.GEOMETRY, start);
+
+        if (changed) {
+            log(new LogRecord(player.name, block, oldData, block.getBlockData()));
+        }
+        damageTool(player);
+    }
+
+    /**
+     * Get a random block in the player's region, creating it as air on first use.
+     */
+    private Block randomBlock(VirtualPlayer player) {
+        int index = random.nextInt(player.region.length);
+        Block block = player.region[index];
+        if (block == null) {
+            int x = player.id * REGION + index % REGION;
+            int y = 64 + index / REGION % REGION;
+            int z = index / (REGION * REGION);
+            block = StubBlock.create(x, y, z, AIR);
+            player.region[index] = block;
+        }
+        return block;
+    }
+
+    /**
+     * A random point on the block, as the client sends with a click.
+     */
+    private Vector clickPoint(Block block) {
+        return new Vector(block.getX() + random.nextDouble(), block.getY() + random.nextDouble(),
+                block.getZ() + random.nextDouble());
+    }
+
+    private boolean checkProtection(VirtualPlayer player, Block block) {
+        long start = System.nanoTime();
+        boolean allowed = services.canModifyBlock(player.player, block);
+        record(Phase.PROTECTION, start);
+        return allowed;
+    }
+
+    private void log(LogRecord record) {
+        if (!config.coreProtect()) {
+            return;
+        }
+        long start = System.nanoTime();
+        coreProtectQueue.offer(record);
+        record(Phase.LOGGING, start);
+    }
+
+    /**
+     * Stand-in for the CoreProtect API call made for each drained record.
+     */
+    private void sendToCoreProtect(LogRecord record) {
+        sink = record;
+        spin(config.coreProtectMicros() * (record.removed() != null ? 2 : 1));
+        logged++;
+    }
+
+    private void damageTool(VirtualPlayer player) {
+        long start = System.nanoTime();
+        if (DurabilityMath.consumesDurability(config.unbreakingLevel(), random)) {
+            player.damage++;
+            if (player.damage >= MAX_DURABILITY) {
+                player.damage = 0; // Tool broke, hand the player a new one
+            }
+        }
+        int vanillaDamage = DurabilityMath.vanillaDamage(player.damage, MAX_DURABILITY, VANILLA_MAX_DURABILITY);
+
+        ToolPlaceholders placeholders = new ToolPlaceholders(player.damage, MAX_DURABILITY, "Trowel", "Hotbar");
+        sink = services.renderLore(LORE, placeholders);
+        sink = vanillaDamage;
+        record(Phase.DISPLAY, start);
+    }
+
+    private void refill(VirtualPlayer player) {
+        for (int slot = 0; slot < player.stackAmounts.length; slot++) {
+            player.stackAmounts[slot] = config.stackSize();
+        }
+    }
+
+    private void record(Phase phase, long startNanos) {
+        phases.get(phase).record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Busy-wait to model a fixed CPU cost in another plugin.
+     */
+    private static void spin(int micros) {
+        if (micros <= 0) {
+            return;
+        }
+        long end = System.nanoTime() + micros * 1000L;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void report(long ticks, long wallNanos, long allocatedBytes) {
+        long interactions = placements + edits;
+        double simulatedSeconds = ticks / 20.0;
+
+        System.out.printf("OakTools load simulation: %d players, %.1f clicks/s each, %d s simulated (%d ticks)%n",
+                config.players(), config.clicksPerSecond(), config.durationSeconds(), ticks);
+        System.out.printf("  protection provider cost: %d us, CoreProtect: %s%n",
+                config.protectionMicros(), config.coreProtect() ? "on (" + config.coreProtectMicros() + " us/record, "
+                        + config.overflowPolicy() + ")" : "off");
+        System.out.println();
+
+        System.out.println("Throughput");
+        System.out.printf("  interactions:    %,d (%,d placements, %,d edits)%n", interactions, placements, edits);
+        System.out.printf("  per sim second:  %,.0f%n", interactions / simulatedSeconds);
+        System.out.printf("  per wall second: %,.0f%n", interactions / (wallNanos / 1e9));
+        System.out.printf("  stacks emptied:  %,d%n", consumed);
+        if (config.coreProtect()) {
+            System.out.printf("  CoreProtect:     %,d logged, %,d dropped, %,d still queued%n",
+                    logged, coreProtectQueue.getDroppedCount(), coreProtectQueue.size());
+        }
+        System.out.println();
+
+        System.out.println("Tick cost (OakTools work per 50 ms tick)");
+        System.out.printf("  mean %.3f ms, p50 %s, p99 %s, max %s%n",
+                tickTimes.getCount() == 0 ? 0.0 : tickTimes.getTotalNanos() / 1e6 / tickTimes.getCount(),
+                formatNanos(tickTimes.percentile(50)), formatNanos(tickTimes.percentile(99)),
+                formatNanos(tickTimes.getMaxNanos()));
+        System.out.println();
+
+        System.out.println("Phase latency (p50 / p99 / max)");
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = phases.get(phase);
+            System.out.printf("  %-18s %,10d calls  %8s / %8s / %8s%n", phase.name().toLowerCase(), histogram.getCount(),
+                    formatNanos(histogram.percentile(50)), formatNanos(histogram.percentile(99)),
+                    formatNanos(histogram.getMaxNanos()));
+        }
+        System.out.println();
+
+        System.out.println("Allocation");
+        System.out.printf("  total %,d KB, %,.0f B/interaction, %,.1f MB per simulated second%n",
+                allocatedBytes / 1024, interactions == 0 ? 0.0 : (double) allocatedBytes / interactions,
+                allocatedBytes / 1048576.0 / simulatedSeconds);
+        System.out.println("  (includes the stand-in blocks and players, which allocate an argument array per call)");
+
+        if (sink == null) {
+            System.out.println();
+        }
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos == Long.MAX_VALUE) {
+            return ">4s";
+        }
+        if (nanos >= 1_000_000) {
+            return String.format("%.2fms", nanos / 1e6);
+        }
+        return String.format("%.1fus", nanos / 1e3);
+    }
+}
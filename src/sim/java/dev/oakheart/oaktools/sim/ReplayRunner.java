@@ -0,0 +1,403 @@
+package dev.oakheart.oaktools.sim;
+
+import dev.oakheart.oaktools.bench.StubBlock;
+import dev.oakheart.oaktools.bench.StubBlockData;
+import dev.oakheart.oaktools.bench.StubPlayer;
+import dev.oakheart.oaktools.core.Face;
+import dev.oakheart.oaktools.core.PlacementRules;
+import dev.oakheart.oaktools.core.SessionEvent;
+import dev.oakheart.oaktools.core.SessionReader;
+import dev.oakheart.oaktools.model.EditType;
+import dev.oakheart.oaktools.util.BlockUtil;
+import dev.oakheart.oaktools.util.CoreTypes;
+import dev.oakheart.oaktools.util.PlacementUtil;
+import org.bukkit.Axis;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Directional;
+import org.bukkit.block.data.MultipleFacing;
+import org.bukkit.block.data.Orientable;
+import org.bukkit.block.data.type.Slab;
+import org.bukkit.block.data.type.Stairs;
+import org.bukkit.block.data.type.Wall;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replays session recordings made with /oaktools record against the current build.
+ * Each recorded placement and edit is run through the plugin's own {@link PlacementUtil} and {@link BlockUtil}
+ * on stand-in blocks built from the recorded state, and the result is diffed against what the server produced.
+ * File edits go through {@link BlockUtil#getFileEdit} and {@link BlockUtil#applyFileEdit}, the same dispatch and
+ * feature toggles the listener uses, read from the server's config.yml (or the bundled default).
+ *
+ * <p>Recorded listener times are not compared: they include protection, events, inventory and logging, which
+ * the replay doesn't run. Use the JMH benchmarks to compare the placement and edit code between builds.</p>
+ *
+ * <p>Run with {@code ./gradlew replay -PreplayArgs="--config=plugins/OakTools/config.yml plugins/OakTools/recordings/Steve-20260101-120000.otrec"}.
+ * Exits with status 1 if any interaction replays differently.</p>
+ */
+public class ReplayRunner {
+
+    // Mismatches printed in full before only counting
+    private static final int MAX_PRINTED = 20;
+
+    private static final Set<BlockFace> HORIZONTAL = EnumSet.of(BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST);
+    private static final Set<BlockFace> ALL_FACES = EnumSet.of(BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH,
+            BlockFace.WEST, BlockFace.UP, BlockFace.DOWN);
+
+    /**
+     * A parsed block state string: material plus properties.
+     */
+    record State(String material, Map<String, String> properties) {
+
+        static State parse(String value) {
+            int open = value.indexOf('[');
+            if (open < 0) {
+                return new State(value, Map.of());
+            }
+            Map<String, String> properties = new HashMap<>();
+            for (String pair : value.substring(open + 1, value.length() - 1).split(",")) {
+                int split = pair.indexOf('=');
+                if (split > 0) {
+                    properties.put(pair.substring(0, split), pair.substring(split + 1));
+                }
+            }
+            return new State(value.substring(0, open), properties);
+        }
+
+        String get(String property) {
+            return properties.get(property);
+        }
+
+        boolean isStairs() {
+            return properties.containsKey("facing") && properties.containsKey("half") && properties.containsKey("shape");
+        }
+
+        boolean isSlab() {
+            return material.endsWith("_slab") && properties.containsKey("type");
+        }
+
+        boolean isWall() {
+            return properties.containsKey("up") && isOneOf(get("north"), "none", "low", "tall");
+        }
+
+        boolean isMultipleFacing() {
+            return isOneOf(get("north"), "true", "false") && isOneOf(get("east"), "true", "false");
+        }
+
+        boolean isVertical(String property) {
+            return isOneOf(get(property), "up", "down");
+        }
+
+        private static boolean isOneOf(String value, String... options) {
+            return value != null && List.of(options).contains(value);
+        }
+    }
+
+    private final ConfigurationSection config;
+    private final Map<SessionEvent.Kind, int[]> counts = new HashMap<>(); // replayed, matched, skipped
+    private final List<String> mismatches = new ArrayList<>();
+    private int mismatchCount;
+
+    /**
+     * Create a replay runner.
+     *
+     * @param config the plugin configuration the recordings were made with (File feature toggles)
+     */
+    public ReplayRunner(ConfigurationSection config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String configPath = null;
+        List<Path> recordings = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--config=")) {
+                configPath = arg.substring("--config=".length());
+            } else {
+                recordings.add(Path.of(arg));
+            }
+        }
+        if (recordings.isEmpty()) {
+            System.err.println("Usage: ReplayRunner [--config=plugins/OakTools/config.yml] <recording.otrec> [more recordings...]");
+            System.exit(2);
+        }
+
+        ReplayRunner runner = new ReplayRunner(loadConfig(configPath));
+        for (Path recording : recordings) {
+            runner.replay(recording);
+        }
+        runner.report();
+        System.exit(runner.mismatchCount == 0 ? 0 : 1);
+    }
+
+    /**
+     * Load the server's config.yml, or the plugin's bundled default if no path is given.
+     */
+    private static ConfigurationSection loadConfig(String path) throws IOException {
+        if (path != null) {
+            return YamlConfiguration.loadConfiguration(Path.of(path).toFile());
+        }
+        try (InputStream input = ReplayRunner.class.getResourceAsStream("/config.yml")) {
+            if (input == null) {
+                throw new IOException("Bundled config.yml not found on the classpath");
+            }
+            return YamlConfiguration.loadConfiguration(new InputStreamReader(input, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Replay one recording.
+     *
+     * @param path the recording file
+     * @throws IOException if it can't be read
+     */
+    public void replay(Path path) throws IOException {
+        try (InputStream input = Files.newInputStream(path); SessionReader reader = new SessionReader(input)) {
+            System.out.printf("Replaying %s (%s)%n", path.getFileName(), reader.getPlayer());
+            SessionEvent event;
+            while ((event = reader.next()) != null) {
+                replay(path, event);
+            }
+        }
+    }
+
+    private void replay(Path path, SessionEvent event) {
+        int[] count = counts.computeIfAbsent(event.kind(), kind -> new int[3]);
+        State before = State.parse(event.before());
+        State after = State.parse(event.after());
+
+        BlockData replayed = event.kind() == SessionEvent.Kind.PLACEMENT
+                ? replayPlacement(event, after)
+                : replayEdit(event, before, after);
+
+        if (replayed == null) {
+            count[2]++;
+            return;
+        }
+
+        count[0]++;
+        List<String> diffs = new ArrayList<>();
+        for (Map.Entry<String, String> entry : describe(replayed).entrySet()) {
+            String actual = after.get(entry.getKey());
+            if (!entry.getValue().equals(actual)) {
+                diffs.add(entry.getKey() + ": replayed " + entry.getValue() + ", recorded " + actual);
+            }
+        }
+
+        if (diffs.isEmpty()) {
+            count[1]++;
+            return;
+        }
+
+        mismatchCount++;
+        if (mismatches.size() < MAX_PRINTED) {
+            mismatches.add(String.format("%s +%dms %s %s at %d,%d,%d face %s point %.3f,%.3f,%.3f facing %s: %s",
+                    path.getFileName(), event.offsetMillis(), event.kind().name().toLowerCase(), after.material(),
+                    event.x(), event.y(), event.z(), event.clickedFace(),
+                    event.pointX(), event.pointY(), event.pointZ(), event.playerFacing(), String.join("; ", diffs)));
+        }
+    }
+
+    /**
+     * Run a recorded Trowel placement through {@link PlacementUtil#applyPlacementLogic}, starting from the
+     * placed block's default orientation like the listener does.
+     *
+     * @return the placed data, or null if the placed block has no orientation to check
+     */
+    private BlockData replayPlacement(SessionEvent event, State placed) {
+        Material material = Material.matchMaterial(placed.material());
+        if (material == null) {
+            return null;
+        }
+
+        BlockData data;
+        if (placed.isStairs()) {
+            data = StubBlockData.create(Stairs.class, material, Map.of("Facing", BlockFace.NORTH,
+                    "Half", Stairs.Half.BOTTOM, "Shape", Stairs.Shape.valueOf(upper(placed.get("shape")))));
+        } else if (placed.isSlab() && !placed.get("type").equals("double")) {
+            data = StubBlockData.create(Slab.class, material, Map.of("Type", Slab.Type.BOTTOM));
+        } else if (placed.get("axis") != null) {
+            data = StubBlockData.create(Orientable.class, material, Map.of("Axis", Axis.Y));
+        } else if (placed.get("facing") != null) {
+            // The recording doesn't say which faces a block supports. Blocks that can't face the rule's
+            // vertical facing (a furnace, a hopper clicked from below) keep their default, so a vertical
+            // facing is only checked when the block took it
+            Face facing = PlacementRules.directionalFacing(event.clickedFace());
+            boolean vertical = facing == Face.UP || facing == Face.DOWN;
+            if (vertical && !lower(facing).equals(placed.get("facing"))) {
+                return null;
+            }
+            data = StubBlockData.create(Directional.class, material, Map.of("Facing", BlockFace.NORTH),
+                    vertical ? ALL_FACES : HORIZONTAL);
+        } else {
+            return null;
+        }
+
+        Player player = StubPlayer.create(CoreTypes.toBlockFace(event.playerFacing()));
+        return PlacementUtil.applyPlacementLogic(data, CoreTypes.toBlockFace(event.clickedFace()), clickPoint(event),
+                player);
+    }
+
+    /**
+     * Run a recorded File edit through the listener's own dispatch, with the configured feature toggles.
+     *
+     * @return the edited data, or null for blocks the stand-ins can't model
+     */
+    private BlockData replayEdit(SessionEvent event, State before, State after) {
+        BlockData data = standIn(before, after);
+        if (data == null) {
+            return null;
+        }
+
+        Block block = StubBlock.create(event.x(), event.y(), event.z(), data);
+        BlockFace clickedFace = CoreTypes.toBlockFace(event.clickedFace());
+        BlockFace playerFacing = CoreTypes.toBlockFace(event.playerFacing());
+        Vector point = clickPoint(event);
+
+        // A disabled or unsupported edit leaves the block as it was, which shows up as a mismatch
+        EditType editType = BlockUtil.getFileEdit(block, config);
+        if (editType != null) {
+            Vector playerPos = new Vector(event.x() + 0.5, event.y(), event.z() + 0.5);
+            BlockUtil.applyFileEdit(block, editType, clickedFace, point, playerFacing, playerPos, event.sneaking(),
+                    false);
+        }
+        return block.getBlockData();
+    }
+
+    /**
+     * Build a stand-in for a recorded block state.
+     *
+     * @return the stand-in, or null if the state isn't one the File edits
+     */
+    private static BlockData standIn(State state, State after) {
+        Material material = Material.matchMaterial(state.material());
+        if (material == null) {
+            return null;
+        }
+
+        Map<String, Object> properties = new HashMap<>();
+        if (state.isMultipleFacing()) {
+            for (BlockFace face : HORIZONTAL) {
+                properties.put("Face:" + face, Boolean.parseBoolean(state.get(lower(face))));
+            }
+            return StubBlockData.create(MultipleFacing.class, material, properties);
+        }
+        if (state.isWall()) {
+            for (BlockFace face : HORIZONTAL) {
+                properties.put("Height:" + face, Wall.Height.valueOf(upper(state.get(lower(face)))));
+            }
+            properties.put("Up", Boolean.parseBoolean(state.get("up")));
+            return StubBlockData.create(Wall.class, material, properties);
+        }
+        if (state.isStairs()) {
+            properties.put("Facing", BlockFace.valueOf(upper(state.get("facing"))));
+            properties.put("Half", Stairs.Half.valueOf(upper(state.get("half"))));
+            properties.put("Shape", Stairs.Shape.valueOf(upper(state.get("shape"))));
+            return StubBlockData.create(Stairs.class, material, properties);
+        }
+        if (state.get("facing") != null) {
+            // The recording doesn't say which faces a block supports: assume the horizontal ones plus any
+            // vertical facing seen before or after the edit (a hopper faces down but never up)
+            Set<BlockFace> faces = EnumSet.copyOf(HORIZONTAL);
+            for (State seen : List.of(state, after)) {
+                if (seen.isVertical("facing")) {
+                    faces.add(BlockFace.valueOf(upper(seen.get("facing"))));
+                }
+            }
+            properties.put("Facing", BlockFace.valueOf(upper(state.get("facing"))));
+            return StubBlockData.create(Directional.class, material, properties, faces);
+        }
+        if (state.get("axis") != null) {
+            properties.put("Axis", Axis.valueOf(upper(state.get("axis"))));
+            return StubBlockData.create(Orientable.class, material, properties);
+        }
+        if (state.isSlab()) {
+            properties.put("Type", Slab.Type.valueOf(upper(state.get("type"))));
+            return StubBlockData.create(Slab.class, material, properties);
+        }
+        return null;
+    }
+
+    /**
+     * Get the properties the replay controls, in their vanilla string form.
+     */
+    private static Map<String, String> describe(BlockData data) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        if (data instanceof MultipleFacing multipleFacing) {
+            for (BlockFace face : HORIZONTAL) {
+                properties.put(lower(face), String.valueOf(multipleFacing.hasFace(face)));
+            }
+        } else if (data instanceof Wall wall) {
+            for (BlockFace face : HORIZONTAL) {
+                properties.put(lower(face), lower(wall.getHeight(face)));
+            }
+        } else if (data instanceof Stairs stairs) {
+            properties.put("facing", lower(stairs.getFacing()));
+            properties.put("half", lower(stairs.getHalf()));
+            properties.put("shape", lower(stairs.getShape()));
+        } else if (data instanceof Directional directional) {
+            properties.put("facing", lower(directional.getFacing()));
+        } else if (data instanceof Orientable orientable) {
+            properties.put("axis", lower(orientable.getAxis()));
+        } else if (data instanceof Slab slab) {
+            properties.put("type", lower(slab.getType()));
+        }
+        return properties;
+    }
+
+    /**
+     * The recorded click point in world coordinates, as the listener passes it.
+     */
+    private static Vector clickPoint(SessionEvent event) {
+        return new Vector(event.x() + (double) event.pointX(), event.y() + (double) event.pointY(),
+                event.z() + (double) event.pointZ());
+    }
+
+    private void report() {
+        System.out.println();
+        System.out.println("Outcomes (replayed / matched / not covered)");
+        for (SessionEvent.Kind kind : SessionEvent.Kind.values()) {
+            int[] count = counts.getOrDefault(kind, new int[3]);
+            System.out.printf("  %-10s %,8d / %,8d / %,8d%n", kind.name().toLowerCase(), count[0], count[1], count[2]);
+        }
+
+        System.out.println();
+        if (mismatchCount == 0) {
+            System.out.println("All replayed interactions match the recording.");
+            return;
+        }
+        System.out.printf("%,d interaction(s) replayed differently:%n", mismatchCount);
+        mismatches.forEach(line -> System.out.println("  " + line));
+        if (mismatchCount > mismatches.size()) {
+            System.out.printf("  ... and %,d more%n", mismatchCount - mismatches.size());
+        }
+    }
+
+    private static String lower(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String upper(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,73 @@
+package dev.oakheart.oaktools.sim;
+
+import dev.oakheart.oaktools.integration.CoreProtectLogger;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load simulator settings, parsed from {@code --key=value} arguments.
+ *
+ * @param players number of virtual players
+ * @param clicksPerSecond average clicks per player per second
+ * @param durationSeconds simulated duration
+ * @param fileShare fraction of clicks that are File edits (the rest are Trowel placements)
+ * @param stacksPerPlayer distinct block stacks in each player's feed source
+ * @param stackSize blocks per stack (stacks refill when empty)
+ * @param unbreakingLevel Unbreaking level on every tool
+ * @param protectionMicros simulated cost of one protection provider query per block
+ * @param coreProtect whether CoreProtect logging is simulated
+ * @param coreProtectMaxPerTick records sent to CoreProtect per tick
+ * @param coreProtectMicros simulated cost of sending one record to CoreProtect
+ * @param coreProtectCapacity CoreProtect queue capacity
+ * @param overflowPolicy what the CoreProtect queue does when full
+ * @param seed random seed (same seed, same clicks)
+ */
+public record SimulationConfig(int players, double clicksPerSecond, int durationSeconds, double fileShare,
+                               int stacksPerPlayer, int stackSize, int unbreakingLevel, int protectionMicros,
+                               boolean coreProtect, int coreProtectMaxPerTick, int coreProtectMicros,
+                               int coreProtectCapacity, CoreProtectLogger.OverflowPolicy overflowPolicy,
+                               long seed) {
+
+    /**
+     * Parse settings, using defaults for anything not given.
+     *
+     * @param args arguments like {@code --players=150}
+     * @return the settings
+     */
+    public static SimulationConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            values.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+
+        SimulationConfig config = new SimulationConfig(
+                Integer.parseInt(values.getOrDefault("players", "150")),
+                Double.parseDouble(values.getOrDefault("clicks-per-second", "4")),
+                Integer.parseInt(values.getOrDefault("duration", "300")),
+                Double.parseDouble(values.getOrDefault("file-share", "0.2")),
+                Integer.parseInt(values.getOrDefault("stacks", "9")),
+                Integer.parseInt(values.getOrDefault("stack-size", "64")),
+                Integer.parseInt(values.getOrDefault("unbreaking", "0")),
+                Integer.parseInt(values.getOrDefault("protection-micros", "5")),
+                Boolean.parseBoolean(values.getOrDefault("coreprotect", "true")),
+                Integer.parseInt(values.getOrDefault("coreprotect-max-per-tick", "512")),
+                Integer.parseInt(values.getOrDefault("coreprotect-micros", "2")),
+                Math.max(16, Integer.parseInt(values.getOrDefault("coreprotect-capacity", "4096"))),
+                CoreProtectLogger.OverflowPolicy.fromString(values.getOrDefault("overflow-policy", "DROP_OLDEST")),
+                Long.parseLong(values.getOrDefault("seed", "1")));
+
+        values.keySet().removeAll(List.of("players", "clicks-per-second", "duration", "file-share", "stacks",
+                "stack-size", "unbreaking", "protection-micros", "coreprotect", "coreprotect-max-per-tick",
+                "coreprotect-micros", "coreprotect-capacity", "overflow-policy", "seed"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        return config;
+    }
+}
@@ -0,0 +1,244 @@
+package dev.oakheart.oaktools.listeners;
+
+import dev.oakheart.oaktools.OakTools;
+import dev.oakheart.oaktools.model.ToolType;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.type.Slab;
+import org.bukkit.block.data.type.Stairs;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Allocation budgets for the Trowel and File click paths.
+ * Drives {@link TrowelListener} and {@link FileListener} through representative interactions on a mock server
+ * and fails when an interaction allocates more than its budget in allocation-budgets.properties.
+ *
+ * <p>Each interaction is measured on its own with {@code ThreadMXBean.getThreadAllocatedBytes}, after a warmup
+ * so the JIT has compiled the path. Resetting the block, inventory and tool between interactions happens
+ * outside the measurement. Measured values are written to build/reports/allocation/measured.properties;
+ * copy a value into the budgets file to add or deliberately raise a budget.</p>
+ */
+class InteractionAllocationTest {
+
+    private static final int WARMUP = 5_000;
+    private static final int MEASURED = 1_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final Map<String, Long> measured = new TreeMap<>();
+
+    private static ServerMock server;
+    private static OakTools plugin;
+    private static World world;
+    private static PlayerMock player;
+    private static Properties budgets;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        assertTrue(THREADS.isThreadAllocatedMemorySupported(), "JVM can't count per-thread allocation");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(OakTools.class);
+        world = server.addSimpleWorld("world");
+
+        // Stand a few blocks away so placements never collide with the player
+        player = server.addPlayer();
+        player.teleport(new Location(world, 4.5, 65, 4.5, 135f, 30f));
+
+        budgets = new Properties();
+        try (InputStream input = InteractionAllocationTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            if (input != null) {
+                budgets.load(input);
+            }
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        MockBukkit.unmock();
+
+        String report = System.getProperty("oaktools.allocationReport");
+        if (report != null && !measured.isEmpty()) {
+            Path path = Path.of(report);
+            Files.createDirectories(path.getParent());
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> entry : measured.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+        }
+    }
+
+    @Test
+    void trowelPlacesFullBlock() {
+        Block ground = world.getBlockAt(0, 64, 0);
+        ground.setType(Material.STONE);
+        Block target = ground.getRelative(BlockFace.UP);
+        ItemStack trowel = holdTool(ToolType.TROWEL);
+        TrowelListener listener = new TrowelListener(plugin);
+
+        assertWithinBudget("trowel.place_block", () -> {
+            target.setType(Material.AIR);
+            refillHotbar(Material.STONE);
+            plugin.getDurabilityService().repairFully(trowel);
+            return rightClick(trowel, ground, BlockFace.UP, new Vector(0.5, 1.0, 0.5));
+        }, listener::onTrowelUse);
+
+        assertFalse(target.getType().isAir(), "Trowel didn't place a block");
+    }
+
+    @Test
+    void trowelPlacesStairs() {
+        Block wall = world.getBlockAt(8, 64, 0);
+        wall.setType(Material.STONE);
+        Block target = wall.getRelative(BlockFace.EAST);
+        ItemStack trowel = holdTool(ToolType.TROWEL);
+        TrowelListener listener = new TrowelListener(plugin);
+
+        assertWithinBudget("trowel.place_stairs", () -> {
+            target.setType(Material.AIR);
+            refillHotbar(Material.OAK_STAIRS);
+            plugin.getDurabilityService().repairFully(trowel);
+            return rightClick(trowel, wall, BlockFace.EAST, new Vector(1.0, 0.75, 0.5));
+        }, listener::onTrowelUse);
+
+        assertTrue(target.getBlockData() instanceof Stairs, "Trowel didn't place stairs");
+    }
+
+    @Test
+    void fileEditsStairsShape() {
+        Block block = world.getBlockAt(0, 64, 8);
+        Stairs straight = (Stairs) Material.OAK_STAIRS.createBlockData();
+        straight.setFacing(BlockFace.NORTH);
+        straight.setShape(Stairs.Shape.STRAIGHT);
+        ItemStack file = holdTool(ToolType.FILE);
+        FileListener listener = new FileListener(plugin);
+
+        // Raising the south-west corner of north-facing straight stairs makes an inner corner
+        assertWithinBudget("file.stairs_shape", () -> {
+            block.setBlockData(straight.clone(), false);
+            plugin.getDurabilityService().repairFully(file);
+            return rightClick(file, block, BlockFace.UP, new Vector(0.25, 1.0, 0.75));
+        }, listener::onFileUse);
+
+        assertTrue(((Stairs) block.getBlockData()).getShape() != Stairs.Shape.STRAIGHT, "File didn't edit the stairs");
+    }
+
+    @Test
+    void fileTogglesSlab() {
+        Block block = world.getBlockAt(8, 64, 8);
+        Slab bottom = (Slab) Material.OAK_SLAB.createBlockData();
+        bottom.setType(Slab.Type.BOTTOM);
+        ItemStack file = holdTool(ToolType.FILE);
+        FileListener listener = new FileListener(plugin);
+
+        assertWithinBudget("file.slab_toggle", () -> {
+            block.setBlockData(bottom.clone(), false);
+            plugin.getDurabilityService().repairFully(file);
+            return rightClick(file, block, BlockFace.UP, new Vector(0.5, 0.5, 0.5));
+        }, listener::onFileUse);
+
+        assertTrue(((Slab) block.getBlockData()).getType() == Slab.Type.TOP, "File didn't toggle the slab");
+    }
+
+    /**
+     * Put a fresh tool in the player's main hand (slot 0) and return the held stack.
+     */
+    private static ItemStack holdTool(ToolType toolType) {
+        player.getInventory().clear();
+        player.getInventory().setHeldItemSlot(0);
+        player.getInventory().setItem(0, plugin.getItemFactory().createTool(toolType));
+        return player.getInventory().getItemInMainHand();
+    }
+
+    /**
+     * Fill hotbar slot 1 with a full stack for the Trowel to place from.
+     */
+    private static void refillHotbar(Material material) {
+        player.getInventory().setItem(1, new ItemStack(material, 64));
+    }
+
+    /**
+     * Right-click a block face; {@code point} is relative to the clicked block, as the server passes it.
+     */
+    private static PlayerInteractEvent rightClick(ItemStack tool, Block clicked, BlockFace face, Vector point) {
+        return new PlayerInteractEvent(player, Action.RIGHT_CLICK_BLOCK, tool, clicked, face, EquipmentSlot.HAND,
+                point);
+    }
+
+    /**
+     * Run an interaction many times and check the bytes allocated by the handler alone.
+     *
+     * @param name the budget key
+     * @param prepare resets the world for one interaction and creates its event (not measured)
+     * @param handler the listener method under test
+     */
+    private static void assertWithinBudget(String name, Supplier<PlayerInteractEvent> prepare,
+                                           Consumer<PlayerInteractEvent> handler) {
+        for (int i = 0; i < WARMUP; i++) {
+            handler.accept(prepare.get());
+        }
+
+        // What reading the counter itself costs, so it isn't charged to the handler
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 100; i++) {
+            long before = allocatedBytes();
+            overhead = Math.min(overhead, allocatedBytes() - before);
+        }
+
+        long total = 0;
+        for (int i = 0; i < MEASURED; i++) {
+            PlayerInteractEvent event = prepare.get();
+            long before = allocatedBytes();
+            handler.accept(event);
+            total += allocatedBytes() - before - overhead;
+        }
+        long perInteraction = Math.max(0, total / MEASURED);
+        measured.put(name, perInteraction);
+
+        String budget = budgets.getProperty(name);
+        if (budget == null) {
+            fail(name + " has no allocation budget - measured " + perInteraction
+                    + " B per interaction. Add it to src/test/resources/allocation-budgets.properties");
+        }
+        if (perInteraction > Long.parseLong(budget.trim())) {
+            fail(name + " allocates " + perInteraction + " B per interaction (budget " + budget.trim() + " B)");
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+}